@@ -0,0 +1,56 @@
+package com.messenger.common.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID 발급 비용 (ns/op). 생성기 하나를 모든 스레드가 공유한다.
+ * randomUuid: 기존 방식 (UUID.randomUUID, SecureRandom 기반 v4)
+ * v7: UuidV7Generator (CAS 하나 + ThreadLocalRandom)
+ * *Contended: 가용 CPU 수만큼의 스레드가 동시에 발급
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UuidV7GeneratorBenchmark {
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Benchmark
+    @Threads(1)
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID v7() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID randomUuidContended() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID v7Contended() {
+        return generator.next();
+    }
+}
@@ -0,0 +1,223 @@
+package com.messenger.message.repository;
+
+import com.messenger.message.dto.MessagePartitionProperties;
+import com.messenger.message.service.MessagePartitionManager;
+import com.messenger.support.PostgresBenchmarkSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단일 messages 테이블(single)과 월 파티션 테이블(partitioned) 비교.
+ * 2023-01 ~ 2024-12 의 24개월에 걸쳐 1,000 개 방에 rows 개 메시지를 고르게 만들고, 5% 는 삭제 상태로 둔다.
+ * latestPage / pageBeforeKey: 한 방의 최신 페이지와 1년 전 커서 이전 페이지 조회 지연 시간 (51행)
+ * vacuumHotData: 최근 메시지 10,000 개를 삭제한 뒤 VACUUM 한 번에 걸리는 시간.
+ * single 은 테이블 전체와 전체 인덱스를, partitioned 는 최근 월 파티션만 처리한다.
+ * <p>
+ * 1억 행 적재에는 오래 걸리고 디스크도 수십 GB 가 필요하다. 빠르게 확인할 때는 -p rows=1000000 으로 줄인다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MessagePartitioningBenchmark {
+
+    private static final int ROOMS = 1000;
+    private static final int PAGE_SIZE = 50;
+    private static final int LOAD_CHUNK = 1_000_000;
+    private static final int HOT_DELETES = 10_000;
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2023, 1);
+    private static final YearMonth LAST_MONTH = YearMonth.of(2024, 12);
+    private static final String HOT_PARTITION = "messages_p2024_12";
+
+    // 파티션 도입 전 스키마 (인덱스는 적재 뒤에 만든다)
+    private static final String SINGLE_TABLE = """
+            CREATE TABLE messages (
+                id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                room_id         UUID NOT NULL REFERENCES chat_rooms(id) ON DELETE CASCADE,
+                sender_id       UUID NOT NULL REFERENCES users(id),
+                content         TEXT NOT NULL,
+                message_type    VARCHAR(20) DEFAULT 'TEXT',
+                created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+                updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+                deleted_at      TIMESTAMP WITH TIME ZONE,
+                room_seq        BIGINT
+            )
+            """;
+    private static final List<String> SINGLE_TABLE_INDEXES = List.of(
+            "CREATE INDEX idx_messages_room_id_created_at_id ON messages(room_id, created_at, id)",
+            "CREATE INDEX idx_messages_sender_id ON messages(sender_id)",
+            "CREATE UNIQUE INDEX idx_messages_room_id_room_seq ON messages(room_id, room_seq)");
+
+    @Param({"single", "partitioned"})
+    private String layout;
+
+    @Param({"100000000"})
+    private long rows;
+
+    private PostgresBenchmarkSupport postgres;
+    private DatabaseClient databaseClient;
+    private UUID roomId;
+    private OffsetDateTime cursorCreatedAt;
+    private UUID cursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgresBenchmarkSupport();
+        databaseClient = postgres.databaseClient();
+
+        if ("single".equals(layout)) {
+            execute("DROP TABLE messages");
+            execute(SINGLE_TABLE);
+        } else {
+            new MessagePartitionManager(databaseClient, new MessagePartitionProperties())
+                    .createPartitions(FIRST_MONTH, LAST_MONTH)
+                    .block();
+        }
+
+        execute("""
+                INSERT INTO chat_rooms (id, name, created_by)
+                SELECT gen_random_uuid(), 'bench room ' || g, '%s'
+                FROM generate_series(1, %d) AS g
+                """.formatted(postgres.userId(), ROOMS));
+        load();
+        if ("single".equals(layout)) {
+            SINGLE_TABLE_INDEXES.forEach(this::execute);
+        }
+        // 적재 직후의 정리·통계 수집은 측정에서 뺀다
+        execute("VACUUM ANALYZE messages");
+
+        roomId = databaseClient.sql("SELECT id FROM chat_rooms WHERE name = 'bench room 1'")
+                .map(row -> row.get("id", UUID.class))
+                .one()
+                .block();
+        // 1년 전 시점 바로 앞의 메시지를 커서로 쓴다
+        databaseClient.sql("""
+                        SELECT created_at, id FROM messages
+                        WHERE room_id = :roomId AND deleted_at IS NULL AND created_at < :before
+                        ORDER BY created_at DESC, id DESC
+                        LIMIT 1
+                        """)
+                .bind("roomId", roomId)
+                .bind("before", LAST_MONTH.minusYears(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+                .map(row -> {
+                    cursorCreatedAt = row.get("created_at", OffsetDateTime.class);
+                    cursorId = row.get("id", UUID.class);
+                    return cursorId;
+                })
+                .one()
+                .block();
+    }
+
+    // 24개월에 고르게 펼쳐 LOAD_CHUNK 행씩 넣는다. 방은 순서대로 돌아가며, 20 개 중 1 개는 삭제 상태
+    private void load() {
+        OffsetDateTime start = FIRST_MONTH.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime end = LAST_MONTH.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        double stepSeconds = Duration.between(start, end).toSeconds() / (double) rows;
+        for (long from = 0; from < rows; from += LOAD_CHUNK) {
+            databaseClient.sql("""
+                            INSERT INTO messages (room_id, sender_id, content, message_type,
+                                                 created_at, updated_at, deleted_at, room_seq)
+                            SELECT r.ids[1 + g % array_length(r.ids, 1)], :senderId, 'message ' || g, 'TEXT',
+                                   t.ts, t.ts, CASE WHEN g % 20 = 0 THEN t.ts END, g
+                            FROM generate_series(:from, :to) AS g
+                            CROSS JOIN (SELECT array_agg(id ORDER BY name) AS ids FROM chat_rooms
+                                        WHERE name LIKE 'bench room %') AS r
+                            CROSS JOIN LATERAL (SELECT :start + g * :step * INTERVAL '1 second' AS ts) AS t
+                            """)
+                    .bind("senderId", postgres.userId())
+                    .bind("from", from)
+                    .bind("to", Math.min(from + LOAD_CHUNK, rows) - 1)
+                    .bind("start", start)
+                    .bind("step", stepSeconds)
+                    .then()
+                    .block();
+        }
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<UUID> latestPage() {
+        return databaseClient.sql(MessageRepository.LATEST_PAGE)
+                .bind("roomId", roomId)
+                .bind("limit", PAGE_SIZE + 1)
+                .map(row -> row.get("id", UUID.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<UUID> pageBeforeKey() {
+        return databaseClient.sql(MessageRepository.PAGE_BEFORE_KEY)
+                .bind("roomId", roomId)
+                .bind("createdAt", cursorCreatedAt)
+                .bind("id", cursorId)
+                .bind("limit", PAGE_SIZE + 1)
+                .map(row -> row.get("id", UUID.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public void vacuumHotData(HotDeletes hotDeletes) {
+        execute("VACUUM " + ("single".equals(layout) ? "messages" : HOT_PARTITION));
+    }
+
+    /**
+     * vacuumHotData 매 실행 전에 최근 메시지를 삭제 상태로 바꿔 VACUUM 이 정리할 행을 만든다.
+     */
+    @State(Scope.Thread)
+    public static class HotDeletes {
+
+        @Setup(Level.Invocation)
+        public void softDelete(MessagePartitioningBenchmark benchmark) {
+            benchmark.databaseClient.sql("""
+                            UPDATE messages SET deleted_at = NOW()
+                            WHERE (id, created_at) IN (
+                                SELECT id, created_at FROM messages
+                                WHERE created_at >= :hotFrom AND deleted_at IS NULL
+                                LIMIT :limit
+                            )
+                            """)
+                    .bind("hotFrom", LAST_MONTH.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC))
+                    .bind("limit", HOT_DELETES)
+                    .then()
+                    .block();
+        }
+    }
+}
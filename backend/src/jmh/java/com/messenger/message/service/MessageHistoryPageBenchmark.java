@@ -0,0 +1,132 @@
+package com.messenger.message.service;
+
+import com.messenger.message.dto.MessagePageResponse;
+import com.messenger.message.dto.RecentMessageCacheProperties;
+import com.messenger.message.entity.Message;
+import com.messenger.message.repository.MessageRepository;
+import com.messenger.support.PostgresBenchmarkSupport;
+import com.messenger.user.dto.UserProfileCacheProperties;
+import com.messenger.user.repository.UserRepository;
+import com.messenger.user.service.UserProfileCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 기록 한 페이지(100개) 조회 지연 시간, 페이지 안의 서로 다른 발신자 수(distinctSenders)별.
+ * perMessageLookup: 기존 방식 (메시지마다 UserRepository.findById)
+ * coldCache: 서로 다른 발신자를 한 번의 IN 조회로 읽음 (캐시 비어 있음)
+ * warmCache: UserProfileCache 에서 발신자를 찾음 (사용자 조회 없음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MessageHistoryPageBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1", "10", "100"})
+    private int distinctSenders;
+
+    private PostgresBenchmarkSupport postgres;
+    private MessageRepository messageRepository;
+    private UserRepository userRepository;
+    private MessageService warmService;
+    private MessageService coldService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgresBenchmarkSupport();
+        R2dbcRepositoryFactory repositoryFactory = new R2dbcRepositoryFactory(postgres.entityTemplate());
+        messageRepository = repositoryFactory.getRepository(MessageRepository.class);
+        userRepository = repositoryFactory.getRepository(UserRepository.class);
+
+        List<UUID> senderIds = new ArrayList<>();
+        senderIds.add(postgres.userId());
+        for (int i = 1; i < distinctSenders; i++) {
+            UUID userId = UUID.randomUUID();
+            postgres.databaseClient()
+                    .sql("INSERT INTO users (id, username, display_name) VALUES (:id, :username, :displayName)")
+                    .bind("id", userId)
+                    .bind("username", "sender-" + userId.toString().substring(0, 8))
+                    .bind("displayName", "Sender " + i)
+                    .then()
+                    .block();
+            senderIds.add(userId);
+        }
+        OffsetDateTime base = OffsetDateTime.now().minusHours(1);
+        Flux.range(0, PAGE_SIZE)
+                .concatMap(i -> messageRepository.save(Message.builder()
+                        .roomId(postgres.roomId())
+                        .senderId(senderIds.get(i % senderIds.size()))
+                        .content("history message " + i)
+                        .messageType("TEXT")
+                        .createdAt(base.plusSeconds(i))
+                        .updatedAt(base.plusSeconds(i))
+                        .build()))
+                .blockLast();
+
+        MessageCursorCodec cursorCodec = new MessageCursorCodec("benchmark-cursor-secret");
+        warmService = new MessageService(messageRepository, null, cursorCodec,
+                new UserProfileCache(userRepository, new UserProfileCacheProperties(), new SimpleMeterRegistry()),
+                untrackedRecentCache(), null);
+        // 상한 0: 매 페이지가 cold miss
+        UserProfileCacheProperties noCache = new UserProfileCacheProperties();
+        noCache.setMaxEntries(0);
+        coldService = new MessageService(messageRepository, null, cursorCodec,
+                new UserProfileCache(userRepository, noCache, new SimpleMeterRegistry()),
+                untrackedRecentCache(), null);
+    }
+
+    // 방을 구독하지 않은 캐시: 첫 페이지도 DB 에서 읽는다
+    private static RecentMessageCache untrackedRecentCache() {
+        return new RecentMessageCache(new RecentMessageCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.close();
+    }
+
+    @Benchmark
+    public int perMessageLookup() {
+        return messageRepository.findByRoomIdOrderByCreatedAtDesc(postgres.roomId(), PAGE_SIZE + 1)
+                .take(PAGE_SIZE)
+                .flatMap(message -> userRepository.findById(message.getSenderId()))
+                .count()
+                .block()
+                .intValue();
+    }
+
+    @Benchmark
+    public MessagePageResponse coldCache() {
+        return coldService.getMessages(postgres.roomId(), null, PAGE_SIZE).block();
+    }
+
+    @Benchmark
+    public MessagePageResponse warmCache() {
+        return warmService.getMessages(postgres.roomId(), null, PAGE_SIZE).block();
+    }
+}
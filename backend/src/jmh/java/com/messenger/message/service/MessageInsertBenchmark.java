@@ -0,0 +1,104 @@
+package com.messenger.message.service;
+
+import com.messenger.common.id.UuidV7Generator;
+import com.messenger.message.dto.MessageBatchProperties;
+import com.messenger.message.entity.Message;
+import com.messenger.message.repository.MessageRepository;
+import com.messenger.support.PostgresBenchmarkSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 저장 처리량 비교 (messages/s).
+ * perMessageSave: 기존 방식 (메시지당 MessageRepository.save)
+ * groupCommit: MessageBatchWriter 마이크로 배치 multi-row INSERT
+ *
+ * 동시에 전송 중인 메시지 수(concurrency)는 접속 세션 수에 해당한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MessageInsertBenchmark {
+
+    private static final int MESSAGES_PER_OP = 1000;
+
+    @Param({"16", "256"})
+    private int concurrency;
+
+    private PostgresBenchmarkSupport postgres;
+    private MessageRepository messageRepository;
+    private MessageBatchWriter messageBatchWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgresBenchmarkSupport();
+        messageRepository = new R2dbcRepositoryFactory(postgres.entityTemplate()).getRepository(MessageRepository.class);
+
+        MessageBatchProperties properties = new MessageBatchProperties();
+        properties.setMaxSize(100);
+        properties.setLinger(Duration.ofMillis(5));
+        properties.setMaxInFlight(4);
+        messageBatchWriter = new MessageBatchWriter(postgres.databaseClient(), properties, new UuidV7Generator());
+        messageBatchWriter.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        postgres.truncate("messages");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        messageBatchWriter.stop();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_OP)
+    public void perMessageSave() {
+        Flux.range(0, MESSAGES_PER_OP)
+                .flatMap(i -> messageRepository.save(newMessage(i)), concurrency)
+                .blockLast();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_OP)
+    public void groupCommit() {
+        Flux.range(0, MESSAGES_PER_OP)
+                .flatMap(i -> messageBatchWriter.write(newMessage(i)), concurrency)
+                .blockLast();
+    }
+
+    private Message newMessage(int i) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return Message.builder()
+                .roomId(postgres.roomId())
+                .senderId(postgres.userId())
+                .content("benchmark message " + i)
+                .messageType("TEXT")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.messenger.support;
+
+import com.messenger.message.dto.MessagePartitionProperties;
+import com.messenger.message.service.MessagePartitionManager;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 PostgreSQL (Testcontainers) + schema.sql + 지난달~다음 달 메시지 파티션 + 기본 사용자/채팅방.
+ */
+public class PostgresBenchmarkSupport implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> container;
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID roomId = UUID.randomUUID();
+
+    public PostgresBenchmarkSupport() {
+        container = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withDatabaseName("messenger_bench")
+                .withUsername("bench")
+                .withPassword("bench");
+        container.start();
+
+        connectionFactory = ConnectionFactories.get(String.format(
+                "r2dbc:pool:postgresql://%s:%s@%s:%d/%s?maxSize=20",
+                container.getUsername(), container.getPassword(), container.getHost(),
+                container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), container.getDatabaseName()));
+        databaseClient = DatabaseClient.create(connectionFactory);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"))
+                .populate(connectionFactory)
+                .block();
+        // 지난달부터: 벤치마크가 조금 이전 시각으로 넣는 메시지도 받을 수 있게
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        new MessagePartitionManager(databaseClient, new MessagePartitionProperties())
+                .createPartitions(currentMonth.minusMonths(1), currentMonth.plusMonths(1))
+                .block();
+        databaseClient.sql("INSERT INTO users (id, username, display_name) VALUES (:id, :username, :displayName)")
+                .bind("id", userId)
+                .bind("username", "bench-" + userId.toString().substring(0, 8))
+                .bind("displayName", "Bench User")
+                .then()
+                .block();
+        databaseClient.sql("INSERT INTO chat_rooms (id, name, created_by) VALUES (:id, :name, :createdBy)")
+                .bind("id", roomId)
+                .bind("name", "bench room")
+                .bind("createdBy", userId)
+                .then()
+                .block();
+    }
+
+    public ConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    public DatabaseClient databaseClient() {
+        return databaseClient;
+    }
+
+    public R2dbcEntityTemplate entityTemplate() {
+        return new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE);
+    }
+
+    public UUID userId() {
+        return userId;
+    }
+
+    public UUID roomId() {
+        return roomId;
+    }
+
+    public void truncate(String table) {
+        databaseClient.sql("TRUNCATE " + table).then().block();
+    }
+
+    @Override
+    public void close() {
+        container.stop();
+    }
+}
@@ -0,0 +1,85 @@
+package com.messenger.websocket.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 하나로의 fan-out 비용 비교.
+ * perSessionEncode: 기존 방식 (세션마다 writeValueAsString + textMessage)
+ * encodeOnce: 이벤트당 한 번 직렬화 후 세션마다 공유 배열을 wrap
+ *
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FanOutEncodingBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int recipients;
+
+    private ObjectMapper objectMapper;
+    private FrameEncoder frameEncoder;
+    private DataBufferFactory bufferFactory;
+    private WebSocketMessage message;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        frameEncoder = new FrameEncoder(objectMapper);
+        bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        message = WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(UUID.randomUUID())
+                .messageId(UUID.randomUUID())
+                .content("안녕하세요, 오늘 회의는 3시에 시작합니다. 자료는 공유 드라이브에 올려두었어요.")
+                .sender(WebSocketMessage.SenderInfo.builder()
+                        .id(UUID.randomUUID())
+                        .displayName("Test User")
+                        .avatarUrl("https://lh3.googleusercontent.com/a/default-user=s96-c")
+                        .build())
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public void perSessionEncode(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < recipients; i++) {
+            String json = objectMapper.writeValueAsString(message);
+            blackhole.consume(bufferFactory.wrap(json.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Benchmark
+    public void encodeOnce(Blackhole blackhole) throws Exception {
+        EncodedFrame frame = frameEncoder.encode(message);
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume(frame.toDataBuffer(bufferFactory));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.messenger.websocket.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs CBOR 서브프로토콜: 메시지당 바이트 수와 인코딩/디코딩 시간.
+ * 바이트 수는 bytesPerMessage 보조 카운터(연산당 값)로 보고된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FrameCodecBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"CHAT", "TYPING"})
+    private MessageType type;
+
+    private FrameCodec codec;
+    private WebSocketMessage message;
+    private byte[] encoded;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Size {
+        public long bytesPerMessage;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerMessage = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        codec = "cbor".equals(format)
+                ? new CborFrameCodec()
+                : new JsonFrameCodec(new ObjectMapper().findAndRegisterModules());
+
+        WebSocketMessage.SenderInfo sender = WebSocketMessage.SenderInfo.builder()
+                .id(UUID.randomUUID())
+                .displayName("Alice Kim")
+                .avatarUrl("https://lh3.googleusercontent.com/a/ACg8ocJ-example-avatar=s96-c")
+                .build();
+        message = type == MessageType.CHAT
+                ? WebSocketMessage.builder()
+                        .type(MessageType.CHAT)
+                        .roomId(UUID.randomUUID())
+                        .messageId(UUID.randomUUID())
+                        .seq(12_345L)
+                        .content("점심 뭐 먹을까요?")
+                        .sender(sender)
+                        .createdAt(OffsetDateTime.now())
+                        .build()
+                : WebSocketMessage.builder()
+                        .type(MessageType.TYPING)
+                        .roomId(UUID.randomUUID())
+                        .sender(WebSocketMessage.SenderInfo.builder().id(sender.getId()).displayName("Alice Kim").build())
+                        .isTyping(true)
+                        .createdAt(OffsetDateTime.now())
+                        .build();
+        encoded = codec.encode(message);
+    }
+
+    @Benchmark
+    public byte[] encode(Size size) throws IOException {
+        byte[] bytes = codec.encode(message);
+        size.bytesPerMessage = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public WebSocketMessage decode() throws IOException {
+        return codec.decode(DefaultDataBufferFactory.sharedInstance.wrap(encoded));
+    }
+}
@@ -0,0 +1,73 @@
+package com.messenger.websocket.inbound;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수신 프레임 처리량 (frames/s).
+ * 프레임은 rooms 개 방과 방마다 sendersPerRoom 명의 발신자에 고르게 분산된다.
+ * 방이 하나면 워커 하나에 몰리고, 방이 많을수록 워커 수만큼 병렬로 처리되어야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InboundDispatchBenchmark {
+
+    private static final int FRAMES_PER_OP = 10_000;
+    private static final int SENDERS_PER_ROOM = 8;
+    // 프레임 하나를 처리하는 비용 (JSON 파싱 + 인코딩 정도의 CPU 작업)
+    private static final long WORK_TOKENS = 2_000;
+
+    @Param({"1", "16", "1024"})
+    private int rooms;
+
+    private InboundFrameDispatcher dispatcher;
+    private UUID[] roomIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dispatcher = new InboundFrameDispatcher(new WebSocketProperties());
+        roomIds = new UUID[rooms];
+        for (int i = 0; i < rooms; i++) {
+            roomIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES_PER_OP)
+    public void dispatch() {
+        Flux.range(0, FRAMES_PER_OP)
+                .flatMap(i -> dispatcher.dispatch(roomIds[i % rooms], i % SENDERS_PER_ROOM, () -> {
+                    Blackhole.consumeCPU(WORK_TOKENS);
+                    return Mono.empty();
+                }), FRAMES_PER_OP)
+                .blockLast();
+    }
+}
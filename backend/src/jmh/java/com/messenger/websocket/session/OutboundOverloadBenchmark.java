@@ -0,0 +1,144 @@
+package com.messenger.websocket.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.broadcast.FrameEncoder;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 과부하 상황의 CHAT 전달 지연 (SampleTime 의 p99 를 본다).
+ * 한 세션의 송신 대기열에 typingProducers 개 스레드가 TYPING 을 쉬지 않고 넣는 동안
+ * CHAT 하나를 넣고 소비자(느린 소켓 쓰기를 흉내)가 꺼낼 때까지의 시간을 잰다.
+ * 우선순위 레인과 shedding 덕분에 typingFlood 여부와 관계없이 CHAT p99 가 비슷해야 하며,
+ * 버려진 타이핑 수는 typingShed 보조 카운터로 확인한다.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+public class OutboundOverloadBenchmark {
+
+    // 프레임 하나를 소켓에 쓰는 비용
+    private static final long WRITE_COST_TOKENS = 500;
+
+    @State(Scope.Group)
+    public static class SessionState {
+
+        @Param({"false", "true"})
+        boolean typingFlood;
+
+        SessionOutbound outbound;
+        EncodedFrame chatFrame;
+        EncodedFrame typingFrame;
+        final AtomicLong chatOffered = new AtomicLong();
+        final AtomicLong chatDelivered = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            FrameEncoder frameEncoder = new FrameEncoder(new ObjectMapper().findAndRegisterModules());
+            UUID roomId = UUID.randomUUID();
+            WebSocketMessage.SenderInfo sender = WebSocketMessage.SenderInfo.builder()
+                    .id(UUID.randomUUID())
+                    .displayName("bench")
+                    .build();
+            chatFrame = frameEncoder.encode(WebSocketMessage.builder()
+                    .type(MessageType.CHAT).roomId(roomId).sender(sender).content("hello").build());
+            typingFrame = frameEncoder.encode(WebSocketMessage.builder()
+                    .type(MessageType.TYPING).roomId(roomId).sender(sender).isTyping(true).build());
+
+            outbound = new SessionOutbound(new WebSocketProperties.Outbound(),
+                    new OutboundMetrics(new SimpleMeterRegistry()), () -> 0L, () -> { });
+            outbound.flux().subscribe(new BaseSubscriber<>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    request(1);
+                }
+
+                @Override
+                protected void hookOnNext(EncodedFrame frame) {
+                    Blackhole.consumeCPU(WRITE_COST_TOKENS);
+                    if (frame.type() == MessageType.CHAT) {
+                        chatDelivered.incrementAndGet();
+                    }
+                    request(1);
+                }
+            });
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            outbound.complete();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class TypingCounters {
+        public long typingOffered;
+    }
+
+    @Benchmark
+    @Group("overload")
+    @GroupThreads(1)
+    public void chat(SessionState state) {
+        long target = state.chatOffered.incrementAndGet();
+        state.outbound.offer(state.chatFrame);
+        while (state.chatDelivered.get() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    @Group("overload")
+    @GroupThreads(3)
+    public void typing(SessionState state, TypingCounters counters) {
+        if (!state.typingFlood) {
+            Blackhole.consumeCPU(WRITE_COST_TOKENS);
+            return;
+        }
+        state.outbound.offer(state.typingFrame);
+        counters.typingOffered++;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ShedCounters {
+        public long typingShed;
+    }
+
+    @Benchmark
+    @Group("overload")
+    @GroupThreads(1)
+    public void shedProbe(SessionState state, ShedCounters counters) {
+        // 누적 드롭 수를 보조 카운터로 노출한다
+        counters.typingShed = state.outbound.dropped();
+        Blackhole.consumeCPU(WRITE_COST_TOKENS);
+    }
+}
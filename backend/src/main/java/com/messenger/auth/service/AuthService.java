@@ -5,10 +5,12 @@ import com.messenger.auth.dto.GoogleUserInfo;
 import com.messenger.auth.dto.JwtProperties;
 import com.messenger.user.dto.UserResponse;
 import com.messenger.user.entity.User;
+import com.messenger.user.event.UserProfileUpdatedEvent;
 import com.messenger.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -32,6 +34,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final JwtProperties jwtProperties;
     private final WebClient webClient;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${spring.security.oauth2.client.registration.google.client-id:}")
     private String googleClientId;
@@ -102,7 +105,13 @@ public class AuthService {
         user.setAvatarUrl(googleUserInfo.getPicture());
         user.setDisplayName(googleUserInfo.getName());
         user.setUpdatedAt(OffsetDateTime.now());
-        return userRepository.save(user);
+        // 로그인 시 Google 프로필로 갱신되므로 접속 중인 세션에도 반영
+        return userRepository.save(user)
+                .doOnNext(saved -> eventPublisher.publishEvent(UserProfileUpdatedEvent.builder()
+                        .userId(saved.getId())
+                        .displayName(saved.getDisplayName())
+                        .avatarUrl(saved.getAvatarUrl())
+                        .build()));
     }
 
     private Mono<User> createNewUser(GoogleUserInfo googleUserInfo) {
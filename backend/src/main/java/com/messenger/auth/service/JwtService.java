@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
@@ -73,6 +74,10 @@ public class JwtService {
         return UUID.fromString(claims.getSubject());
     }
 
+    public Instant extractExpiration(String token) {
+        return extractClaims(token).getExpiration().toInstant();
+    }
+
     public String extractTokenType(String token) {
         Claims claims = extractClaims(token);
         return claims.get("type", String.class);
@@ -0,0 +1,13 @@
+package com.messenger.chatroom.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.chatroom.membership-cache")
+public class RoomMembershipCacheProperties {
+
+    private int maxRooms = 10_000; // 캐시에 보관할 최대 방 수
+}
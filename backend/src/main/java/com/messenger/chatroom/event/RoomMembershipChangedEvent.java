@@ -0,0 +1,24 @@
+package com.messenger.chatroom.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 방 멤버가 추가/제거되었거나 방이 삭제되었을 때 발행된다.
+ * 멤버십 캐시에서 해당 방 항목을 버리는 데 사용한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomMembershipChangedEvent {
+
+    private UUID roomId;
+    private UUID userId; // 방 삭제처럼 방 전체가 바뀐 경우 null
+    private Instant changedAt;
+}
@@ -5,17 +5,20 @@ import com.messenger.chatroom.dto.ChatRoomResponse;
 import com.messenger.chatroom.dto.RoomMemberResponse;
 import com.messenger.chatroom.entity.ChatRoom;
 import com.messenger.chatroom.entity.RoomMember;
+import com.messenger.chatroom.event.RoomMembershipChangedEvent;
 import com.messenger.chatroom.repository.ChatRoomRepository;
 import com.messenger.chatroom.repository.RoomMemberRepository;
 import com.messenger.common.exception.BusinessException;
 import com.messenger.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -27,6 +30,8 @@ public class ChatRoomService {
     private final ChatRoomRepository chatRoomRepository;
     private final RoomMemberRepository roomMemberRepository;
     private final UserRepository userRepository;
+    private final RoomMembershipCache roomMembershipCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Mono<ChatRoomResponse> createRoom(UUID creatorId, ChatRoomRequest request) {
@@ -104,7 +109,8 @@ public class ChatRoomService {
                         return Mono.error(new BusinessException("FORBIDDEN", "Only room creator can delete"));
                     }
                     return chatRoomRepository.deleteById(roomId);
-                });
+                })
+                .doOnSuccess(v -> publishMembershipChanged(roomId, null));
     }
 
     public Mono<RoomMemberResponse> addMember(UUID roomId, UUID userId) {
@@ -128,6 +134,7 @@ public class ChatRoomService {
                             .joinedAt(OffsetDateTime.now())
                             .build();
                     return roomMemberRepository.save(member)
+                            .doOnNext(saved -> publishMembershipChanged(roomId, userId))
                             .map(saved -> {
                                 RoomMemberResponse response = RoomMemberResponse.from(saved);
                                 response.setUsername(user.getUsername());
@@ -139,7 +146,8 @@ public class ChatRoomService {
     }
 
     public Mono<Void> removeMember(UUID roomId, UUID userId) {
-        return roomMemberRepository.deleteByRoomIdAndUserId(roomId, userId);
+        return roomMemberRepository.deleteByRoomIdAndUserId(roomId, userId)
+                .doOnSuccess(v -> publishMembershipChanged(roomId, userId));
     }
 
     public Flux<RoomMemberResponse> getMembers(UUID roomId) {
@@ -154,7 +162,16 @@ public class ChatRoomService {
                         }));
     }
 
+    // 멤버십 캐시에서 확인한다 (방을 처음 조회할 때만 DB)
     public Mono<Boolean> isMember(UUID roomId, UUID userId) {
-        return roomMemberRepository.existsByRoomIdAndUserId(roomId, userId);
+        return roomMembershipCache.isMember(roomId, userId);
+    }
+
+    private void publishMembershipChanged(UUID roomId, UUID userId) {
+        eventPublisher.publishEvent(RoomMembershipChangedEvent.builder()
+                .roomId(roomId)
+                .userId(userId)
+                .changedAt(Instant.now())
+                .build());
     }
 }
@@ -3,18 +3,21 @@ package com.messenger.chatroom.service;
 import com.messenger.chatroom.dto.ChatRoomResponse;
 import com.messenger.chatroom.dto.RoomInviteResponse;
 import com.messenger.chatroom.entity.RoomMember;
+import com.messenger.chatroom.event.RoomMembershipChangedEvent;
 import com.messenger.chatroom.repository.ChatRoomRepository;
 import com.messenger.chatroom.repository.RoomMemberRepository;
 import com.messenger.common.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -26,6 +29,7 @@ public class RoomInviteService {
     private final ChatRoomRepository chatRoomRepository;
     private final RoomMemberRepository roomMemberRepository;
     private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String INVITE_KEY_PREFIX = "invite:";
     private static final Duration INVITE_TTL = Duration.ofDays(7);
@@ -104,6 +108,12 @@ public class RoomInviteService {
                                                 .build();
 
                                         return roomMemberRepository.save(member)
+                                                .doOnNext(saved -> eventPublisher.publishEvent(
+                                                        RoomMembershipChangedEvent.builder()
+                                                                .roomId(roomId)
+                                                                .userId(userId)
+                                                                .changedAt(Instant.now())
+                                                                .build()))
                                                 .then(roomMemberRepository.countByRoomId(roomId))
                                                 .map(count -> ChatRoomResponse.from(room, count));
                                     }));
@@ -0,0 +1,200 @@
+package com.messenger.chatroom.service;
+
+import com.messenger.chatroom.dto.RoomMembershipCacheProperties;
+import com.messenger.chatroom.entity.RoomMember;
+import com.messenger.chatroom.event.RoomMembershipChangedEvent;
+import com.messenger.chatroom.repository.RoomMemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방 → 멤버 사용자 ID 집합의 로컬 캐시.
+ * 방을 처음 조회할 때 room_members 에서 한 번 읽어 채우고, 멤버 변경 이벤트가 오면 방 항목을 버린다.
+ * 다른 노드에서 일어난 변경은 RoomMembershipRelay 가 전달한다.
+ * <p>
+ * 멤버 추가는 트랜잭션 커밋 전에 이벤트가 나갈 수 있으므로, 캐시가 "멤버 아님"이라고 답하면 DB 로 한 번 더 확인한다.
+ * 멤버 제거는 즉시 반영된다.
+ */
+@Slf4j
+@Component
+public class RoomMembershipCache {
+
+    private final RoomMemberRepository roomMemberRepository;
+    private final RoomMembershipCacheProperties properties;
+
+    private final Map<UUID, MemberIds> rooms = new ConcurrentHashMap<>();
+    // 같은 방의 동시 cold miss 는 DB 조회 하나를 공유한다
+    private final Map<UUID, Mono<MemberIds>> loading = new ConcurrentHashMap<>();
+    // 무효화 횟수. 조회 중에 무효화가 있었으면 읽은 멤버 목록을 캐시에 넣지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rechecks;
+    private final Timer invalidationLag;
+
+    public RoomMembershipCache(RoomMemberRepository roomMemberRepository, RoomMembershipCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.roomMemberRepository = roomMemberRepository;
+        this.properties = properties;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.rechecks = lookupCounter(meterRegistry, "recheck");
+        this.invalidationLag = Timer.builder("chatroom.membership.cache.invalidation.lag")
+                .description("Time from a membership change to the cache entry being dropped on this node")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("chatroom.membership.cache.hit.ratio", this, RoomMembershipCache::hitRatio)
+                .description("Share of membership checks answered from memory")
+                .register(meterRegistry);
+        Gauge.builder("chatroom.membership.cache.rooms", rooms, Map::size)
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chatroom.membership.cache.lookups")
+                .description("Room membership checks by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public Mono<Boolean> isMember(UUID roomId, UUID userId) {
+        MemberIds members = rooms.get(roomId);
+        if (members == null) {
+            misses.increment();
+            return load(roomId).map(loaded -> loaded.contains(userId));
+        }
+        if (members.contains(userId)) {
+            hits.increment();
+            return Mono.just(true);
+        }
+        return recheck(roomId, userId);
+    }
+
+    // 커밋 전에 무효화된 멤버 추가를 놓치지 않도록 DB 에서 확인하고, 멤버였다면 방 항목을 다시 읽게 한다
+    private Mono<Boolean> recheck(UUID roomId, UUID userId) {
+        rechecks.increment();
+        return roomMemberRepository.existsByRoomIdAndUserId(roomId, userId)
+                .doOnNext(member -> {
+                    if (member) {
+                        invalidate(roomId, null);
+                    }
+                });
+    }
+
+    private Mono<MemberIds> load(UUID roomId) {
+        return loading.computeIfAbsent(roomId, id -> {
+            long epoch = invalidations.get();
+            return roomMemberRepository.findByRoomId(id)
+                    .map(RoomMember::getUserId)
+                    .collectList()
+                    .map(MemberIds::of)
+                    .doOnNext(members -> store(id, members, epoch))
+                    .doFinally(signal -> loading.remove(id))
+                    .cache();
+        });
+    }
+
+    private void store(UUID roomId, MemberIds members, long epoch) {
+        if (invalidations.get() != epoch) {
+            return;
+        }
+        // 상한에 닿으면 임의의 방 하나를 버린다 (다시 조회하면 채워진다)
+        if (rooms.size() >= properties.getMaxRooms()) {
+            Iterator<UUID> iterator = rooms.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        rooms.put(roomId, members);
+        // 확인과 저장 사이에 들어온 무효화
+        if (invalidations.get() != epoch) {
+            rooms.remove(roomId, members);
+        }
+    }
+
+    @EventListener
+    public void onMembershipChanged(RoomMembershipChangedEvent event) {
+        invalidate(event.getRoomId(), event.getChangedAt());
+    }
+
+    /**
+     * @param changedAt 변경 시각. 주어지면 무효화 지연을 기록한다
+     */
+    public void invalidate(UUID roomId, Instant changedAt) {
+        invalidations.incrementAndGet();
+        rooms.remove(roomId);
+        if (changedAt != null) {
+            Duration lag = Duration.between(changedAt, Instant.now());
+            invalidationLag.record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+        log.debug("Invalidated membership cache of room {}", roomId);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count() + rechecks.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /**
+     * 멤버 ID 를 (상위, 하위) long 쌍으로 정렬해 담은 배열. UUID 객체와 해시 테이블 없이 이진 탐색한다.
+     */
+    static final class MemberIds {
+
+        private final long[] bits;
+
+        private MemberIds(long[] bits) {
+            this.bits = bits;
+        }
+
+        static MemberIds of(List<UUID> userIds) {
+            UUID[] sorted = userIds.toArray(UUID[]::new);
+            Arrays.sort(sorted);
+            long[] bits = new long[sorted.length * 2];
+            for (int i = 0; i < sorted.length; i++) {
+                bits[2 * i] = sorted[i].getMostSignificantBits();
+                bits[2 * i + 1] = sorted[i].getLeastSignificantBits();
+            }
+            return new MemberIds(bits);
+        }
+
+        boolean contains(UUID userId) {
+            long msb = userId.getMostSignificantBits();
+            long lsb = userId.getLeastSignificantBits();
+            int low = 0;
+            int high = bits.length / 2 - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                // UUID.compareTo 와 같은 부호 있는 비교
+                int cmp = bits[2 * mid] != msb
+                        ? Long.compare(bits[2 * mid], msb)
+                        : Long.compare(bits[2 * mid + 1], lsb);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
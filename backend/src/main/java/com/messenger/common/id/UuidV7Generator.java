@@ -0,0 +1,59 @@
+package com.messenger.common.id;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간순 UUIDv7 (RFC 9562) 생성기.
+ * 상위 48비트는 Unix 밀리초, 그 아래 12비트(rand_a)는 같은 밀리초 안의 순번이라 한 JVM 안에서 발급 순서대로 커진다.
+ * (밀리초 << 12 | 순번) 상태 하나를 CAS 로 갱신하므로 잠금이 없다. 한 밀리초에 4096 개를 넘기거나 시계가 뒤로 가면
+ * 타임스탬프를 앞당겨 순서를 지킨다.
+ * <p>
+ * 나머지 62비트는 ThreadLocalRandom 값이다. 추측하기 어려워야 하는 식별자(토큰 등)에는 쓰지 않는다.
+ */
+@Component
+public class UuidV7Generator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final LongSupplier clock;
+    // 마지막으로 발급한 (Unix 밀리초 << 12 | 순번)
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public UUID next() {
+        long floor = clock.getAsLong() << COUNTER_BITS;
+        long state = last.accumulateAndGet(floor, (previous, now) -> Math.max(previous + 1, now));
+
+        long msb = (state >>> COUNTER_BITS) << 16 | VERSION_7 | (state & COUNTER_MASK);
+        long lsb = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT_RFC;
+        return new UUID(msb, lsb);
+    }
+
+    public static boolean isVersion7(UUID id) {
+        return id.version() == 7 && id.variant() == 2;
+    }
+
+    /**
+     * UUIDv7 에 담긴 발급 시각 (밀리초 정밀도).
+     */
+    public static Instant timestamp(UUID id) {
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+    }
+}
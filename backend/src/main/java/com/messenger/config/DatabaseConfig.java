@@ -1,9 +1,11 @@
 package com.messenger.config;
 
+import com.messenger.message.service.MessagePartitionManager;
 import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.CompositeDatabasePopulator;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
 import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
 
@@ -11,13 +13,18 @@ import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
 public class DatabaseConfig {
 
     @Bean
-    public ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
+    public ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory,
+                                                    MessagePartitionManager messagePartitionManager) {
         ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
         initializer.setConnectionFactory(connectionFactory);
 
-        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
-        populator.addScript(new ClassPathResource("schema.sql"));
-        populator.addScript(new ClassPathResource("data.sql"));
+        // 파티션 도입 전 messages 를 옮겨 둔 뒤 스키마를 만들고, 월 파티션을 준비한 다음 기본 데이터를 넣는다
+        CompositeDatabasePopulator populator = new CompositeDatabasePopulator();
+        populator.addPopulators(
+                MessagePartitionManager.moveUnpartitionedAside(),
+                new ResourceDatabasePopulator(new ClassPathResource("schema.sql")),
+                connection -> messagePartitionManager.bootstrap(),
+                new ResourceDatabasePopulator(new ClassPathResource("data.sql")));
 
         initializer.setDatabasePopulator(populator);
         return initializer;
@@ -1,6 +1,14 @@
 package com.messenger.config;
 
+import com.messenger.auth.service.JwtService;
+import com.messenger.user.repository.UserRepository;
 import com.messenger.websocket.ChatWebSocketHandler;
+import com.messenger.websocket.auth.JwtHandshakeWebSocketService;
+import com.messenger.websocket.compression.CompressionMetrics;
+import com.messenger.websocket.compression.PerMessageDeflateCustomizer;
+import com.messenger.websocket.dto.WebSocketProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.HandlerMapping;
@@ -25,7 +33,15 @@ public class WebSocketConfig {
     }
 
     @Bean
-    public WebSocketHandlerAdapter webSocketHandlerAdapter() {
-        return new WebSocketHandlerAdapter();
+    public WebSocketHandlerAdapter webSocketHandlerAdapter(JwtService jwtService, UserRepository userRepository) {
+        // 토큰 검증은 업그레이드 전에: 실패하면 세션 상태를 만들지 않고 401
+        return new WebSocketHandlerAdapter(new JwtHandshakeWebSocketService(jwtService, userRepository));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.websocket.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public NettyServerCustomizer perMessageDeflateCustomizer(WebSocketProperties webSocketProperties,
+                                                             CompressionMetrics compressionMetrics) {
+        return new PerMessageDeflateCustomizer(webSocketProperties.getCompression(), compressionMetrics);
     }
 }
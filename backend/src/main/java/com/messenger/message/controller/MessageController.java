@@ -32,7 +32,7 @@ public class MessageController {
     @GetMapping("/rooms/{roomId}/messages")
     public Mono<MessagePageResponse> getMessages(
             @PathVariable UUID roomId,
-            @RequestParam(required = false) UUID cursor,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer limit) {
         return messageService.getMessages(roomId, cursor, limit);
     }
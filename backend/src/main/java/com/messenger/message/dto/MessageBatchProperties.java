@@ -0,0 +1,18 @@
+package com.messenger.message.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.message.batch")
+public class MessageBatchProperties {
+
+    private int maxSize = 100; // 배치당 최대 메시지 수
+    private Duration linger = Duration.ofMillis(5); // 배치가 차기를 기다리는 최대 시간
+    private int maxInFlight = 4; // 동시에 커밋 중인 배치 수
+    private Duration shutdownTimeout = Duration.ofSeconds(5); // 종료 시 남은 배치의 커밋을 기다리는 최대 시간
+}
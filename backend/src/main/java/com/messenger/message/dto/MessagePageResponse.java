@@ -6,7 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
-import java.util.UUID;
 
 @Data
 @Builder
@@ -15,6 +14,7 @@ import java.util.UUID;
 public class MessagePageResponse {
 
     private List<MessageResponse> messages;
-    private UUID nextCursor;
+    // 다음(더 오래된) 페이지를 여는 불투명 커서 토큰
+    private String nextCursor;
     private boolean hasMore;
 }
@@ -0,0 +1,17 @@
+package com.messenger.message.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.message.partition")
+public class MessagePartitionProperties {
+
+    private int premakeMonths = 3; // 이번 달 이후로 미리 만들어 둘 월 파티션 수
+    private int retentionMonths = 0; // 이번 달을 포함해 보관할 개월 수 (0 = 삭제하지 않음)
+    private Duration maintenanceInterval = Duration.ofHours(1); // 파티션 생성/삭제 점검 주기
+}
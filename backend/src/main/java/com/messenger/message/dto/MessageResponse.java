@@ -10,13 +10,14 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MessageResponse {
 
     private UUID id;
     private UUID roomId;
+    private Long seq;
     private SenderInfo sender;
     private String content;
     private String messageType;
@@ -36,6 +37,7 @@ public class MessageResponse {
         return MessageResponse.builder()
                 .id(message.getId())
                 .roomId(message.getRoomId())
+                .seq(message.getRoomSeq())
                 .content(message.getContent())
                 .messageType(message.getMessageType())
                 .createdAt(message.getCreatedAt())
@@ -0,0 +1,15 @@
+package com.messenger.message.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.message.recent-cache")
+public class RecentMessageCacheProperties {
+
+    private int messagesPerRoom = 100; // 방별로 보관할 최근 메시지 수 (첫 페이지 최대 크기)
+    private DataSize maxMemory = DataSize.ofMegabytes(64); // 전체 방 합산 메모리 예산 (추정치)
+}
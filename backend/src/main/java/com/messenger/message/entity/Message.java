@@ -30,6 +30,10 @@ public class Message {
     @Column("content")
     private String content;
 
+    // 방 안에서 단조 증가하는 순번 (WebSocket 으로 보낸 메시지만)
+    @Column("room_seq")
+    private Long roomSeq;
+
     @Column("message_type")
     @Builder.Default
     private String messageType = "TEXT";
@@ -5,27 +5,46 @@ import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Repository
 public interface MessageRepository extends R2dbcRepository<Message, UUID> {
 
-    @Query("""
+    String LATEST_PAGE = """
         SELECT * FROM messages
         WHERE room_id = :roomId AND deleted_at IS NULL
-        ORDER BY created_at DESC
+        ORDER BY created_at DESC, id DESC
         LIMIT :limit
-    """)
+    """;
+
+    // (created_at, id) 행 비교는 idx_messages_room_id_created_at_id 의 범위 조건이 되어 커서 행을 다시 읽지 않는다
+    // created_at <= 조건은 행 비교만으로는 하지 못하는 파티션 제외(커서보다 새로운 월 파티션)를 위한 것
+    String PAGE_BEFORE_KEY = """
+        SELECT * FROM messages
+        WHERE room_id = :roomId AND deleted_at IS NULL
+          AND created_at <= :createdAt
+          AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """;
+
+    @Query(LATEST_PAGE)
     Flux<Message> findByRoomIdOrderByCreatedAtDesc(UUID roomId, int limit);
 
+    @Query(PAGE_BEFORE_KEY)
+    Flux<Message> findByRoomIdBeforeKey(UUID roomId, OffsetDateTime createdAt, UUID id, int limit);
+
     @Query("""
         SELECT * FROM messages
-        WHERE room_id = :roomId AND deleted_at IS NULL AND created_at < (
-            SELECT created_at FROM messages WHERE id = :cursorId
-        )
-        ORDER BY created_at DESC
+        WHERE room_id = :roomId AND room_seq > :afterSeq AND deleted_at IS NULL
+        ORDER BY room_seq ASC
         LIMIT :limit
     """)
-    Flux<Message> findByRoomIdBeforeCursor(UUID roomId, UUID cursorId, int limit);
+    Flux<Message> findByRoomIdAfterSeq(UUID roomId, long afterSeq, int limit);
+
+    @Query("SELECT COALESCE(MAX(room_seq), 0) FROM messages WHERE room_id = :roomId")
+    Mono<Long> findMaxRoomSeq(UUID roomId);
 }
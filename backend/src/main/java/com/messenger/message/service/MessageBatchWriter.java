@@ -0,0 +1,179 @@
+package com.messenger.message.service;
+
+import com.messenger.common.id.UuidV7Generator;
+import com.messenger.message.dto.MessageBatchProperties;
+import com.messenger.message.entity.Message;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 INSERT 그룹 커밋.
+ * 모든 세션의 메시지를 크기(maxSize)·시간(linger) 기준의 마이크로 배치로 모아
+ * 배치당 한 번의 multi-row INSERT 로 저장한다. 각 호출자는 자신의 배치가 커밋된 뒤에 완료된다.
+ * 배치 완료 통지는 커밋 순서가 아니라 제출 순서를 따른다.
+ * 클라이언트가 이미 묶어 보낸 메시지(BATCH 프레임)는 대기열을 거치지 않고 바로 한 문장으로 저장한다.
+ * 종료 시에는 새 메시지를 거절하고, 이미 받은 메시지는 shutdownTimeout 안에서 모두 커밋한 뒤 멈춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageBatchWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO messages (id, room_id, sender_id, room_seq, content, message_type, created_at, updated_at) VALUES ";
+
+    private final DatabaseClient databaseClient;
+    private final MessageBatchProperties properties;
+    private final UuidV7Generator idGenerator;
+
+    private final Sinks.Many<PendingWrite> pending = Sinks.many().unicast().onBackpressureBuffer();
+    // 파이프라인이 남은 배치까지 모두 처리하고 끝나면 열린다
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private Disposable pipeline;
+
+    @PostConstruct
+    public void start() {
+        pipeline = pending.asFlux()
+                .bufferTimeout(properties.getMaxSize(), properties.getLinger(), true)
+                .flatMapSequential(this::commit, properties.getMaxInFlight())
+                .subscribe(BatchResult::complete,
+                        e -> {
+                            log.error("Message batch pipeline terminated", e);
+                            drained.countDown();
+                        },
+                        drained::countDown);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 새 메시지는 받지 않고, 대기열과 커밋 중인 배치는 끝까지 처리되게 둔다
+        pending.tryEmitComplete();
+        if (pipeline == null) {
+            return;
+        }
+        try {
+            if (!drained.await(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Message batches were not committed within {}", properties.getShutdownTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pipeline.dispose();
+    }
+
+    /**
+     * 메시지를 다음 배치에 넣는다. ID 가 없으면 여기서 할당한다.
+     * 종료된 뒤의 호출은 기다리지 않고 IllegalStateException 으로 실패한다.
+     */
+    public Mono<Message> write(Message message) {
+        prepare(message);
+        return Mono.create(sink -> {
+            PendingWrite write = new PendingWrite(message, sink);
+            Sinks.EmitResult result = pending.tryEmitNext(write);
+            // 다른 스레드와 동시에 넣는 경우만 다시 시도한다
+            while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+                Thread.onSpinWait();
+                result = pending.tryEmitNext(write);
+            }
+            if (result.isFailure()) {
+                sink.error(new IllegalStateException("Message batch writer is stopped: " + result));
+            }
+        });
+    }
+
+    /**
+     * 이미 묶여 온 메시지를 하나의 multi-row INSERT 로 저장한다. 전부 저장되거나 전부 실패한다.
+     */
+    public Mono<List<Message>> writeAll(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return Mono.just(messages);
+        }
+        messages.forEach(this::prepare);
+        return Mono.defer(() -> insert(messages))
+                .doOnSuccess(v -> log.debug("Committed client batch of {}", messages.size()))
+                .thenReturn(messages);
+    }
+
+    private Mono<BatchResult> commit(List<PendingWrite> batch) {
+        List<Message> messages = batch.stream().map(PendingWrite::message).toList();
+        return Mono.defer(() -> insert(messages))
+                .doOnSuccess(v -> log.debug("Committed message batch of {}", messages.size()))
+                .thenReturn(new BatchResult(batch, null))
+                .onErrorResume(e -> {
+                    log.error("Failed to commit message batch of {}: {}", messages.size(), e.getMessage());
+                    return Mono.just(new BatchResult(batch, e));
+                });
+    }
+
+    Mono<Void> insert(List<Message> messages) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < messages.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i)
+                    .append(", :roomId").append(i)
+                    .append(", :senderId").append(i)
+                    .append(", :roomSeq").append(i)
+                    .append(", :content").append(i)
+                    .append(", :messageType").append(i)
+                    .append(", :createdAt").append(i)
+                    .append(", :updatedAt").append(i)
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            spec = spec.bind("id" + i, message.getId())
+                    .bind("roomId" + i, message.getRoomId())
+                    .bind("senderId" + i, message.getSenderId());
+            spec = message.getRoomSeq() != null
+                    ? spec.bind("roomSeq" + i, message.getRoomSeq())
+                    : spec.bindNull("roomSeq" + i, Long.class);
+            spec = spec
+                    .bind("content" + i, message.getContent())
+                    .bind("messageType" + i, message.getMessageType())
+                    .bind("createdAt" + i, message.getCreatedAt())
+                    .bind("updatedAt" + i, message.getUpdatedAt());
+        }
+        return spec.fetch().rowsUpdated().then();
+    }
+
+    private void prepare(Message message) {
+        if (message.getId() == null) {
+            message.setId(idGenerator.next());
+        }
+        if (message.getMessageType() == null) {
+            message.setMessageType("TEXT");
+        }
+    }
+
+    private record PendingWrite(Message message, MonoSink<Message> sink) {
+    }
+
+    private record BatchResult(List<PendingWrite> batch, Throwable error) {
+
+        void complete() {
+            for (PendingWrite write : batch) {
+                if (error == null) {
+                    write.sink().success(write.message());
+                } else {
+                    write.sink().error(error);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.messenger.message.service;
+
+import com.messenger.common.exception.BusinessException;
+import com.messenger.common.id.UuidV7Generator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 메시지 이력 페이지 커서. 마지막 메시지의 (created_at, id) 를 담은 불투명 토큰이다.
+ * 토큰에는 방 ID 를 묶은 HMAC 이 붙어 있어 값을 바꾸거나 다른 방에 쓰면 거부된다.
+ * <p>
+ * 형식: base64url(created_at epoch micros 8바이트 | id 16바이트 | HMAC-SHA256 앞 16바이트)
+ * <p>
+ * created_at 이 ID 의 시각과 같은 UUIDv7 메시지(MessageIngestService 가 저장한 메시지)는 id 만 담는다:
+ * base64url(id 16바이트 | HMAC-SHA256 앞 16바이트). created_at 은 디코딩할 때 ID 에서 되살린다.
+ */
+@Component
+public class MessageCursorCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int ID_LENGTH = 16;
+    private static final int KEY_LENGTH = Long.BYTES + ID_LENGTH;
+    private static final int MAC_LENGTH = 16;
+
+    private final SecretKeySpec key;
+
+    public MessageCursorCodec(@Value("${app.message.cursor-secret:${jwt.secret}}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public record Position(OffsetDateTime createdAt, UUID id) {
+    }
+
+    public String encode(UUID roomId, OffsetDateTime createdAt, UUID id) {
+        Instant instant = createdAt.toInstant();
+        boolean idOnly = UuidV7Generator.isVersion7(id) && UuidV7Generator.timestamp(id).equals(instant);
+        int keyLength = idOnly ? ID_LENGTH : KEY_LENGTH;
+        ByteBuffer buffer = ByteBuffer.allocate(keyLength + MAC_LENGTH);
+        if (!idOnly) {
+            // PostgreSQL timestamptz 는 마이크로초 정밀도
+            buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, instant));
+        }
+        buffer.putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        buffer.put(mac(roomId, buffer.array(), keyLength));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public Position decode(UUID roomId, String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        int keyLength = bytes.length - MAC_LENGTH;
+        if (keyLength != KEY_LENGTH && keyLength != ID_LENGTH) {
+            throw invalid();
+        }
+        byte[] expected = mac(roomId, bytes, keyLength);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, keyLength, bytes.length))) {
+            throw invalid();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Long micros = keyLength == KEY_LENGTH ? buffer.getLong() : null;
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        Instant createdAt;
+        if (micros != null) {
+            createdAt = Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+        } else if (UuidV7Generator.isVersion7(id)) {
+            createdAt = UuidV7Generator.timestamp(id);
+        } else {
+            throw invalid();
+        }
+        return new Position(OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC), id);
+    }
+
+    private byte[] mac(UUID roomId, byte[] payload, int length) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(ByteBuffer.allocate(16)
+                    .putLong(roomId.getMostSignificantBits())
+                    .putLong(roomId.getLeastSignificantBits())
+                    .array());
+            mac.update(payload, 0, length);
+            return Arrays.copyOf(mac.doFinal(), MAC_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException("INVALID_CURSOR", "Invalid or tampered cursor");
+    }
+}
@@ -0,0 +1,140 @@
+package com.messenger.message.service;
+
+import com.messenger.chatroom.service.RoomMembershipCache;
+import com.messenger.common.id.UuidV7Generator;
+import com.messenger.common.exception.BusinessException;
+import com.messenger.message.entity.Message;
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.replay.RoomSequencer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * REST 와 WebSocket 이 공유하는 메시지 수신 경로.
+ * 멤버십 확인 → 방 순번 할당 → 그룹 커밋 저장 → 최근 메시지 캐시 반영 → 방 브로드캐스트를 한 곳에서 처리한다.
+ * 저장이 끝난 뒤 브로드캐스트 전에 onPersisted 를 호출하므로, 호출자는 발신자 ACK 를 CHAT 보다 먼저 보낼 수 있다.
+ * 메시지 ID 는 저장 전에 여기서 UUIDv7 로 발급하고 created_at 은 그 ID 의 시각을 쓴다. 새 메시지는 ID 순서가 곧 시간 순서다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageIngestService {
+
+    private final RoomMembershipCache roomMembershipCache;
+    private final RoomSequencer roomSequencer;
+    private final MessageBatchWriter messageBatchWriter;
+    private final RoomBroadcaster roomBroadcaster;
+    private final RecentMessageCache recentMessageCache;
+    private final UuidV7Generator idGenerator;
+
+    public record Draft(UUID roomId, String content, String messageType) {
+    }
+
+    public Mono<Message> ingest(WebSocketMessage.SenderInfo sender, Draft draft) {
+        return ingest(sender, draft, saved -> { });
+    }
+
+    /**
+     * 메시지 하나를 다음 그룹 커밋 배치로 저장하고 방에 브로드캐스트한다.
+     */
+    public Mono<Message> ingest(WebSocketMessage.SenderInfo sender, Draft draft, Consumer<Message> onPersisted) {
+        return requireMember(draft.roomId(), sender.getId())
+                .then(Mono.defer(() -> roomSequencer.next(draft.roomId())))
+                .flatMap(seq -> messageBatchWriter.write(toMessage(sender.getId(), draft, seq)))
+                .doOnNext(saved -> {
+                    log.debug("Message ingested to room {}: {}", saved.getRoomId(), saved.getId());
+                    onPersisted.accept(saved);
+                    publish(toChatEvent(saved, sender));
+                });
+    }
+
+    /**
+     * 클라이언트가 묶어 보낸 메시지를 한 번의 multi-row INSERT 로 저장한다.
+     * 방별로 순번 구간을 한 번에 예약해 목록 순서대로 배정하며, 전부 저장되거나 전부 실패한다.
+     */
+    public Mono<List<Message>> ingestAll(WebSocketMessage.SenderInfo sender, List<Draft> drafts,
+                                         Consumer<List<Message>> onPersisted) {
+        if (drafts.isEmpty()) {
+            onPersisted.accept(List.of());
+            return Mono.just(List.of());
+        }
+        Map<UUID, Long> countByRoom = new LinkedHashMap<>();
+        for (Draft draft : drafts) {
+            countByRoom.merge(draft.roomId(), 1L, Long::sum);
+        }
+        return Flux.fromIterable(countByRoom.keySet())
+                .concatMap(roomId -> requireMember(roomId, sender.getId()))
+                .thenMany(Flux.fromIterable(countByRoom.entrySet()))
+                .flatMap(entry -> roomSequencer.reserve(entry.getKey(), entry.getValue())
+                        .map(firstSeq -> Map.entry(entry.getKey(), firstSeq)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, HashMap::new)
+                .flatMap(nextSeq -> {
+                    List<Message> messages = new ArrayList<>(drafts.size());
+                    for (Draft draft : drafts) {
+                        long seq = nextSeq.merge(draft.roomId(), 1L, Long::sum) - 1;
+                        messages.add(toMessage(sender.getId(), draft, seq));
+                    }
+                    return messageBatchWriter.writeAll(messages);
+                })
+                .doOnNext(saved -> {
+                    onPersisted.accept(saved);
+                    saved.forEach(message -> publish(toChatEvent(message, sender)));
+                });
+    }
+
+    private void publish(WebSocketMessage event) {
+        recentMessageCache.onChat(event);
+        roomBroadcaster.broadcast(event);
+    }
+
+    private Mono<Void> requireMember(UUID roomId, UUID userId) {
+        return roomMembershipCache.isMember(roomId, userId)
+                .flatMap(member -> member
+                        ? Mono.<Void>empty()
+                        : Mono.error(new BusinessException("NOT_MEMBER", "You are not a member of this room")));
+    }
+
+    // created_at 은 ID 의 밀리초 시각: 같은 묶음 안에서도 (created_at, id) 순서가 발급 순서와 같다
+    private Message toMessage(UUID senderId, Draft draft, long seq) {
+        UUID id = idGenerator.next();
+        OffsetDateTime now = OffsetDateTime.ofInstant(UuidV7Generator.timestamp(id), ZoneOffset.UTC);
+        return Message.builder()
+                .id(id)
+                .roomId(draft.roomId())
+                .senderId(senderId)
+                .roomSeq(seq)
+                .content(draft.content())
+                .messageType(draft.messageType() != null ? draft.messageType() : "TEXT")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static WebSocketMessage toChatEvent(Message message, WebSocketMessage.SenderInfo sender) {
+        return WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(message.getRoomId())
+                .messageId(message.getId())
+                .seq(message.getRoomSeq())
+                .content(message.getContent())
+                .messageType(message.getMessageType())
+                .sender(sender)
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+}
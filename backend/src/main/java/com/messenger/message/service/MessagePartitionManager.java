@@ -0,0 +1,228 @@
+package com.messenger.message.service;
+
+import com.messenger.message.dto.MessagePartitionProperties;
+import io.r2dbc.spi.Result;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.connection.init.DatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * messages 월 파티션 관리.
+ * 이번 달부터 premakeMonths 만큼 앞선 파티션을 미리 만들고, 보존 기간이 지난 파티션은 떼어내 삭제한다.
+ * 파티션마다 (room_id, room_seq) UNIQUE 인덱스를 둔다. 파티션 테이블에서는 파티션 키가 빠진 UNIQUE 인덱스를
+ * 부모에 만들 수 없기 때문이다. 같은 방의 순번은 한 달 안에서 겹치지 않는다.
+ * 기본 파티션이 없으므로 파티션이 없는 시각의 메시지는 저장되지 않는다. 애플리케이션 시작 시(DatabaseConfig)
+ * 한 번 실행한 뒤 maintenanceInterval 마다 다시 점검한다.
+ * <p>
+ * 파티션 도입 전의 단일 messages 테이블은 시작 시 messages_unpartitioned 로 옮겨 두었다가 새 테이블로 복사한다.
+ */
+@Slf4j
+@Component
+public class MessagePartitionManager {
+
+    static final String LEGACY_TABLE = "messages_unpartitioned";
+    private static final Pattern PARTITION_NAME = Pattern.compile("messages_p(\\d{4})_(\\d{2})");
+
+    // 단일 테이블을 옮기고, 새 파티션 테이블과 이름이 겹치는 인덱스를 정리한다.
+    // room_seq 도입 전(0.3.0 이하)의 테이블에는 순번 컬럼이 없으므로 복사 전에 빈 컬럼으로 채워 둔다
+    private static final List<String> MOVE_ASIDE = List.of(
+            "ALTER TABLE messages RENAME TO " + LEGACY_TABLE,
+            "ALTER TABLE " + LEGACY_TABLE + " RENAME CONSTRAINT messages_pkey TO " + LEGACY_TABLE + "_pkey",
+            "ALTER TABLE " + LEGACY_TABLE + " ADD COLUMN IF NOT EXISTS room_seq BIGINT",
+            "DROP INDEX IF EXISTS idx_messages_room_id_created_at",
+            "DROP INDEX IF EXISTS idx_messages_room_id_created_at_id",
+            "DROP INDEX IF EXISTS idx_messages_sender_id",
+            "DROP INDEX IF EXISTS idx_messages_room_id_room_seq");
+
+    private static final String MESSAGE_COLUMNS =
+            "id, room_id, sender_id, content, message_type, created_at, updated_at, deleted_at, room_seq";
+
+    private final DatabaseClient databaseClient;
+    private final MessagePartitionProperties properties;
+
+    private Scheduler scheduler;
+    private Disposable ticker;
+
+    public MessagePartitionManager(DatabaseClient databaseClient, MessagePartitionProperties properties) {
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Schedulers.newSingle("message-partitions", true);
+        ticker = Flux.interval(properties.getMaintenanceInterval(), scheduler)
+                .concatMap(t -> maintain(currentMonth())
+                        .onErrorResume(e -> {
+                            log.error("Message partition maintenance failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * schema.sql 전에 실행한다. messages 가 파티션 테이블이 아니면 옆으로 옮겨 schema.sql 이 새로 만들게 한다.
+     */
+    public static DatabasePopulator moveUnpartitionedAside() {
+        return connection -> Flux.from(connection.createStatement(
+                                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('messages')")
+                        .execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                .next()
+                // r: 일반 테이블, p: 파티션 테이블
+                .filter("r"::equals)
+                .flatMapMany(kind -> Flux.fromIterable(MOVE_ASIDE)
+                        .concatMap(sql -> Flux.from(connection.createStatement(sql).execute())
+                                .flatMap(Result::getRowsUpdated)))
+                .then();
+    }
+
+    /**
+     * schema.sql 뒤에 실행한다. 옮겨 둔 단일 테이블이 있으면 필요한 월 파티션을 만들어 복사한 뒤 지우고,
+     * 이번 달과 앞으로의 파티션을 준비한다. 이미 있던 파티션에도 순번 UNIQUE 인덱스를 맞춘다.
+     */
+    public Mono<Void> bootstrap() {
+        return migrateUnpartitioned()
+                .then(maintain(currentMonth()))
+                .thenMany(partitions())
+                .concatMap(this::createSeqIndex)
+                .then();
+    }
+
+    private Mono<Void> migrateUnpartitioned() {
+        return databaseClient.sql("SELECT to_regclass('" + LEGACY_TABLE + "') IS NOT NULL AS present")
+                .map(row -> row.get("present", Boolean.class))
+                .one()
+                .filter(Boolean::booleanValue)
+                .flatMap(present -> databaseClient.sql("""
+                                SELECT DISTINCT to_char(date_trunc('month', COALESCE(created_at, NOW()) AT TIME ZONE 'UTC'),
+                                                        'YYYY-MM') AS month
+                                FROM %s
+                                """.formatted(LEGACY_TABLE))
+                        .map(row -> YearMonth.parse(row.get("month", String.class)))
+                        .all()
+                        .concatMap(this::createPartition)
+                        // 예전 카운터 경합으로 겹친 순번은 먼저 저장된 메시지만 유지하고 나머지는 순번을 비운다
+                        .then(databaseClient.sql("""
+                                        INSERT INTO messages (%1$s)
+                                        SELECT id, room_id, sender_id, content, message_type,
+                                               COALESCE(created_at, NOW()), updated_at, deleted_at,
+                                               CASE WHEN ROW_NUMBER() OVER (PARTITION BY room_id, room_seq
+                                                                            ORDER BY created_at, id) = 1
+                                                    THEN room_seq END
+                                        FROM %2$s
+                                        ON CONFLICT DO NOTHING
+                                        """.formatted(MESSAGE_COLUMNS, LEGACY_TABLE))
+                                .fetch()
+                                .rowsUpdated())
+                        .doOnNext(copied -> log.info("Copied {} messages into the partitioned messages table", copied))
+                        .then(databaseClient.sql("DROP TABLE " + LEGACY_TABLE).then()));
+    }
+
+    /**
+     * 이번 달부터 premakeMonths 개월 뒤까지 파티션을 만들고, 보존 기간이 지난 파티션을 삭제한다.
+     */
+    public Mono<Void> maintain(YearMonth current) {
+        return createPartitions(current, current.plusMonths(properties.getPremakeMonths()))
+                .then(dropExpired(current));
+    }
+
+    public Mono<Void> createPartitions(YearMonth from, YearMonth to) {
+        return Flux.<YearMonth>generate(() -> from, (month, sink) -> {
+                    if (month.isAfter(to)) {
+                        sink.complete();
+                    } else {
+                        sink.next(month);
+                    }
+                    return month.plusMonths(1);
+                })
+                .concatMap(this::createPartition)
+                .then();
+    }
+
+    private Mono<Void> createPartition(YearMonth month) {
+        String name = partitionName(month);
+        return databaseClient.sql("CREATE TABLE IF NOT EXISTS %s PARTITION OF messages FOR VALUES FROM ('%s') TO ('%s')"
+                        .formatted(name, lowerBound(month), lowerBound(month.plusMonths(1))))
+                .then()
+                .then(createSeqIndex(name));
+    }
+
+    private Mono<Void> createSeqIndex(String partition) {
+        return databaseClient.sql("CREATE UNIQUE INDEX IF NOT EXISTS %1$s_room_id_room_seq_key ON %1$s (room_id, room_seq)"
+                        .formatted(partition))
+                .then();
+    }
+
+    private Flux<String> partitions() {
+        return databaseClient.sql("""
+                        SELECT c.relname AS name
+                        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'messages'::regclass
+                        """)
+                .map(row -> row.get("name", String.class))
+                .all();
+    }
+
+    private Mono<Void> dropExpired(YearMonth current) {
+        if (properties.getRetentionMonths() <= 0) {
+            return Mono.empty();
+        }
+        YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths() - 1L);
+        return partitions()
+                .filter(name -> {
+                    YearMonth month = monthOf(name);
+                    return month != null && month.isBefore(oldestKept);
+                })
+                // 떼어낸 뒤 삭제해 부모 테이블 잠금을 짧게 유지한다
+                .concatMap(name -> databaseClient.sql("ALTER TABLE messages DETACH PARTITION " + name)
+                        .then()
+                        .then(databaseClient.sql("DROP TABLE " + name).then())
+                        .doOnSuccess(v -> log.info("Dropped expired message partition {}", name)))
+                .then();
+    }
+
+    static String partitionName(YearMonth month) {
+        return "messages_p%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+
+    private static YearMonth currentMonth() {
+        return YearMonth.now(ZoneOffset.UTC);
+    }
+}
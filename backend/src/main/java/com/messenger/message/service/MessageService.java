@@ -1,13 +1,15 @@
 package com.messenger.message.service;
 
-import com.messenger.chatroom.service.ChatRoomService;
 import com.messenger.common.exception.BusinessException;
 import com.messenger.message.dto.MessagePageResponse;
 import com.messenger.message.dto.MessageRequest;
 import com.messenger.message.dto.MessageResponse;
 import com.messenger.message.entity.Message;
 import com.messenger.message.repository.MessageRepository;
-import com.messenger.user.repository.UserRepository;
+import com.messenger.user.service.UserProfileCache;
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,7 +17,9 @@ import reactor.core.publisher.Mono;
 
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -24,45 +28,47 @@ import java.util.UUID;
 public class MessageService {
 
     private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
-    private final ChatRoomService chatRoomService;
+    private final MessageIngestService messageIngestService;
+    private final MessageCursorCodec messageCursorCodec;
+    private final UserProfileCache userProfileCache;
+    private final RecentMessageCache recentMessageCache;
+    private final RoomBroadcaster roomBroadcaster;
 
     private static final int DEFAULT_PAGE_SIZE = 50;
 
+    // WebSocket CHAT 과 같은 수신 경로로 저장하고 방에 브로드캐스트한다.
+    // 발신자는 프로필 캐시에서 찾으므로 연속 전송마다 users 를 조회하지 않는다
     public Mono<MessageResponse> sendMessage(UUID roomId, UUID senderId, MessageRequest request) {
-        return chatRoomService.isMember(roomId, senderId)
-                .flatMap(isMember -> {
-                    if (!isMember) {
-                        return Mono.error(new BusinessException("NOT_MEMBER", "You are not a member of this room"));
-                    }
-
-                    Message message = Message.builder()
-                            .roomId(roomId)
-                            .senderId(senderId)
-                            .content(request.getContent())
-                            .messageType(request.getMessageType() != null ? request.getMessageType() : "TEXT")
-                            .createdAt(OffsetDateTime.now())
-                            .updatedAt(OffsetDateTime.now())
-                            .build();
-
-                    return messageRepository.save(message);
-                })
-                .flatMap(this::enrichMessageWithSender)
+        return userProfileCache.find(senderId)
+                .switchIfEmpty(Mono.error(new BusinessException("USER_NOT_FOUND", "User not found")))
+                .flatMap(sender -> messageIngestService.ingest(toSenderInfo(sender),
+                                new MessageIngestService.Draft(roomId, request.getContent(), request.getMessageType()))
+                        .map(saved -> toResponse(saved, sender)))
                 .doOnSuccess(m -> log.debug("Message sent to room {}: {}", roomId, m.getId()));
     }
 
-    public Mono<MessagePageResponse> getMessages(UUID roomId, UUID cursor, Integer limit) {
+    public Mono<MessagePageResponse> getMessages(UUID roomId, String cursor, Integer limit) {
         int pageSize = limit != null ? Math.min(limit, 100) : DEFAULT_PAGE_SIZE;
 
-        Mono<List<Message>> messagesMono;
-        if (cursor != null) {
-            messagesMono = messageRepository.findByRoomIdBeforeCursor(roomId, cursor, pageSize + 1)
-                    .collectList();
-        } else {
-            messagesMono = messageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, pageSize + 1)
-                    .collectList();
+        if (cursor == null) {
+            // 방을 열 때의 첫 페이지는 방별 최근 메시지 캐시에서 응답한다 (캐시 대상이 아닌 방은 DB)
+            return recentMessageCache.latest(roomId, pageSize, fetchSize -> fetchLatest(roomId, fetchSize))
+                    .map(page -> toPageResponse(roomId, page.messages(), page.hasMore()))
+                    .switchIfEmpty(Mono.defer(() -> fetchPage(roomId,
+                            messageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, pageSize + 1).collectList(),
+                            pageSize)))
+                    .cache();
         }
 
+        // 커서 토큰에 담긴 (created_at, id) 로 바로 범위 조회한다
+        Mono<List<Message>> messagesMono = Mono.fromCallable(() -> messageCursorCodec.decode(roomId, cursor))
+                .flatMap(position -> messageRepository.findByRoomIdBeforeKey(
+                                roomId, position.createdAt(), position.id(), pageSize + 1)
+                        .collectList());
+        return fetchPage(roomId, messagesMono, pageSize).cache();
+    }
+
+    private Mono<MessagePageResponse> fetchPage(UUID roomId, Mono<List<Message>> messagesMono, int pageSize) {
         return messagesMono.flatMap(messages -> {
             boolean hasMore = messages.size() > pageSize;
             List<Message> pageMessages = hasMore
@@ -73,14 +79,25 @@ public class MessageService {
             Collections.reverse(pageMessages);
 
             return enrichMessagesWithSenders(pageMessages)
-                    .map(enrichedMessages -> MessagePageResponse.builder()
-                            .messages(enrichedMessages)
-                            .nextCursor(hasMore && !pageMessages.isEmpty()
-                                    ? pageMessages.get(0).getId()
-                                    : null)
-                            .hasMore(hasMore)
-                            .build());
-        }).cache();
+                    .map(enrichedMessages -> toPageResponse(roomId, enrichedMessages, hasMore));
+        });
+    }
+
+    // 최신순 메시지를 발신자 정보와 함께 읽는다 (최근 메시지 캐시 적재용)
+    private Mono<List<MessageResponse>> fetchLatest(UUID roomId, int fetchSize) {
+        return messageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, fetchSize)
+                .collectList()
+                .flatMap(this::enrichMessagesWithSenders);
+    }
+
+    private MessagePageResponse toPageResponse(UUID roomId, List<MessageResponse> messages, boolean hasMore) {
+        return MessagePageResponse.builder()
+                .messages(messages)
+                .nextCursor(hasMore && !messages.isEmpty()
+                        ? messageCursorCodec.encode(roomId, messages.get(0).getCreatedAt(), messages.get(0).getId())
+                        : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     public Mono<Void> deleteMessage(UUID messageId, UUID userId) {
@@ -93,40 +110,52 @@ public class MessageService {
                     message.setDeletedAt(OffsetDateTime.now());
                     return messageRepository.save(message);
                 })
+                .doOnNext(deleted -> {
+                    // 로컬 캐시에서 빼고, 방 세션과 다른 노드(캐시 포함)에 알린다
+                    recentMessageCache.onDeleted(deleted.getRoomId(), deleted.getId());
+                    roomBroadcaster.broadcast(WebSocketMessage.builder()
+                            .type(MessageType.MESSAGE_DELETED)
+                            .roomId(deleted.getRoomId())
+                            .messageId(deleted.getId())
+                            .build());
+                })
                 .then();
     }
 
-    private Mono<MessageResponse> enrichMessageWithSender(Message message) {
-        return userRepository.findById(message.getSenderId())
-                .map(user -> {
-                    MessageResponse response = MessageResponse.from(message);
-                    response.setSender(MessageResponse.SenderInfo.builder()
-                            .id(user.getId())
-                            .displayName(user.getDisplayName())
-                            .avatarUrl(user.getAvatarUrl())
-                            .build());
-                    return response;
-                })
-                .defaultIfEmpty(MessageResponse.from(message));
+    private static MessageResponse toResponse(Message message, UserProfileCache.Profile sender) {
+        MessageResponse response = MessageResponse.from(message);
+        response.setSender(MessageResponse.SenderInfo.builder()
+                .id(sender.id())
+                .displayName(sender.displayName())
+                .avatarUrl(sender.avatarUrl())
+                .build());
+        return response;
+    }
+
+    private static WebSocketMessage.SenderInfo toSenderInfo(UserProfileCache.Profile sender) {
+        return WebSocketMessage.SenderInfo.builder()
+                .id(sender.id())
+                .displayName(sender.displayName())
+                .avatarUrl(sender.avatarUrl())
+                .build();
     }
 
+    // 페이지의 서로 다른 발신자만 모아 한 번에 조회한다 (캐시에 있으면 DB 조회 없음)
     private Mono<List<MessageResponse>> enrichMessagesWithSenders(List<Message> messages) {
         if (messages.isEmpty()) {
             return Mono.just(Collections.emptyList());
         }
 
-        return Mono.zip(
-                messages.stream()
-                        .map(this::enrichMessageWithSender)
-                        .toList(),
-                objects -> {
-                    @SuppressWarnings("unchecked")
-                    List<MessageResponse> result = new java.util.ArrayList<>();
-                    for (Object obj : objects) {
-                        result.add((MessageResponse) obj);
-                    }
-                    return result;
-                }
-        );
+        Set<UUID> senderIds = new HashSet<>();
+        for (Message message : messages) {
+            senderIds.add(message.getSenderId());
+        }
+        return userProfileCache.findAll(senderIds)
+                .map(profiles -> messages.stream()
+                        .map(message -> {
+                            UserProfileCache.Profile sender = profiles.get(message.getSenderId());
+                            return sender != null ? toResponse(message, sender) : MessageResponse.from(message);
+                        })
+                        .toList());
     }
 }
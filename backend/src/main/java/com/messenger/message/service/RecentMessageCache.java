@@ -0,0 +1,433 @@
+package com.messenger.message.service;
+
+import com.messenger.message.dto.MessageResponse;
+import com.messenger.message.dto.RecentMessageCacheProperties;
+import com.messenger.user.event.UserProfileUpdatedEvent;
+import com.messenger.websocket.dto.WebSocketMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 방별 최근 메시지 N 개(발신자 정보 포함)의 로컬 캐시. 방을 열 때의 첫 페이지를 DB 없이 응답한다.
+ * <p>
+ * 이 노드가 방 채널을 구독하는 동안(로컬 세션이 있는 방)만 캐시한다. 그래야 다른 노드에서 저장되거나
+ * 삭제된 메시지도 RedisRoomEventSubscriber 를 통해 빠짐없이 반영된다.
+ * 저장 경로(MessageIngestService)는 새 메시지를 덧붙이고, 삭제는 항목에서 뺀다.
+ * 전체 메모리 예산을 넘으면 가장 오래 조회되지 않은 방부터 버린다.
+ * 방마다 락이 따로 있어 한 방의 갱신(프로필 변경으로 모든 방을 훑는 경우 포함)이 다른 방의 조회를 막지 않는다.
+ */
+@Slf4j
+@Component
+public class RecentMessageCache {
+
+    // 메시지 하나의 고정 부분 (객체 헤더, UUID 2개, 순번, 시각, 발신자 객체) 추정치
+    private static final long MESSAGE_OVERHEAD_BYTES = 256;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    // DB 의 ORDER BY created_at, id 와 같은 순서. PostgreSQL uuid 는 부호 없는 바이트 순으로 비교한다
+    private static final Comparator<MessageResponse> ORDER = Comparator
+            .comparing((MessageResponse m) -> m.getCreatedAt().toInstant())
+            .thenComparing((a, b) -> Long.compareUnsigned(
+                    a.getId().getMostSignificantBits(), b.getId().getMostSignificantBits()))
+            .thenComparing((a, b) -> Long.compareUnsigned(
+                    a.getId().getLeastSignificantBits(), b.getId().getLeastSignificantBits()));
+
+    private final int messagesPerRoom;
+    private final long maxBytes;
+    // 예산을 넘으면 이 값 아래로 내려갈 때까지 버린다 (매 추가마다 전체 방을 훑지 않도록)
+    private final long evictToBytes;
+
+    // 방 채널 구독이 확인된 방. 이 방들만 캐시한다. 방마다 자기 락으로 보호되어 서로 다른 방은 막지 않는다
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicInteger cachedRooms = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    // 방 조회 순서 (LRU 기준)
+    private final AtomicLong accessClock = new AtomicLong();
+
+    // 같은 방의 동시 cold miss 는 DB 조회 하나를 공유한다
+    private final Map<UUID, Mono<Window>> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RecentMessageCache(RecentMessageCacheProperties properties, MeterRegistry meterRegistry) {
+        this.messagesPerRoom = properties.getMessagesPerRoom();
+        this.maxBytes = properties.getMaxMemory().toBytes();
+        this.evictToBytes = maxBytes - maxBytes / 10;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("message.recent.cache.evictions")
+                .description("Rooms dropped to stay within the memory budget")
+                .register(meterRegistry);
+        Gauge.builder("message.recent.cache.hit.ratio", this, RecentMessageCache::hitRatio)
+                .description("Share of first-page history requests answered from memory")
+                .register(meterRegistry);
+        Gauge.builder("message.recent.cache.memory", totalBytes, AtomicLong::get)
+                .description("Estimated heap held by cached messages")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("message.recent.cache.rooms", cachedRooms, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("message.recent.cache.lookups")
+                .description("First-page history requests by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record Page(List<MessageResponse> messages, boolean hasMore) {
+    }
+
+    /**
+     * 방의 최신 페이지(오래된 것이 먼저)를 돌려준다. 캐시 대상이 아니면 비어 있다.
+     *
+     * @param loader 최신순 메시지를 주어진 개수만큼 발신자 정보와 함께 읽는다. 캐시에 없을 때만 호출된다
+     */
+    public Mono<Page> latest(UUID roomId, int pageSize, Function<Integer, Mono<List<MessageResponse>>> loader) {
+        if (pageSize > messagesPerRoom) {
+            return Mono.empty();
+        }
+        Slot slot = slots.get(roomId);
+        if (slot == null) {
+            return Mono.empty();
+        }
+        Page cached = slot.cachedPage(pageSize);
+        if (cached != null) {
+            hits.increment();
+            return Mono.just(cached);
+        }
+        misses.increment();
+        return load(roomId, slot, loader)
+                .map(window -> slot.page(window, pageSize));
+    }
+
+    private Mono<Window> load(UUID roomId, Slot slot, Function<Integer, Mono<List<MessageResponse>>> loader) {
+        return loading.computeIfAbsent(roomId, id -> {
+            PendingLoad pending = new PendingLoad();
+            return Mono.defer(() -> {
+                        // DB 를 읽기 전에 등록해야 그 사이의 추가/삭제를 놓치지 않는다
+                        slot.beginLoad(pending);
+                        return loader.apply(messagesPerRoom + 1);
+                    })
+                    .map(newestFirst -> store(roomId, slot, pending, newestFirst))
+                    .doFinally(signal -> {
+                        loading.remove(id);
+                        slot.endLoad(pending);
+                    })
+                    .cache();
+        });
+    }
+
+    private Window store(UUID roomId, Slot slot, PendingLoad pending, List<MessageResponse> newestFirst) {
+        Window window = new Window();
+        for (int i = Math.min(newestFirst.size(), messagesPerRoom) - 1; i >= 0; i--) {
+            window.add(newestFirst.get(i));
+        }
+        window.hasOlder = newestFirst.size() > messagesPerRoom;
+        slot.install(pending, window);
+        evictOverBudget(roomId);
+        return window;
+    }
+
+    /**
+     * 저장된 CHAT 이벤트를 방 항목에 덧붙인다. 로컬 저장과 다른 노드에서 온 이벤트 모두 여기로 온다.
+     */
+    public void onChat(WebSocketMessage event) {
+        MessageResponse message = toResponse(event);
+        apply(event.getRoomId(), window -> window.add(message));
+    }
+
+    public void onDeleted(UUID roomId, UUID messageId) {
+        apply(roomId, window -> window.remove(messageId));
+    }
+
+    private void apply(UUID roomId, Consumer<Window> operation) {
+        Slot slot = slots.get(roomId);
+        if (slot != null) {
+            slot.apply(operation);
+            evictOverBudget(roomId);
+        }
+    }
+
+    /**
+     * 방 채널 구독이 확인되면 호출된다. 이후 이 방의 첫 페이지를 캐시한다.
+     */
+    public void track(UUID roomId) {
+        slots.computeIfAbsent(roomId, id -> new Slot());
+    }
+
+    /**
+     * 방 채널 구독이 끊기면 호출된다. 다른 노드의 변경을 더 받을 수 없으므로 항목을 버린다.
+     */
+    public void untrack(UUID roomId) {
+        Slot slot = slots.remove(roomId);
+        if (slot != null) {
+            slot.close();
+        }
+    }
+
+    @EventListener
+    public void onProfileUpdated(UserProfileUpdatedEvent event) {
+        MessageResponse.SenderInfo sender = MessageResponse.SenderInfo.builder()
+                .id(event.getUserId())
+                .displayName(event.getDisplayName())
+                .avatarUrl(event.getAvatarUrl())
+                .build();
+        // 방마다 따로 잠그므로 갱신 중에도 다른 방의 조회는 막히지 않는다
+        for (Slot slot : slots.values()) {
+            slot.apply(window -> window.replaceSender(sender));
+        }
+    }
+
+    // 가장 오래 조회되지 않은 방부터 버린다. 한 번에 한 스레드만 정리한다
+    private void evictOverBudget(UUID keep) {
+        if (totalBytes.get() <= maxBytes || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // 정렬 중에 조회 순서가 바뀌지 않도록 먼저 찍어 둔다
+            List<Candidate> candidates = new ArrayList<>(slots.size());
+            slots.forEach((roomId, slot) -> candidates.add(new Candidate(roomId, slot, slot.lastAccess)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+            for (Candidate candidate : candidates) {
+                if (totalBytes.get() <= evictToBytes) {
+                    break;
+                }
+                if (!candidate.roomId().equals(keep)) {
+                    evict(candidate.roomId(), candidate.slot());
+                }
+            }
+            // 방 하나가 예산보다 크면 그 방도 두지 않는다
+            Slot kept = slots.get(keep);
+            if (totalBytes.get() > maxBytes && kept != null) {
+                evict(keep, kept);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void evict(UUID roomId, Slot slot) {
+        if (slot.evict()) {
+            evictions.increment();
+            log.debug("Evicted recent messages of room {}", roomId);
+        }
+    }
+
+    private static MessageResponse toResponse(WebSocketMessage event) {
+        WebSocketMessage.SenderInfo sender = event.getSender();
+        return MessageResponse.builder()
+                .id(event.getMessageId())
+                .roomId(event.getRoomId())
+                .seq(event.getSeq())
+                .content(event.getContent())
+                .messageType(event.getMessageType() != null ? event.getMessageType() : "TEXT")
+                .createdAt(event.getCreatedAt())
+                .sender(sender == null ? null : MessageResponse.SenderInfo.builder()
+                        .id(sender.getId())
+                        .displayName(sender.getDisplayName())
+                        .avatarUrl(sender.getAvatarUrl())
+                        .build())
+                .build();
+    }
+
+    static long estimateBytes(MessageResponse message) {
+        long bytes = MESSAGE_OVERHEAD_BYTES + stringBytes(message.getContent()) + stringBytes(message.getMessageType());
+        MessageResponse.SenderInfo sender = message.getSender();
+        if (sender != null) {
+            bytes += stringBytes(sender.getDisplayName()) + stringBytes(sender.getAvatarUrl());
+        }
+        return bytes;
+    }
+
+    // UTF-16 기준 상한 (compact string 이면 실제로는 더 작다)
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record Candidate(UUID roomId, Slot slot, long lastAccess) {
+    }
+
+    private static final class PendingLoad {
+        private final List<Consumer<Window>> operations = new ArrayList<>();
+    }
+
+    /**
+     * 구독 중인 방 하나의 캐시 상태. 창과 진행 중인 적재는 이 객체의 락 안에서만 읽고 쓴다.
+     */
+    private final class Slot {
+
+        private Window window;
+        // DB 에서 읽는 중이면 그동안 들어온 추가/삭제를 모았다가 읽은 결과에 다시 적용한다
+        private PendingLoad pending;
+        private boolean closed;
+        private volatile long lastAccess = accessClock.incrementAndGet();
+
+        synchronized Page cachedPage(int pageSize) {
+            lastAccess = accessClock.incrementAndGet();
+            if (window == null) {
+                return null;
+            }
+            if (window.covers(pageSize)) {
+                return window.page(pageSize);
+            }
+            // 삭제로 페이지를 채우지 못하게 된 항목은 다시 읽는다
+            replaceWindow(null);
+            return null;
+        }
+
+        synchronized Page page(Window loaded, int pageSize) {
+            return loaded.page(pageSize);
+        }
+
+        synchronized void beginLoad(PendingLoad load) {
+            pending = load;
+        }
+
+        synchronized void endLoad(PendingLoad load) {
+            if (pending == load) {
+                pending = null;
+            }
+        }
+
+        synchronized void install(PendingLoad load, Window loaded) {
+            load.operations.forEach(operation -> operation.accept(loaded));
+            // 읽는 동안 구독이 끊겼으면 캐시에 넣지 않고 이번 응답에만 쓴다
+            if (!closed && pending == load) {
+                replaceWindow(loaded);
+            }
+        }
+
+        synchronized void apply(Consumer<Window> operation) {
+            if (pending != null) {
+                pending.operations.add(operation);
+            }
+            if (window == null) {
+                return;
+            }
+            // 메시지가 오가는 방도 최근에 쓰인 방으로 친다
+            lastAccess = accessClock.incrementAndGet();
+            long before = window.bytes;
+            operation.accept(window);
+            totalBytes.addAndGet(window.bytes - before);
+        }
+
+        synchronized boolean evict() {
+            if (window == null) {
+                return false;
+            }
+            replaceWindow(null);
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+            pending = null;
+            replaceWindow(null);
+        }
+
+        private void replaceWindow(Window next) {
+            if (window != null) {
+                totalBytes.addAndGet(-window.bytes);
+                cachedRooms.decrementAndGet();
+            }
+            window = next;
+            if (next != null) {
+                totalBytes.addAndGet(next.bytes);
+                cachedRooms.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 한 방의 최근 메시지. (created_at, id) 오름차순이며 최대 messagesPerRoom 개를 둔다.
+     * 목록의 MessageResponse 는 Page 로 밖에 나간 뒤에도 쓰이므로 고치지 않고 새 객체로 바꿔 넣는다.
+     */
+    private final class Window {
+
+        private final List<MessageResponse> messages = new ArrayList<>();
+        // 이 창보다 오래된 메시지가 DB 에 있는지
+        private boolean hasOlder;
+        private long bytes;
+
+        boolean covers(int pageSize) {
+            return messages.size() >= pageSize || !hasOlder;
+        }
+
+        Page page(int pageSize) {
+            int from = Math.max(0, messages.size() - pageSize);
+            return new Page(List.copyOf(messages.subList(from, messages.size())),
+                    from > 0 || hasOlder);
+        }
+
+        void add(MessageResponse message) {
+            // 로컬 저장과 DB 조회, 다른 노드 이벤트가 겹칠 수 있다
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                if (messages.get(i).getId().equals(message.getId())) {
+                    return;
+                }
+            }
+            // 대부분 맨 뒤에 붙는다
+            int index = messages.size();
+            while (index > 0 && ORDER.compare(messages.get(index - 1), message) > 0) {
+                index--;
+            }
+            if (index == 0 && hasOlder) {
+                // 창보다 오래된 메시지는 DB 에 있는 메시지와의 순서를 알 수 없으므로 두지 않는다
+                return;
+            }
+            messages.add(index, message);
+            bytes += estimateBytes(message);
+            if (messages.size() > messagesPerRoom) {
+                bytes -= estimateBytes(messages.remove(0));
+                hasOlder = true;
+            }
+        }
+
+        void remove(UUID messageId) {
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                if (messages.get(i).getId().equals(messageId)) {
+                    bytes -= estimateBytes(messages.remove(i));
+                    return;
+                }
+            }
+        }
+
+        void replaceSender(MessageResponse.SenderInfo sender) {
+            for (int i = 0; i < messages.size(); i++) {
+                MessageResponse message = messages.get(i);
+                if (message.getSender() != null && sender.getId().equals(message.getSender().getId())) {
+                    MessageResponse updated = message.toBuilder().sender(sender).build();
+                    bytes += estimateBytes(updated) - estimateBytes(message);
+                    messages.set(i, updated);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.messenger.user.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.user.profile-cache")
+public class UserProfileCacheProperties {
+
+    private int maxEntries = 10_000; // 캐시에 보관할 최대 사용자 수 (LRU)
+}
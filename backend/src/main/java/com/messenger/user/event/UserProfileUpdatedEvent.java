@@ -0,0 +1,23 @@
+package com.messenger.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * 표시 이름 또는 아바타가 바뀌었을 때 발행된다.
+ * 세션에 캐시된 사용자 프로필을 갱신하는 데 사용한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileUpdatedEvent {
+
+    private UUID userId;
+    private String displayName;
+    private String avatarUrl;
+}
@@ -0,0 +1,143 @@
+package com.messenger.user.service;
+
+import com.messenger.user.dto.UserProfileCacheProperties;
+import com.messenger.user.entity.User;
+import com.messenger.user.event.UserProfileUpdatedEvent;
+import com.messenger.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메시지 발신자 표시용 사용자 프로필(이름, 아바타)의 로컬 LRU 캐시.
+ * 캐시에 없는 사용자는 한 번의 WHERE id IN (...) 조회로 모아 읽는다.
+ * 프로필 변경 이벤트가 오면 항목을 버리고, 다른 노드의 변경은 UserProfileRelay 가 전달한다.
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+
+    // 접근 순서 LinkedHashMap. 상한을 넘으면 가장 오래 안 쓰인 항목을 버린다
+    private final Map<UUID, Profile> profiles;
+    // 무효화 횟수. 조회 중에 무효화가 있었으면 읽은 프로필을 캐시에 넣지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserProfileCache(UserRepository userRepository, UserProfileCacheProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        int maxEntries = properties.getMaxEntries();
+        this.profiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Profile> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("user.profile.cache.size", this, UserProfileCache::size)
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.profile.cache.lookups")
+                .description("Sender profile lookups by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record Profile(UUID id, String displayName, String avatarUrl) {
+
+        public static Profile from(User user) {
+            return new Profile(user.getId(), user.getDisplayName(), user.getAvatarUrl());
+        }
+    }
+
+    /**
+     * 주어진 사용자들의 프로필을 찾는다. 없는 사용자는 결과 맵에 포함되지 않는다.
+     */
+    public Mono<Map<UUID, Profile>> findAll(Collection<UUID> userIds) {
+        Map<UUID, Profile> found = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        synchronized (profiles) {
+            for (UUID userId : new LinkedHashSet<>(userIds)) {
+                Profile profile = profiles.get(userId);
+                if (profile != null) {
+                    found.put(userId, profile);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        hits.increment(found.size());
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+        misses.increment(missing.size());
+
+        long epoch = invalidations.get();
+        return userRepository.findAllById(missing)
+                .map(Profile::from)
+                .collectList()
+                .map(loaded -> {
+                    store(loaded, epoch);
+                    loaded.forEach(profile -> found.put(profile.id(), profile));
+                    return found;
+                });
+    }
+
+    /**
+     * 한 사용자의 프로필. 없는 사용자면 비어 있다.
+     */
+    public Mono<Profile> find(UUID userId) {
+        return findAll(List.of(userId))
+                .flatMap(found -> Mono.justOrEmpty(found.get(userId)));
+    }
+
+    private void store(List<Profile> loaded, long epoch) {
+        synchronized (profiles) {
+            // 확인과 저장을 같은 락 안에서 해 사이에 들어온 무효화를 놓치지 않는다
+            if (invalidations.get() != epoch) {
+                return;
+            }
+            loaded.forEach(profile -> profiles.put(profile.id(), profile));
+        }
+    }
+
+    @EventListener
+    public void onProfileUpdated(UserProfileUpdatedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public void invalidate(UUID userId) {
+        synchronized (profiles) {
+            invalidations.incrementAndGet();
+            profiles.remove(userId);
+        }
+        log.debug("Invalidated profile cache of user {}", userId);
+    }
+
+    private int size() {
+        synchronized (profiles) {
+            return profiles.size();
+        }
+    }
+}
@@ -4,9 +4,11 @@ import com.messenger.common.exception.BusinessException;
 import com.messenger.user.dto.UserRequest;
 import com.messenger.user.dto.UserResponse;
 import com.messenger.user.entity.User;
+import com.messenger.user.event.UserProfileUpdatedEvent;
 import com.messenger.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,6 +22,7 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Mono<UserResponse> createUser(UserRequest request) {
         return userRepository.existsByUsername(request.getUsername())
@@ -69,6 +72,11 @@ public class UserService {
                     user.setUpdatedAt(OffsetDateTime.now());
                     return userRepository.save(user);
                 })
+                .doOnNext(saved -> eventPublisher.publishEvent(UserProfileUpdatedEvent.builder()
+                        .userId(saved.getId())
+                        .displayName(saved.getDisplayName())
+                        .avatarUrl(saved.getAvatarUrl())
+                        .build()))
                 .map(UserResponse::from);
     }
 
@@ -1,101 +1,134 @@
 package com.messenger.websocket;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.messenger.auth.service.JwtService;
+import com.messenger.chatroom.entity.ChatRoom;
+import com.messenger.chatroom.repository.ChatRoomRepository;
+import com.messenger.chatroom.service.RoomMembershipCache;
+import com.messenger.common.exception.BusinessException;
 import com.messenger.message.entity.Message;
-import com.messenger.message.repository.MessageRepository;
-import com.messenger.user.entity.User;
-import com.messenger.user.repository.UserRepository;
+import com.messenger.message.service.MessageIngestService;
+import com.messenger.websocket.auth.WebSocketAuthentication;
+import com.messenger.websocket.broadcast.FrameEncoder;
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.codec.FrameCodec;
+import com.messenger.websocket.codec.FrameCodecs;
 import com.messenger.websocket.dto.MessageType;
-import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.inbound.InboundFrameDispatcher;
+import com.messenger.websocket.relay.RedisRoomEventSubscriber;
+import com.messenger.websocket.replay.RoomReplayBuffers;
+import com.messenger.websocket.replay.RoomReplayService;
+import com.messenger.websocket.session.ChatSession;
+import com.messenger.websocket.session.EventLoopLagMonitor;
+import com.messenger.websocket.session.OutboundMetrics;
+import com.messenger.websocket.session.RoomSessionRegistry;
+import com.messenger.websocket.session.SessionHeartbeat;
+import com.messenger.websocket.typing.TypingAggregator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
 import org.springframework.web.reactive.socket.WebSocketHandler;
 import org.springframework.web.reactive.socket.WebSocketSession;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.Map;
-import java.util.Set;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ChatWebSocketHandler implements WebSocketHandler {
 
-    private final ObjectMapper objectMapper;
-    private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
+    private final MessageIngestService messageIngestService;
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final JwtService jwtService;
-
-    // 세션 관리
-    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
-    private final Map<String, UUID> sessionUserMap = new ConcurrentHashMap<>();
-    private final Map<UUID, Set<String>> roomSessionsMap = new ConcurrentHashMap<>();
-
-    // 메시지 브로드캐스트용 Sink
-    private final Sinks.Many<com.messenger.websocket.dto.WebSocketMessage> messageSink =
-            Sinks.many().multicast().onBackpressureBuffer();
+    private final ChatRoomRepository chatRoomRepository;
+    private final RoomMembershipCache roomMembershipCache;
+    private final RoomSessionRegistry roomSessionRegistry;
+    private final RoomBroadcaster roomBroadcaster;
+    private final RedisRoomEventSubscriber redisRoomEventSubscriber;
+    private final WebSocketProperties webSocketProperties;
+    private final OutboundMetrics outboundMetrics;
+    private final EventLoopLagMonitor eventLoopLagMonitor;
+    private final FrameEncoder frameEncoder;
+    private final RoomReplayBuffers roomReplayBuffers;
+    private final RoomReplayService roomReplayService;
+    private final SessionHeartbeat sessionHeartbeat;
+    private final InboundFrameDispatcher inboundFrameDispatcher;
+    private final TypingAggregator typingAggregator;
+    private final FrameCodecs frameCodecs;
+
+    // Sec-WebSocket-Protocol 협상 대상. 요청하지 않은 클라이언트는 JSON
+    @Override
+    public List<String> getSubProtocols() {
+        return frameCodecs.subProtocols();
+    }
 
     @Override
     public Mono<Void> handle(WebSocketSession session) {
         String sessionId = session.getId();
-        sessions.put(sessionId, session);
         log.info("WebSocket connected: {}", sessionId);
 
-        // URL 쿼리에서 JWT 토큰 추출 및 검증
-        String query = session.getHandshakeInfo().getUri().getQuery();
-        String token = extractToken(query);
-        UUID userId = null;
-
-        if (token != null && jwtService.validateToken(token)) {
-            userId = jwtService.extractUserId(token);
-            log.info("WebSocket authenticated user: {}", userId);
-        } else {
-            // 후방 호환성: userId 파라미터도 지원 (개발 중에만)
-            userId = extractUserId(query);
-            if (userId != null) {
-                log.warn("WebSocket using legacy userId parameter - please migrate to JWT token");
-            }
+        // JWT 는 핸드셰이크에서 이미 검증됐다 (JwtHandshakeWebSocketService)
+        WebSocketAuthentication authentication =
+                (WebSocketAuthentication) session.getAttributes().get(WebSocketAuthentication.ATTRIBUTE);
+        if (authentication == null) {
+            log.warn("WebSocket session {} has no handshake authentication", sessionId);
+            return session.close(CloseStatus.POLICY_VIOLATION);
         }
+        log.info("WebSocket authenticated user: {}", authentication.sender().getId());
+        return openSession(session, authentication);
+    }
 
-        if (userId != null) {
-            sessionUserMap.put(sessionId, userId);
-        } else {
-            log.warn("WebSocket connection without valid authentication: {}", sessionId);
+    private Mono<Void> openSession(WebSocketSession session, WebSocketAuthentication authentication) {
+        String sessionId = session.getId();
+        FrameCodec codec = frameCodecs.forSubProtocol(session.getHandshakeInfo().getSubProtocol());
+        org.springframework.web.reactive.socket.WebSocketMessage.Type frameType = codec.isBinary()
+                ? org.springframework.web.reactive.socket.WebSocketMessage.Type.BINARY
+                : org.springframework.web.reactive.socket.WebSocketMessage.Type.TEXT;
+        ChatSession chatSession = new ChatSession(session, authentication.sender(), webSocketProperties.getOutbound(),
+                outboundMetrics, eventLoopLagMonitor::lagNanos);
+        chatSession.renewAuthentication(authentication.expiresAt());
+        if (isBatchingRequested(session.getHandshakeInfo().getUri().getQuery())) {
+            chatSession.enableBatching();
         }
+        roomSessionRegistry.register(chatSession);
+        sessionHeartbeat.register(chatSession, () -> release(chatSession));
 
-        Flux<org.springframework.web.reactive.socket.WebSocketMessage> outbound = messageSink.asFlux()
-                .filter(msg -> shouldReceiveMessage(sessionId, msg))
-                .map(msg -> {
-                    try {
-                        return session.textMessage(objectMapper.writeValueAsString(msg));
-                    } catch (JsonProcessingException e) {
-                        log.error("Failed to serialize message", e);
-                        return session.textMessage("{}");
-                    }
-                });
+        // 세션은 JOIN 한 방의 이벤트만 자신의 송신 대기열로 전달받고, ping 은 대기열을 거치지 않는다
+        Flux<org.springframework.web.reactive.socket.WebSocketMessage> outbound = Flux.merge(
+                chatSession.outbound()
+                        .map(frame -> new org.springframework.web.reactive.socket.WebSocketMessage(
+                                frameType, frame.toDataBuffer(codec, session.bufferFactory()))),
+                chatSession.control());
 
         Mono<Void> output = session.send(outbound);
 
         Mono<Void> input = session.receive()
-                .map(org.springframework.web.reactive.socket.WebSocketMessage::getPayloadAsText)
-                .flatMap(payload -> handleMessage(sessionId, payload))
+                .doOnNext(frame -> chatSession.markSeen())
+                .filter(frame -> {
+                    if (frame.getType() == org.springframework.web.reactive.socket.WebSocketMessage.Type.PONG) {
+                        sessionHeartbeat.onPong(chatSession, frame);
+                        return false;
+                    }
+                    return frame.getType() == frameType;
+                })
+                .flatMap(frame -> handleMessage(chatSession, codec, frame),
+                        webSocketProperties.getInbound().getMaxInFlightPerSession())
                 .doOnError(e -> log.error("WebSocket error: {}", e.getMessage()))
                 .doFinally(signal -> {
-                    sessions.remove(sessionId);
-                    UUID removedUserId = sessionUserMap.remove(sessionId);
-                    if (removedUserId != null) {
-                        roomSessionsMap.values().forEach(set -> set.remove(sessionId));
-                    }
+                    release(chatSession);
                     log.info("WebSocket disconnected: {}", sessionId);
                 })
                 .then();
@@ -103,114 +136,223 @@ public class ChatWebSocketHandler implements WebSocketHandler {
         return Mono.when(input, output);
     }
 
-    private Mono<Void> handleMessage(String sessionId, String payload) {
-        log.info("Received message from session {}: {}", sessionId, payload);
+    // 연결 종료와 heartbeat reaper 양쪽에서 호출된다 (중복 호출 무해)
+    private void release(ChatSession chatSession) {
+        sessionHeartbeat.unregister(chatSession);
+        roomSessionRegistry.removeSession(chatSession)
+                .forEach(this::onRoomLeft);
+        chatSession.close();
+    }
+
+    private Mono<Void> handleMessage(ChatSession chatSession, FrameCodec codec,
+                                     org.springframework.web.reactive.socket.WebSocketMessage frame) {
         try {
-            com.messenger.websocket.dto.WebSocketMessage message =
-                    objectMapper.readValue(payload, com.messenger.websocket.dto.WebSocketMessage.class);
+            // 프레임 버퍼는 이 호출 안에서만 유효하므로 먼저 동기적으로 디코딩한다
+            com.messenger.websocket.dto.WebSocketMessage message = codec.decode(frame.getPayload());
 
             log.info("Parsed message type: {}, roomId: {}", message.getType(), message.getRoomId());
 
-            return switch (message.getType()) {
-                case CHAT -> handleChatMessage(sessionId, message);
-                case JOIN -> handleJoinRoom(sessionId, message);
-                case LEAVE -> handleLeaveRoom(sessionId, message);
-                case TYPING -> handleTyping(sessionId, message);
-                default -> {
-                    log.warn("Unknown message type: {}", message.getType());
-                    yield Mono.empty();
-                }
-            };
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse message: {} - payload: {}", e.getMessage(), payload);
+            // 같은 (방, 발신자)의 프레임은 순서대로, 다른 방은 병렬로 처리한다
+            Object senderKey = chatSession.getUserId() != null ? chatSession.getUserId() : chatSession.getId();
+            UUID roomId = message.getType() == MessageType.BATCH ? batchRoomId(message) : message.getRoomId();
+            return inboundFrameDispatcher.dispatch(roomId, senderKey, () -> route(chatSession, message))
+                    .onErrorResume(e -> {
+                        log.error("Failed to handle {} from session {}: {}",
+                                message.getType(), chatSession.getId(), e.getMessage());
+                        return Mono.empty();
+                    });
+        } catch (IOException e) {
+            log.error("Failed to parse {} frame from session {}: {}", codec.subProtocol(), chatSession.getId(), e.getMessage());
             return Mono.empty();
         }
     }
 
-    private Mono<Void> handleChatMessage(String sessionId, com.messenger.websocket.dto.WebSocketMessage message) {
-        UUID userId = sessionUserMap.get(sessionId);
+    private Mono<Void> route(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
+        return switch (message.getType()) {
+            case CHAT -> handleChatMessage(chatSession, message);
+            case JOIN -> handleJoinRoom(chatSession, message);
+            case LEAVE -> handleLeaveRoom(chatSession, message);
+            case TYPING -> handleTyping(chatSession, message);
+            case BATCH -> handleBatch(chatSession, message);
+            case AUTH_REFRESH -> handleAuthRefresh(chatSession, message);
+            case SUBSCRIBE -> handleSubscribe(chatSession, message);
+            default -> {
+                log.warn("Unknown message type: {}", message.getType());
+                yield Mono.empty();
+            }
+        };
+    }
+
+    private Mono<Void> handleChatMessage(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
+        UUID userId = chatSession.getUserId();
         log.info("handleChatMessage - sessionId: {}, userId: {}, roomId: {}, content: {}",
-                sessionId, userId, message.getRoomId(), message.getContent());
+                chatSession.getId(), userId, message.getRoomId(), message.getContent());
 
         if (userId == null || message.getRoomId() == null) {
             log.warn("handleChatMessage - userId or roomId is null");
             return Mono.empty();
         }
 
-        return userRepository.findById(userId)
-                .switchIfEmpty(Mono.defer(() -> {
-                    log.warn("User not found: {}", userId);
+        // REST 전송과 같은 수신 경로. 배치가 커밋되면 발신자 ACK 가 먼저, 이어서 방 브로드캐스트가 나간다
+        MessageIngestService.Draft draft = new MessageIngestService.Draft(message.getRoomId(), message.getContent(), null);
+        return messageIngestService.ingest(chatSession.getSender(), draft,
+                        saved -> reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                                .type(MessageType.ACK)
+                                .roomId(saved.getRoomId())
+                                .messageId(saved.getId())
+                                .seq(saved.getRoomSeq())
+                                .clientMessageId(message.getClientMessageId())
+                                .createdAt(saved.getCreatedAt())
+                                .build()))
+                .doOnNext(saved -> log.info("Message saved: {}", saved.getId()))
+                .onErrorResume(e -> {
+                    log.error("Failed to save message: {}", e.getMessage());
+                    reply(chatSession, ingestError(e, message.getRoomId(), message.getClientMessageId(),
+                            "Failed to save message"));
                     return Mono.empty();
-                }))
-                .flatMap(user -> {
-                    log.info("Found user: {}", user.getDisplayName());
-                    Message dbMessage = Message.builder()
-                            .roomId(message.getRoomId())
-                            .senderId(userId)
-                            .content(message.getContent())
-                            .messageType("TEXT")
-                            .createdAt(OffsetDateTime.now())
-                            .updatedAt(OffsetDateTime.now())
-                            .build();
-
-                    return messageRepository.save(dbMessage)
-                            .doOnSuccess(saved -> log.info("Message saved: {}", saved.getId()))
-                            .doOnError(e -> log.error("Failed to save message: {}", e.getMessage()))
-                            .map(saved -> buildChatResponse(saved, user));
-                })
-                .doOnNext(response -> {
-                    log.info("Broadcasting message to room: {}", response.getRoomId());
-                    Sinks.EmitResult result = messageSink.tryEmitNext(response);
-                    log.info("Emit result: {}", result);
                 })
                 .then();
     }
 
-    private Mono<Void> handleJoinRoom(String sessionId, com.messenger.websocket.dto.WebSocketMessage message) {
+    /**
+     * 여러 작업을 담은 BATCH 프레임.
+     * CHAT 은 MessageIngestService.ingestAll 로 한 번에 저장한 뒤(방별 순번 구간 예약, multi-row INSERT 한 번),
+     * 할당된 messageId 목록을 담은 ACK 하나로 응답하고 방에 브로드캐스트한다.
+     * 이후 나머지 작업(JOIN/LEAVE/TYPING)을 원래 순서대로 단일 프레임과 같이 처리한다.
+     * 저장에 실패하면 배치 전체를 적용하지 않는다.
+     */
+    private Mono<Void> handleBatch(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage batch) {
+        List<com.messenger.websocket.dto.WebSocketMessage> operations =
+                batch.getMessages() != null ? batch.getMessages() : List.of();
+        int maxOperations = webSocketProperties.getInbound().getMaxBatchOperations();
+        if (operations.size() > maxOperations) {
+            reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                    .type(MessageType.ERROR)
+                    .clientMessageId(batch.getClientMessageId())
+                    .errorCode("BATCH_TOO_LARGE")
+                    .errorMessage("A batch may contain at most " + maxOperations + " operations")
+                    .build());
+            return Mono.empty();
+        }
+
+        UUID userId = chatSession.getUserId();
+        Predicate<com.messenger.websocket.dto.WebSocketMessage> persistable =
+                op -> op.getType() == MessageType.CHAT && userId != null && op.getRoomId() != null;
+        List<com.messenger.websocket.dto.WebSocketMessage> chats = operations.stream().filter(persistable).toList();
+        List<MessageIngestService.Draft> drafts = chats.stream()
+                .map(chat -> new MessageIngestService.Draft(chat.getRoomId(), chat.getContent(), null))
+                .toList();
+
+        return messageIngestService.ingestAll(chatSession.getSender(), drafts, saved -> {
+                    List<com.messenger.websocket.dto.WebSocketMessage> acks = new ArrayList<>(saved.size());
+                    for (int i = 0; i < saved.size(); i++) {
+                        Message message = saved.get(i);
+                        acks.add(com.messenger.websocket.dto.WebSocketMessage.builder()
+                                .roomId(message.getRoomId())
+                                .messageId(message.getId())
+                                .seq(message.getRoomSeq())
+                                .clientMessageId(chats.get(i).getClientMessageId())
+                                .build());
+                    }
+                    reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                            .type(MessageType.ACK)
+                            .clientMessageId(batch.getClientMessageId())
+                            .messages(acks)
+                            .createdAt(saved.isEmpty() ? null : saved.get(0).getCreatedAt())
+                            .build());
+                })
+                .flatMap(saved -> Flux.fromIterable(operations)
+                        .filter(persistable.negate())
+                        .concatMap(op -> {
+                            if (op.getType() == MessageType.CHAT || op.getType() == MessageType.BATCH) {
+                                log.warn("Skipping {} operation in batch from session {}", op.getType(), chatSession.getId());
+                                return Mono.empty();
+                            }
+                            return route(chatSession, op);
+                        })
+                        .then())
+                .onErrorResume(e -> {
+                    log.error("Failed to save batch of {} messages: {}", chats.size(), e.getMessage());
+                    reply(chatSession, ingestError(e, null, batch.getClientMessageId(), "Failed to save batch"));
+                    return Mono.empty();
+                });
+    }
+
+    // 멤버가 아닌 방이면 NOT_MEMBER, 그 밖의 저장 실패는 MESSAGE_NOT_SAVED
+    private com.messenger.websocket.dto.WebSocketMessage ingestError(Throwable e, UUID roomId, String clientMessageId,
+                                                                    String fallbackMessage) {
+        boolean rejected = e instanceof BusinessException;
+        return com.messenger.websocket.dto.WebSocketMessage.builder()
+                .type(MessageType.ERROR)
+                .roomId(roomId)
+                .clientMessageId(clientMessageId)
+                .errorCode(rejected ? ((BusinessException) e).getCode() : "MESSAGE_NOT_SAVED")
+                .errorMessage(rejected ? e.getMessage() : fallbackMessage)
+                .build();
+    }
+
+    // 모든 작업이 한 방을 가리키면 그 방의 순서 보장 메일박스로, 아니면 발신자 단위로 처리한다
+    private UUID batchRoomId(com.messenger.websocket.dto.WebSocketMessage batch) {
+        if (batch.getMessages() == null || batch.getMessages().isEmpty()) {
+            return batch.getRoomId();
+        }
+        UUID roomId = batch.getMessages().get(0).getRoomId();
+        for (com.messenger.websocket.dto.WebSocketMessage op : batch.getMessages()) {
+            if (!Objects.equals(roomId, op.getRoomId())) {
+                return null;
+            }
+        }
+        return roomId;
+    }
+
+    private Mono<Void> handleJoinRoom(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
         UUID roomId = message.getRoomId();
-        log.info("handleJoinRoom - sessionId: {}, roomId: {}", sessionId, roomId);
+        log.info("handleJoinRoom - sessionId: {}, roomId: {}", chatSession.getId(), roomId);
 
-        if (roomId == null) {
-            log.warn("handleJoinRoom - roomId is null");
+        UUID userId = chatSession.getUserId();
+        if (roomId == null || userId == null) {
+            log.warn("handleJoinRoom - userId or roomId is null");
             return Mono.empty();
         }
 
-        roomSessionsMap.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
-        log.info("Session {} joined room {}. Room now has {} sessions",
-                sessionId, roomId, roomSessionsMap.get(roomId).size());
-
-        UUID userId = sessionUserMap.get(sessionId);
-        if (userId != null) {
-            return userRepository.findById(userId)
-                    .doOnNext(user -> {
-                        com.messenger.websocket.dto.WebSocketMessage response =
-                                com.messenger.websocket.dto.WebSocketMessage.builder()
-                                        .type(MessageType.USER_JOINED)
-                                        .roomId(roomId)
-                                        .sender(com.messenger.websocket.dto.WebSocketMessage.SenderInfo.builder()
-                                                .id(user.getId())
-                                                .displayName(user.getDisplayName())
-                                                .build())
-                                        .createdAt(OffsetDateTime.now())
-                                        .build();
-                        messageSink.tryEmitNext(response);
-                    })
-                    .then();
-        }
-        return Mono.empty();
+        return roomMembershipCache.isMember(roomId, userId)
+                .flatMap(member -> {
+                    if (!member) {
+                        log.warn("Session {} tried to join room {} without membership", chatSession.getId(), roomId);
+                        reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                                .type(MessageType.ERROR)
+                                .roomId(roomId)
+                                .errorCode("NOT_MEMBER")
+                                .errorMessage("You are not a member of this room")
+                                .build());
+                        return Mono.empty();
+                    }
+
+                    onRoomsJoined(chatSession, roomSessionRegistry.joinAll(List.of(roomId), chatSession));
+
+                    // 재연결: 마지막으로 받은 순번 이후의 메시지만 재전송
+                    if (message.getLastSeq() == null) {
+                        return Mono.empty();
+                    }
+                    return roomReplayService.replay(chatSession, roomId, message.getLastSeq())
+                            .onErrorResume(e -> {
+                                log.error("Failed to replay room {} after seq {}: {}",
+                                        roomId, message.getLastSeq(), e.getMessage());
+                                return Mono.empty();
+                            });
+                });
     }
 
-    private Mono<Void> handleLeaveRoom(String sessionId, com.messenger.websocket.dto.WebSocketMessage message) {
+    private Mono<Void> handleLeaveRoom(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
         UUID roomId = message.getRoomId();
         if (roomId == null) return Mono.empty();
 
-        Set<String> roomSessions = roomSessionsMap.get(roomId);
-        if (roomSessions != null) {
-            roomSessions.remove(sessionId);
-        }
+        boolean lastUserSession = roomSessionRegistry.leave(roomId, chatSession);
+        onRoomLeft(roomId);
 
-        UUID userId = sessionUserMap.get(sessionId);
-        if (userId != null) {
+        // 같은 사용자의 다른 세션이 방에 남아 있으면 퇴장으로 알리지 않는다
+        UUID userId = chatSession.getUserId();
+        if (lastUserSession && userId != null) {
             com.messenger.websocket.dto.WebSocketMessage response =
                     com.messenger.websocket.dto.WebSocketMessage.builder()
                             .type(MessageType.USER_LEFT)
@@ -220,84 +362,142 @@ public class ChatWebSocketHandler implements WebSocketHandler {
                                     .build())
                             .createdAt(OffsetDateTime.now())
                             .build();
-            messageSink.tryEmitNext(response);
+            roomBroadcaster.broadcast(response);
         }
         return Mono.empty();
     }
 
-    private Mono<Void> handleTyping(String sessionId, com.messenger.websocket.dto.WebSocketMessage message) {
-        UUID roomId = message.getRoomId();
-        UUID userId = sessionUserMap.get(sessionId);
-        if (roomId == null || userId == null) return Mono.empty();
-
-        return userRepository.findById(userId)
-                .doOnNext(user -> {
-                    com.messenger.websocket.dto.WebSocketMessage response =
-                            com.messenger.websocket.dto.WebSocketMessage.builder()
-                                    .type(MessageType.TYPING)
-                                    .roomId(roomId)
-                                    .sender(com.messenger.websocket.dto.WebSocketMessage.SenderInfo.builder()
-                                            .id(user.getId())
-                                            .displayName(user.getDisplayName())
-                                            .build())
-                                    .isTyping(message.getIsTyping())
-                                    .createdAt(OffsetDateTime.now())
-                                    .build();
-                    messageSink.tryEmitNext(response);
+    /**
+     * 여러 방에 한 번에 JOIN 한다. roomIds 가 비어 있으면 사용자가 속한 모든 방을 한 번 조회해 구독한다.
+     * 목록으로 받은 방은 멤버십 캐시로 확인해 멤버인 방만 남긴다.
+     * 세션 등록은 한 번에 처리하고, 구독한 방 목록을 ACK 하나로 돌려준다.
+     */
+    private Mono<Void> handleSubscribe(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
+        UUID userId = chatSession.getUserId();
+        if (userId == null) return Mono.empty();
+
+        Mono<List<UUID>> roomIds = message.getRoomIds() != null && !message.getRoomIds().isEmpty()
+                ? Flux.fromIterable(message.getRoomIds().stream().filter(Objects::nonNull).distinct().toList())
+                        .filterWhen(roomId -> roomMembershipCache.isMember(roomId, userId))
+                        .collectList()
+                : chatRoomRepository.findAllByUserId(userId).map(ChatRoom::getId).collectList();
+
+        return roomIds
+                .doOnNext(ids -> {
+                    onRoomsJoined(chatSession, roomSessionRegistry.joinAll(ids, chatSession));
+                    log.info("Session {} subscribed to {} rooms", chatSession.getId(), ids.size());
+                    reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                            .type(MessageType.ACK)
+                            .clientMessageId(message.getClientMessageId())
+                            .roomIds(ids)
+                            .build());
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to subscribe session {}: {}", chatSession.getId(), e.getMessage());
+                    reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                            .type(MessageType.ERROR)
+                            .clientMessageId(message.getClientMessageId())
+                            .errorCode("SUBSCRIBE_FAILED")
+                            .errorMessage("Failed to subscribe to rooms")
+                            .build());
+                    return Mono.empty();
                 })
                 .then();
     }
 
-    private com.messenger.websocket.dto.WebSocketMessage buildChatResponse(Message message, User user) {
-        return com.messenger.websocket.dto.WebSocketMessage.builder()
-                .type(MessageType.CHAT)
-                .roomId(message.getRoomId())
-                .messageId(message.getId())
-                .content(message.getContent())
-                .sender(com.messenger.websocket.dto.WebSocketMessage.SenderInfo.builder()
-                        .id(user.getId())
-                        .displayName(user.getDisplayName())
-                        .avatarUrl(user.getAvatarUrl())
-                        .build())
-                .createdAt(message.getCreatedAt())
-                .build();
+    // 방의 첫 로컬 세션이면 Redis 채널을 구독하고, 사용자의 첫 세션이 들어온 방에만 USER_JOINED 를 한 번 보낸다.
+    // 들어온 세션 자신은 JOIN 을 보낸 쪽이므로 USER_JOINED 를 받지 않는다
+    private void onRoomsJoined(ChatSession chatSession, List<RoomSessionRegistry.RoomJoin> joined) {
+        if (joined.isEmpty()) return;
+
+        com.messenger.websocket.dto.WebSocketMessage.SenderInfo sender =
+                chatSession.getUserId() != null ? presenceSender(chatSession) : null;
+        OffsetDateTime now = OffsetDateTime.now();
+        for (RoomSessionRegistry.RoomJoin join : joined) {
+            log.debug("Session {} joined room {}. Room now has {} sessions",
+                    chatSession.getId(), join.roomId(), join.roomSize());
+            if (join.roomSize() == 1) {
+                redisRoomEventSubscriber.refresh(join.roomId());
+            }
+            if (join.firstUserSession() && sender != null) {
+                roomBroadcaster.broadcast(com.messenger.websocket.dto.WebSocketMessage.builder()
+                        .type(MessageType.USER_JOINED)
+                        .roomId(join.roomId())
+                        .sender(sender)
+                        .createdAt(now)
+                        .build(), chatSession);
+            }
+        }
     }
 
-    private boolean shouldReceiveMessage(String sessionId, com.messenger.websocket.dto.WebSocketMessage message) {
+    private Mono<Void> handleTyping(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
         UUID roomId = message.getRoomId();
-        if (roomId == null) return false;
+        UUID userId = chatSession.getUserId();
+        if (roomId == null || userId == null) return Mono.empty();
 
-        Set<String> roomSessions = roomSessionsMap.get(roomId);
-        return roomSessions != null && roomSessions.contains(sessionId);
+        // 방별 다이제스트로 모아 보낸다 (TypingAggregator)
+        typingAggregator.onLocalTyping(roomId, presenceSender(chatSession), Boolean.TRUE.equals(message.getIsTyping()));
+        return Mono.empty();
     }
 
-    private String extractToken(String query) {
-        if (query == null) return null;
-        try {
-            for (String param : query.split("&")) {
-                String[] keyValue = param.split("=");
-                if (keyValue.length == 2 && "token".equals(keyValue[0])) {
-                    return keyValue[1];
-                }
-            }
-        } catch (Exception e) {
-            log.error("Failed to extract token from query: {}", query);
+    // 재연결 없이 세션의 인증 만료 시각을 연장한다. 같은 사용자의 access 토큰만 받는다
+    private Mono<Void> handleAuthRefresh(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
+        String token = message.getToken();
+        if (token == null || !jwtService.validateToken(token) || !jwtService.isAccessToken(token)
+                || !jwtService.extractUserId(token).equals(chatSession.getUserId())) {
+            log.warn("Rejected AUTH_REFRESH from session {}", chatSession.getId());
+            reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                    .type(MessageType.ERROR)
+                    .clientMessageId(message.getClientMessageId())
+                    .errorCode("AUTH_INVALID")
+                    .errorMessage("Invalid access token")
+                    .build());
+            return Mono.empty();
         }
-        return null;
+
+        Instant expiresAt = jwtService.extractExpiration(token);
+        chatSession.renewAuthentication(expiresAt);
+        reply(chatSession, com.messenger.websocket.dto.WebSocketMessage.builder()
+                .type(MessageType.ACK)
+                .clientMessageId(message.getClientMessageId())
+                .createdAt(OffsetDateTime.ofInstant(expiresAt, ZoneOffset.UTC))
+                .build());
+        return Mono.empty();
     }
 
-    private UUID extractUserId(String query) {
-        if (query == null) return null;
+    // 로컬 세션이 모두 떠난 방은 Redis 구독과 재전송 버퍼를 정리한다
+    private void onRoomLeft(UUID roomId) {
+        redisRoomEventSubscriber.refresh(roomId);
+        roomReplayBuffers.evictIfInactive(roomId);
+    }
+
+    // 방 브로드캐스트가 아닌, 해당 세션에만 보내는 응답
+    private void reply(ChatSession chatSession, com.messenger.websocket.dto.WebSocketMessage message) {
         try {
-            for (String param : query.split("&")) {
-                String[] keyValue = param.split("=");
-                if (keyValue.length == 2 && "userId".equals(keyValue[0])) {
-                    return UUID.fromString(keyValue[1]);
-                }
+            chatSession.send(frameEncoder.encode(message));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} for session {}", message.getType(), chatSession.getId(), e);
+        }
+    }
+
+    // 입/퇴장, 타이핑 이벤트에는 아바타 없이 ID 와 표시 이름만 싣는다
+    private com.messenger.websocket.dto.WebSocketMessage.SenderInfo presenceSender(ChatSession chatSession) {
+        com.messenger.websocket.dto.WebSocketMessage.SenderInfo sender = chatSession.getSender();
+        return com.messenger.websocket.dto.WebSocketMessage.SenderInfo.builder()
+                .id(sender.getId())
+                .displayName(sender.getDisplayName())
+                .build();
+    }
+
+    // ?batch=true: 짧은 시간 안에 쌓인 이벤트를 BATCH 프레임 하나로 받는다
+    private boolean isBatchingRequested(String query) {
+        if (query == null) return false;
+        for (String param : query.split("&")) {
+            String[] keyValue = param.split("=");
+            if (keyValue.length == 2 && "batch".equals(keyValue[0])) {
+                return Boolean.parseBoolean(keyValue[1]);
             }
-        } catch (Exception e) {
-            log.error("Failed to extract userId from query: {}", query);
         }
-        return null;
+        return false;
     }
 }
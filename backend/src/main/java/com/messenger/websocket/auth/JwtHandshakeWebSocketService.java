@@ -0,0 +1,71 @@
+package com.messenger.websocket.auth;
+
+import com.messenger.auth.service.JwtService;
+import com.messenger.user.entity.User;
+import com.messenger.user.repository.UserRepository;
+import com.messenger.websocket.dto.WebSocketMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * 업그레이드 전에 JWT 를 검증하는 핸드셰이크 서비스.
+ * 토큰이 없거나 유효하지 않으면 WebSocket 세션을 만들지 않고 401 로 응답한다.
+ * 검증한 사용자 프로필은 {@link WebSocketAuthentication} 세션 속성으로 핸들러에 넘긴다.
+ */
+@Slf4j
+public class JwtHandshakeWebSocketService extends HandshakeWebSocketService {
+
+    private static final String TOKEN_PARAM = "token";
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+
+    public JwtHandshakeWebSocketService(JwtService jwtService, UserRepository userRepository) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        setSessionAttributePredicate(WebSocketAuthentication.ATTRIBUTE::equals);
+    }
+
+    @Override
+    public Mono<Void> handleRequest(ServerWebExchange exchange, WebSocketHandler handler) {
+        // 브라우저 WebSocket API 는 헤더를 붙일 수 없으므로 쿼리 파라미터로 받는다
+        String token = exchange.getRequest().getQueryParams().getFirst(TOKEN_PARAM);
+        if (token == null || !jwtService.validateToken(token) || !jwtService.isAccessToken(token)) {
+            log.debug("Rejecting WebSocket upgrade without a valid access token");
+            return reject(exchange);
+        }
+
+        // super.handleRequest 는 빈 Mono 로 끝나므로 switchIfEmpty 대신 Optional 로 사용자 유무를 구분한다
+        return userRepository.findById(jwtService.extractUserId(token))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(user -> {
+                    if (user.isEmpty()) {
+                        log.debug("Rejecting WebSocket upgrade for unknown user");
+                        return reject(exchange);
+                    }
+                    exchange.getAttributes().put(WebSocketAuthentication.ATTRIBUTE,
+                            new WebSocketAuthentication(toSenderInfo(user.get()), jwtService.extractExpiration(token)));
+                    return super.handleRequest(exchange, handler);
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+
+    private WebSocketMessage.SenderInfo toSenderInfo(User user) {
+        return WebSocketMessage.SenderInfo.builder()
+                .id(user.getId())
+                .displayName(user.getDisplayName())
+                .avatarUrl(user.getAvatarUrl())
+                .build();
+    }
+}
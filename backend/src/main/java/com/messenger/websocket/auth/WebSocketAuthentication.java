@@ -0,0 +1,15 @@
+package com.messenger.websocket.auth;
+
+import com.messenger.websocket.dto.WebSocketMessage;
+
+import java.time.Instant;
+
+/**
+ * 핸드셰이크에서 검증한 사용자. WebSocket 세션 속성으로 핸들러에 전달된다.
+ *
+ * @param expiresAt 핸드셰이크 토큰의 만료 시각. 세션은 AUTH_REFRESH 로 연장하지 않으면 이 시각에 닫힌다
+ */
+public record WebSocketAuthentication(WebSocketMessage.SenderInfo sender, Instant expiresAt) {
+
+    public static final String ATTRIBUTE = WebSocketAuthentication.class.getName();
+}
@@ -0,0 +1,110 @@
+package com.messenger.websocket.broadcast;
+
+import com.messenger.websocket.codec.FrameCodec;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 한 번 직렬화된 브로드캐스트 프레임.
+ * 수신 세션마다 payload 를 복사하지 않고 같은 바이트 배열을 감싼 버퍼를 만든다.
+ * JSON 은 생성 시 직렬화하고, 바이너리 형식은 그 형식을 쓰는 세션이 처음 꺼낼 때 한 번만 직렬화한다.
+ * BATCH 프레임은 세션 송신 대기열에서 만들어지며, 묶인 프레임의 payload 를 그대로 이어 붙인다.
+ */
+public final class EncodedFrame {
+
+    private final WebSocketMessage message;
+    private final UUID senderId;
+    private final byte[] payload;
+    // 바이너리 서브프로토콜 payload (지연 생성, 동시에 두 번 만들어져도 결과는 같다)
+    private volatile byte[] binaryPayload;
+    // BATCH 일 때만 존재
+    private final List<EncodedFrame> parts;
+
+    EncodedFrame(WebSocketMessage message, byte[] payload) {
+        this(message, payload, null);
+    }
+
+    private EncodedFrame(WebSocketMessage message, byte[] payload, List<EncodedFrame> parts) {
+        this.message = message;
+        this.senderId = message.getSender() != null ? message.getSender().getId() : null;
+        this.payload = payload;
+        this.parts = parts;
+    }
+
+    public static EncodedFrame batch(List<EncodedFrame> frames) {
+        return new EncodedFrame(WebSocketMessage.builder().type(MessageType.BATCH).build(), null, List.copyOf(frames));
+    }
+
+    public MessageType type() {
+        return message.getType();
+    }
+
+    public UUID roomId() {
+        return message.getRoomId();
+    }
+
+    public UUID senderId() {
+        return senderId;
+    }
+
+    public int size() {
+        if (parts == null) {
+            return payload.length;
+        }
+        int size = 0;
+        for (EncodedFrame part : parts) {
+            size += part.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return BATCH 에 묶인 프레임 수, 단일 프레임이면 1
+     */
+    public int count() {
+        return parts == null ? 1 : parts.size();
+    }
+
+    // wrap 은 복사 없이 공유 배열 위에 읽기 전용 뷰를 만든다 (Netty: Unpooled.wrappedBuffer)
+    public DataBuffer toDataBuffer(DataBufferFactory bufferFactory) {
+        if (parts != null) {
+            throw new IllegalStateException("BATCH frames must be encoded with the session codec");
+        }
+        return bufferFactory.wrap(payload);
+    }
+
+    public DataBuffer toDataBuffer(FrameCodec codec, DataBufferFactory bufferFactory) {
+        return bufferFactory.wrap(payload(codec));
+    }
+
+    private byte[] payload(FrameCodec codec) {
+        if (parts != null) {
+            List<byte[]> encoded = new ArrayList<>(parts.size());
+            for (EncodedFrame part : parts) {
+                encoded.add(part.payload(codec));
+            }
+            return codec.encodeBatch(encoded);
+        }
+        if (!codec.isBinary()) {
+            return payload;
+        }
+        byte[] binary = binaryPayload;
+        if (binary == null) {
+            try {
+                binary = codec.encode(message);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to encode " + message.getType() + " frame", e);
+            }
+            binaryPayload = binary;
+        }
+        return binary;
+    }
+}
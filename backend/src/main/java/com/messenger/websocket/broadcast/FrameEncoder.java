@@ -0,0 +1,18 @@
+package com.messenger.websocket.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.dto.WebSocketMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FrameEncoder {
+
+    private final ObjectMapper objectMapper;
+
+    public EncodedFrame encode(WebSocketMessage message) throws JsonProcessingException {
+        return new EncodedFrame(message, objectMapper.writeValueAsBytes(message));
+    }
+}
@@ -0,0 +1,84 @@
+package com.messenger.websocket.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.relay.RedisRoomEventPublisher;
+import com.messenger.websocket.replay.RoomReplayBuffers;
+import com.messenger.websocket.session.ChatSession;
+import com.messenger.websocket.session.RoomSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 방 단위 브로드캐스트.
+ * 이벤트는 대상 방의 구독 세션에게만 전달되며 다른 방의 세션은 전혀 건드리지 않는다.
+ * 직렬화는 이벤트당 한 번만 수행하고 모든 수신 세션이 같은 프레임을 공유한다.
+ * 로컬 세션에는 Redis 왕복 없이 바로 전달하고, 다른 노드에는 방 채널로 발행한다.
+ * 순번이 붙은 이벤트는 재연결 재전송을 위해 방의 링 버퍼에도 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomBroadcaster {
+
+    private final RoomSessionRegistry roomSessionRegistry;
+    private final FrameEncoder frameEncoder;
+    private final RedisRoomEventPublisher redisRoomEventPublisher;
+    private final RoomReplayBuffers roomReplayBuffers;
+
+    public void broadcast(WebSocketMessage message) {
+        broadcast(message, null);
+    }
+
+    /**
+     * @param excluded 받지 않을 로컬 세션 (이벤트를 일으킨 세션). 다른 노드에는 이 세션이 없으므로 그대로 발행한다
+     */
+    public void broadcast(WebSocketMessage message, ChatSession excluded) {
+        if (message.getRoomId() == null) {
+            log.warn("Dropping broadcast without roomId: {}", message.getType());
+            return;
+        }
+
+        deliverLocal(message, excluded);
+        redisRoomEventPublisher.publish(message);
+    }
+
+    /**
+     * 이 노드에 연결된 구독 세션에게만 전달한다.
+     */
+    public void deliverLocal(WebSocketMessage message) {
+        deliverLocal(message, null);
+    }
+
+    private void deliverLocal(WebSocketMessage message, ChatSession excluded) {
+        UUID roomId = message.getRoomId();
+        Set<ChatSession> recipients = roomSessionRegistry.sessionsOf(roomId);
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        EncodedFrame frame;
+        try {
+            frame = frameEncoder.encode(message);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} for room {}", message.getType(), roomId, e);
+            return;
+        }
+
+        if (message.getSeq() != null) {
+            roomReplayBuffers.record(roomId, message.getSeq(), frame);
+        }
+
+        for (ChatSession recipient : recipients) {
+            if (recipient != excluded) {
+                recipient.send(frame);
+            }
+        }
+        log.debug("Broadcast {} to room {} ({} sessions, {} bytes)",
+                message.getType(), roomId, recipients.size(), frame.size());
+    }
+}
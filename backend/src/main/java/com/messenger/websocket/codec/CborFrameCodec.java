@@ -0,0 +1,338 @@
+package com.messenger.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 압축 바이너리 형식: CBOR 맵, 키는 필드 이름 대신 작은 정수.
+ * UUID 는 16바이트 바이너리, 시각은 epoch millis(UTC), MessageType 은 ordinal 로 쓴다.
+ * 필드 번호와 MessageType 순서는 클라이언트와의 계약이므로 바꾸지 않고 뒤에 추가만 한다.
+ */
+@Component
+public class CborFrameCodec implements FrameCodec {
+
+    public static final String SUB_PROTOCOL = "messenger.v1.cbor";
+
+    private static final int TYPE = 1;
+    private static final int ROOM_ID = 2;
+    private static final int MESSAGE_ID = 3;
+    private static final int CONTENT = 4;
+    private static final int SENDER = 5;
+    private static final int CREATED_AT = 6;
+    private static final int CLIENT_MESSAGE_ID = 7;
+    private static final int SEQ = 8;
+    private static final int LAST_SEQ = 9;
+    private static final int IS_TYPING = 10;
+    // SENDER 와 같은 키(SENDER_*)를 쓰는 맵의 배열
+    private static final int TYPING_USERS = 11;
+    private static final int ERROR_CODE = 12;
+    private static final int ERROR_MESSAGE = 13;
+    private static final int MESSAGES = 14;
+    private static final int TOKEN = 15;
+    private static final int ROOM_IDS = 16;
+    private static final int MESSAGE_TYPE = 17;
+
+    private static final int SENDER_ID = 1;
+    private static final int SENDER_DISPLAY_NAME = 2;
+    private static final int SENDER_AVATAR_URL = 3;
+
+    private static final MessageType[] TYPES = MessageType.values();
+
+    // CBOR major type 5 (map), 4 (array)
+    private static final int MAP_OF_TWO = 0xA2;
+    private static final int ARRAY = 0x80;
+
+    private final CBORFactory factory = new CBORFactory();
+
+    @Override
+    public String subProtocol() {
+        return SUB_PROTOCOL;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return true;
+    }
+
+    @Override
+    public byte[] encode(WebSocketMessage message) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (CBORGenerator generator = factory.createGenerator(out)) {
+            writeMessage(generator, message);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * {1: BATCH, 14: [메시지...]} 형태. 각 메시지는 이미 완성된 CBOR 맵이므로 헤더만 새로 쓴다.
+     */
+    @Override
+    public byte[] encodeBatch(List<byte[]> encodedMessages) {
+        int length = 16;
+        for (byte[] message : encodedMessages) {
+            length += message.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.write(MAP_OF_TWO);
+        out.write(TYPE);
+        out.write(MessageType.BATCH.ordinal());
+        out.write(MESSAGES);
+        writeArrayHeader(out, encodedMessages.size());
+        for (byte[] message : encodedMessages) {
+            out.writeBytes(message);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public WebSocketMessage decode(DataBuffer payload) throws IOException {
+        try (InputStream in = payload.asInputStream(); CBORParser parser = factory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("CBOR frame must be a map");
+            }
+            return readMessage(parser);
+        }
+    }
+
+    private void writeMessage(CBORGenerator generator, WebSocketMessage message) throws IOException {
+        generator.writeStartObject();
+        if (message.getType() != null) {
+            generator.writeFieldId(TYPE);
+            generator.writeNumber(message.getType().ordinal());
+        }
+        writeUuid(generator, ROOM_ID, message.getRoomId());
+        writeUuid(generator, MESSAGE_ID, message.getMessageId());
+        writeString(generator, CONTENT, message.getContent());
+        if (message.getSender() != null) {
+            generator.writeFieldId(SENDER);
+            writeSender(generator, message.getSender());
+        }
+        if (message.getCreatedAt() != null) {
+            generator.writeFieldId(CREATED_AT);
+            generator.writeNumber(message.getCreatedAt().toInstant().toEpochMilli());
+        }
+        writeString(generator, CLIENT_MESSAGE_ID, message.getClientMessageId());
+        writeLong(generator, SEQ, message.getSeq());
+        writeLong(generator, LAST_SEQ, message.getLastSeq());
+        if (message.getIsTyping() != null) {
+            generator.writeFieldId(IS_TYPING);
+            generator.writeBoolean(message.getIsTyping());
+        }
+        if (message.getTypingUsers() != null) {
+            generator.writeFieldId(TYPING_USERS);
+            generator.writeStartArray(message.getTypingUsers(), message.getTypingUsers().size());
+            for (WebSocketMessage.SenderInfo user : message.getTypingUsers()) {
+                writeSender(generator, user);
+            }
+            generator.writeEndArray();
+        }
+        writeString(generator, ERROR_CODE, message.getErrorCode());
+        writeString(generator, ERROR_MESSAGE, message.getErrorMessage());
+        writeString(generator, TOKEN, message.getToken());
+        if (message.getMessages() != null) {
+            generator.writeFieldId(MESSAGES);
+            generator.writeStartArray(message.getMessages(), message.getMessages().size());
+            for (WebSocketMessage item : message.getMessages()) {
+                writeMessage(generator, item);
+            }
+            generator.writeEndArray();
+        }
+        if (message.getRoomIds() != null) {
+            generator.writeFieldId(ROOM_IDS);
+            generator.writeStartArray(message.getRoomIds(), message.getRoomIds().size());
+            for (UUID roomId : message.getRoomIds()) {
+                writeUuidValue(generator, roomId);
+            }
+            generator.writeEndArray();
+        }
+        writeString(generator, MESSAGE_TYPE, message.getMessageType());
+        generator.writeEndObject();
+    }
+
+    private static void writeSender(CBORGenerator generator, WebSocketMessage.SenderInfo sender) throws IOException {
+        generator.writeStartObject();
+        writeUuid(generator, SENDER_ID, sender.getId());
+        writeString(generator, SENDER_DISPLAY_NAME, sender.getDisplayName());
+        writeString(generator, SENDER_AVATAR_URL, sender.getAvatarUrl());
+        generator.writeEndObject();
+    }
+
+    private WebSocketMessage readMessage(CBORParser parser) throws IOException {
+        WebSocketMessage message = new WebSocketMessage();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int field = fieldId(parser);
+            parser.nextToken();
+            switch (field) {
+                case TYPE -> message.setType(readType(parser));
+                case ROOM_ID -> message.setRoomId(readUuid(parser));
+                case MESSAGE_ID -> message.setMessageId(readUuid(parser));
+                case CONTENT -> message.setContent(parser.getText());
+                case SENDER -> message.setSender(readSender(parser));
+                case CREATED_AT -> message.setCreatedAt(
+                        OffsetDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), ZoneOffset.UTC));
+                case CLIENT_MESSAGE_ID -> message.setClientMessageId(parser.getText());
+                case SEQ -> message.setSeq(parser.getLongValue());
+                case LAST_SEQ -> message.setLastSeq(parser.getLongValue());
+                case IS_TYPING -> message.setIsTyping(parser.getBooleanValue());
+                case TYPING_USERS -> message.setTypingUsers(readSenders(parser));
+                case ERROR_CODE -> message.setErrorCode(parser.getText());
+                case ERROR_MESSAGE -> message.setErrorMessage(parser.getText());
+                case MESSAGES -> message.setMessages(readMessages(parser));
+                case TOKEN -> message.setToken(parser.getText());
+                case ROOM_IDS -> message.setRoomIds(readUuids(parser));
+                case MESSAGE_TYPE -> message.setMessageType(parser.getText());
+                default -> parser.skipChildren(); // 새 버전에서 추가된 필드
+            }
+        }
+        return message;
+    }
+
+    private WebSocketMessage.SenderInfo readSender(CBORParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        WebSocketMessage.SenderInfo sender = new WebSocketMessage.SenderInfo();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int field = fieldId(parser);
+            parser.nextToken();
+            switch (field) {
+                case SENDER_ID -> sender.setId(readUuid(parser));
+                case SENDER_DISPLAY_NAME -> sender.setDisplayName(parser.getText());
+                case SENDER_AVATAR_URL -> sender.setAvatarUrl(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return sender;
+    }
+
+    private List<WebSocketMessage> readMessages(CBORParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        List<WebSocketMessage> messages = new ArrayList<>();
+        while (nextElement(parser)) {
+            expect(parser, JsonToken.START_OBJECT);
+            messages.add(readMessage(parser));
+        }
+        return messages;
+    }
+
+    private List<WebSocketMessage.SenderInfo> readSenders(CBORParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        List<WebSocketMessage.SenderInfo> values = new ArrayList<>();
+        while (nextElement(parser)) {
+            values.add(readSender(parser));
+        }
+        return values;
+    }
+
+    private List<UUID> readUuids(CBORParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        List<UUID> values = new ArrayList<>();
+        while (nextElement(parser)) {
+            values.add(readUuid(parser));
+        }
+        return values;
+    }
+
+    // 잘못된 클라이언트 입력은 모두 IOException 으로 알린다. 핸들러는 그 프레임만 버리고 세션은 유지한다
+
+    private static int fieldId(CBORParser parser) throws IOException {
+        String name = parser.currentName();
+        try {
+            return Integer.parseInt(name);
+        } catch (NumberFormatException e) {
+            throw new IOException("CBOR field key must be an integer: " + name);
+        }
+    }
+
+    private static MessageType readType(CBORParser parser) throws IOException {
+        int ordinal = parser.getIntValue();
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IOException("Unknown message type: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+
+    private static void expect(CBORParser parser, JsonToken token) throws IOException {
+        if (parser.currentToken() != token) {
+            throw new IOException("Expected " + token + " but was " + parser.currentToken());
+        }
+    }
+
+    // 배열의 다음 원소로 이동한다. 배열이 끝나면 false, 입력이 중간에 끊기면 IOException
+    private static boolean nextElement(CBORParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new IOException("Unexpected end of CBOR array");
+        }
+        return token != JsonToken.END_ARRAY;
+    }
+
+    private static void writeArrayHeader(ByteArrayOutputStream out, int size) {
+        if (size < 24) {
+            out.write(ARRAY | size);
+        } else if (size < 0x100) {
+            out.write(ARRAY | 24);
+            out.write(size);
+        } else if (size < 0x10000) {
+            out.write(ARRAY | 25);
+            out.write(size >>> 8);
+            out.write(size);
+        } else {
+            out.write(ARRAY | 26);
+            out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(size).array());
+        }
+    }
+
+    private static void writeUuid(CBORGenerator generator, int field, UUID value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        generator.writeFieldId(field);
+        writeUuidValue(generator, value);
+    }
+
+    private static void writeUuidValue(CBORGenerator generator, UUID value) throws IOException {
+        generator.writeBinary(ByteBuffer.allocate(16)
+                .putLong(value.getMostSignificantBits())
+                .putLong(value.getLeastSignificantBits())
+                .array());
+    }
+
+    private static UUID readUuid(CBORParser parser) throws IOException {
+        byte[] value = parser.getBinaryValue();
+        if (value.length != 16) {
+            throw new IOException("UUID must be 16 bytes but was " + value.length);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(value);
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    private static void writeString(CBORGenerator generator, int field, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldId(field);
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeLong(CBORGenerator generator, int field, Long value) throws IOException {
+        if (value != null) {
+            generator.writeFieldId(field);
+            generator.writeNumber(value);
+        }
+    }
+}
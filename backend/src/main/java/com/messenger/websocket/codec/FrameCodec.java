@@ -0,0 +1,29 @@
+package com.messenger.websocket.codec;
+
+import com.messenger.websocket.dto.WebSocketMessage;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 핸드셰이크의 Sec-WebSocket-Protocol 로 정해지는 프레임 형식.
+ */
+public interface FrameCodec {
+
+    String subProtocol();
+
+    /**
+     * @return BINARY 프레임으로 보내면 true, TEXT 프레임이면 false
+     */
+    boolean isBinary();
+
+    byte[] encode(WebSocketMessage message) throws IOException;
+
+    /**
+     * 이미 이 형식으로 인코딩된 메시지들을 다시 직렬화하지 않고 BATCH 메시지 하나로 잇는다.
+     */
+    byte[] encodeBatch(List<byte[]> encodedMessages);
+
+    WebSocketMessage decode(DataBuffer payload) throws IOException;
+}
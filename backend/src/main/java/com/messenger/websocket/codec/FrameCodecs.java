@@ -0,0 +1,36 @@
+package com.messenger.websocket.codec;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 지원하는 서브프로토콜 목록. 협상된 서브프로토콜이 없으면 JSON 을 쓴다.
+ */
+@Component
+public class FrameCodecs {
+
+    private final JsonFrameCodec defaultCodec;
+    private final List<FrameCodec> codecs;
+
+    public FrameCodecs(JsonFrameCodec jsonFrameCodec, CborFrameCodec cborFrameCodec) {
+        this.defaultCodec = jsonFrameCodec;
+        this.codecs = List.of(jsonFrameCodec, cborFrameCodec);
+    }
+
+    public List<String> subProtocols() {
+        return codecs.stream().map(FrameCodec::subProtocol).toList();
+    }
+
+    public FrameCodec forSubProtocol(String subProtocol) {
+        if (subProtocol == null) {
+            return defaultCodec;
+        }
+        for (FrameCodec codec : codecs) {
+            if (codec.subProtocol().equals(subProtocol)) {
+                return codec;
+            }
+        }
+        return defaultCodec;
+    }
+}
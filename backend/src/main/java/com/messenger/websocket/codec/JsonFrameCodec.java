@@ -0,0 +1,68 @@
+package com.messenger.websocket.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.dto.WebSocketMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 기본 형식: JSON TEXT 프레임. 서브프로토콜을 요청하지 않은 클라이언트도 이 형식을 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonFrameCodec implements FrameCodec {
+
+    public static final String SUB_PROTOCOL = "messenger.v1.json";
+
+    private static final byte[] BATCH_PREFIX = "{\"type\":\"BATCH\",\"messages\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String subProtocol() {
+        return SUB_PROTOCOL;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return false;
+    }
+
+    @Override
+    public byte[] encode(WebSocketMessage message) throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Override
+    public byte[] encodeBatch(List<byte[]> encodedMessages) {
+        int length = BATCH_PREFIX.length + BATCH_SUFFIX.length + encodedMessages.size();
+        for (byte[] message : encodedMessages) {
+            length += message.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.writeBytes(BATCH_PREFIX);
+        for (int i = 0; i < encodedMessages.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(encodedMessages.get(i));
+        }
+        out.writeBytes(BATCH_SUFFIX);
+        return out.toByteArray();
+    }
+
+    @Override
+    public WebSocketMessage decode(DataBuffer payload) throws IOException {
+        try (InputStream in = payload.asInputStream()) {
+            return objectMapper.readValue(in, WebSocketMessage.class);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.messenger.websocket.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CompressionMetrics {
+
+    private final Counter uncompressedBytes;
+    private final Counter compressedBytes;
+    private final Counter skippedFrames;
+    private final DistributionSummary ratio;
+    private final Timer time;
+
+    public CompressionMetrics(MeterRegistry meterRegistry) {
+        this.uncompressedBytes = bytesCounter(meterRegistry, "uncompressed");
+        this.compressedBytes = bytesCounter(meterRegistry, "compressed");
+        this.skippedFrames = Counter.builder("websocket.compression.skipped")
+                .description("Outbound frames sent uncompressed because they were below the size threshold")
+                .register(meterRegistry);
+        this.ratio = DistributionSummary.builder("websocket.compression.ratio")
+                .description("Compressed / uncompressed payload size per outbound frame")
+                .register(meterRegistry);
+        this.time = Timer.builder("websocket.compression.time")
+                .description("Event loop time spent deflating outbound frames")
+                .register(meterRegistry);
+    }
+
+    private static Counter bytesCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("websocket.compression.bytes")
+                .description("Outbound payload bytes of permessage-deflate frames")
+                .baseUnit("bytes")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    void recordCompressed(int uncompressed, int compressed, long nanos) {
+        uncompressedBytes.increment(uncompressed);
+        compressedBytes.increment(compressed);
+        if (uncompressed > 0) {
+            ratio.record((double) compressed / uncompressed);
+        }
+        time.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordSkipped() {
+        skippedFrames.increment();
+    }
+}
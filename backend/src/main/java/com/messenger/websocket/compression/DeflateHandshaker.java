@@ -0,0 +1,81 @@
+package com.messenger.websocket.compression;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilter;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandshaker;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * permessage-deflate (RFC 7692) 협상.
+ * Netty 핸드셰이커는 클라이언트가 요청한 서버 측 파라미터만 받아들이므로,
+ * 설정으로 정한 server_no_context_takeover / server_max_window_bits 를 요청에 덧붙여 응답에 싣는다
+ * (RFC 7692 7.1.1.1, 7.1.2.1: 서버는 요청에 없던 두 파라미터를 응답에 포함할 수 있다).
+ */
+class DeflateHandshaker implements WebSocketServerExtensionHandshaker {
+
+    static final String EXTENSION = "permessage-deflate";
+    static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+    static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+    private static final int MAX_WINDOW_BITS = 15;
+
+    private final WebSocketProperties.Compression properties;
+    private final PerMessageDeflateServerExtensionHandshaker delegate;
+
+    DeflateHandshaker(WebSocketProperties.Compression properties) {
+        this.properties = properties;
+        this.delegate = new PerMessageDeflateServerExtensionHandshaker(
+                properties.getLevel(),
+                true,
+                properties.getClientMaxWindowBits(),
+                true,
+                !properties.isClientContextTakeover(),
+                new MinSizeFilterProvider((int) properties.getMinSize().toBytes()));
+    }
+
+    @Override
+    public WebSocketServerExtension handshakeExtension(WebSocketExtensionData extensionData) {
+        if (!EXTENSION.equals(extensionData.name())) {
+            return null;
+        }
+        Map<String, String> parameters = new HashMap<>(extensionData.parameters());
+        if (!properties.isServerContextTakeover()) {
+            parameters.put(SERVER_NO_CONTEXT_TAKEOVER, null);
+        }
+        int windowBits = properties.getServerMaxWindowBits();
+        if (windowBits < MAX_WINDOW_BITS) {
+            // 클라이언트가 더 작은 창을 요청했다면 그 값을 따른다
+            parameters.merge(SERVER_MAX_WINDOW_BITS, String.valueOf(windowBits),
+                    (requested, configured) -> requested != null && isSmaller(requested, windowBits) ? requested : configured);
+        }
+        return delegate.handshakeExtension(new WebSocketExtensionData(extensionData.name(), parameters));
+    }
+
+    private static boolean isSmaller(String requested, int windowBits) {
+        try {
+            return Integer.parseInt(requested) < windowBits;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // TYPING 같은 작은 프레임은 압축해도 이득이 없으므로 그대로 보낸다
+    private record MinSizeFilterProvider(int minSize) implements WebSocketExtensionFilterProvider {
+
+        @Override
+        public WebSocketExtensionFilter encoderFilter() {
+            return (WebSocketFrame frame) -> frame.content().readableBytes() < minSize;
+        }
+
+        @Override
+        public WebSocketExtensionFilter decoderFilter() {
+            return WebSocketExtensionFilter.NEVER_SKIP;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.messenger.websocket.compression;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionEncoder;
+import io.netty.util.AttributeKey;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.adapter.ReactorNettyWebSocketSession;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 연결 하나의 permessage-deflate 통계.
+ * 압축 인코더 앞뒤에 두 핸들러를 두고, 같은 이벤트 루프에서 동기적으로 이어지는 write 호출 사이의
+ * 크기와 시간을 잰다. 값은 이벤트 루프만 쓰고 actuator 가 읽는다.
+ */
+public class DeflateStats {
+
+    static final AttributeKey<DeflateStats> KEY = AttributeKey.valueOf(DeflateStats.class.getName());
+    private static final int NOT_COMPRESSED = -1;
+
+    private final CompressionMetrics metrics;
+    private final ChannelHandler uncompressedSide = new UncompressedSide();
+    private final ChannelHandler compressedSide = new CompressedSide();
+
+    // 현재 write 에서 압축 인코더를 지난 프레임 크기
+    private int pendingCompressedSize = NOT_COMPRESSED;
+    // 첫 데이터 프레임에서 한 번 판단: 핸드셰이크가 끝난 뒤라 이후로 바뀌지 않는다
+    private Boolean negotiated;
+
+    private volatile long uncompressedBytes;
+    private volatile long compressedBytes;
+    private volatile long compressionNanos;
+
+    DeflateStats(CompressionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Reactor Netty 세션이 아니거나 압축 핸들러가 설치되지 않은 연결이면 비어 있다.
+     */
+    public static Optional<DeflateStats> of(WebSocketSession session) {
+        if (!(session instanceof ReactorNettyWebSocketSession nettySession)) {
+            return Optional.empty();
+        }
+        AtomicReference<DeflateStats> stats = new AtomicReference<>();
+        nettySession.getDelegate().getInbound()
+                .withConnection(connection -> stats.set(connection.channel().attr(KEY).get()));
+        return Optional.ofNullable(stats.get());
+    }
+
+    /**
+     * @return 압축 후 / 압축 전 크기. 압축한 프레임이 없으면 -1
+     */
+    public double ratio() {
+        long uncompressed = uncompressedBytes;
+        return uncompressed == 0 ? -1 : (double) compressedBytes / uncompressed;
+    }
+
+    public long compressionMicros() {
+        return compressionNanos / 1_000;
+    }
+
+    public long uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long compressedBytes() {
+        return compressedBytes;
+    }
+
+    ChannelHandler uncompressedSide() {
+        return uncompressedSide;
+    }
+
+    ChannelHandler compressedSide() {
+        return compressedSide;
+    }
+
+    private static boolean isData(Object msg) {
+        return msg instanceof TextWebSocketFrame || msg instanceof BinaryWebSocketFrame;
+    }
+
+    // 압축 인코더보다 tail 쪽: 압축 전 크기와 인코더를 지나는 데 걸린 시간
+    private final class UncompressedSide extends ChannelOutboundHandlerAdapter {
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (!isData(msg) || !negotiated(ctx)) {
+                ctx.write(msg, promise);
+                return;
+            }
+            int size = ((WebSocketFrame) msg).content().readableBytes();
+            pendingCompressedSize = NOT_COMPRESSED;
+            long start = System.nanoTime();
+            ctx.write(msg, promise);
+            long elapsed = System.nanoTime() - start;
+
+            int compressed = pendingCompressedSize;
+            pendingCompressedSize = NOT_COMPRESSED;
+            if (compressed == NOT_COMPRESSED) {
+                metrics.recordSkipped();
+                return;
+            }
+            uncompressedBytes += size;
+            compressedBytes += compressed;
+            compressionNanos += elapsed;
+            metrics.recordCompressed(size, compressed, elapsed);
+        }
+
+        private boolean negotiated(ChannelHandlerContext ctx) {
+            if (negotiated == null) {
+                negotiated = ctx.pipeline().get(WebSocketExtensionEncoder.class) != null;
+            }
+            return negotiated;
+        }
+    }
+
+    // 압축 인코더보다 head 쪽: RSV1 이 켜진 프레임만 압축된 것이다
+    private final class CompressedSide extends ChannelOutboundHandlerAdapter {
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (isData(msg) && (((WebSocketFrame) msg).rsv() & WebSocketExtension.RSV1) != 0) {
+                pendingCompressedSize = ((WebSocketFrame) msg).content().readableBytes();
+            }
+            ctx.write(msg, promise);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.messenger.websocket.compression;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import reactor.netty.NettyPipeline;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * HTTP/1.1 파이프라인에 permessage-deflate 확장 핸들러를 설치한다.
+ * Reactor Netty 의 compress 옵션은 파라미터를 조정할 수 없어 쓰지 않는다.
+ * 확장 핸들러는 WebSocket 업그레이드 응답에서만 압축 인코더/디코더를 추가하므로 일반 HTTP 요청에는 영향이 없다.
+ *
+ * <pre>
+ * httpCodec → compressedSide → extensionHandler → (deflate encoder/decoder) → uncompressedSide → ...
+ * </pre>
+ */
+@RequiredArgsConstructor
+public class PerMessageDeflateCustomizer implements NettyServerCustomizer {
+
+    static final String COMPRESSED_SIDE = "messenger.wsDeflateCompressed";
+    static final String EXTENSION_HANDLER = "messenger.wsDeflateExtension";
+    static final String UNCOMPRESSED_SIDE = "messenger.wsDeflateUncompressed";
+
+    private final WebSocketProperties.Compression properties;
+    private final CompressionMetrics metrics;
+
+    @Override
+    public HttpServer apply(HttpServer httpServer) {
+        DeflateHandshaker handshaker = new DeflateHandshaker(properties);
+        return httpServer.doOnChannelInit((observer, channel, remoteAddress) -> install(channel, handshaker));
+    }
+
+    private void install(Channel channel, DeflateHandshaker handshaker) {
+        ChannelPipeline pipeline = channel.pipeline();
+        if (pipeline.get(NettyPipeline.HttpCodec) == null) {
+            // HTTP/2 등 WebSocket 업그레이드가 없는 파이프라인
+            return;
+        }
+        DeflateStats stats = new DeflateStats(metrics);
+        channel.attr(DeflateStats.KEY).set(stats);
+        pipeline.addAfter(NettyPipeline.HttpCodec, COMPRESSED_SIDE, stats.compressedSide())
+                .addAfter(COMPRESSED_SIDE, EXTENSION_HANDLER, new WebSocketServerExtensionHandler(handshaker))
+                .addAfter(EXTENSION_HANDLER, UNCOMPRESSED_SIDE, stats.uncompressedSide());
+    }
+}
@@ -1,5 +1,6 @@
 package com.messenger.websocket.dto;
 
+// 바이너리 서브프로토콜은 ordinal 로 전송하므로 순서를 바꾸지 말고 뒤에만 추가한다
 public enum MessageType {
     CHAT,
     JOIN,
@@ -7,5 +8,10 @@ public enum MessageType {
     TYPING,
     USER_JOINED,
     USER_LEFT,
-    ERROR
+    ACK,
+    ERROR,
+    BATCH,
+    AUTH_REFRESH,
+    SUBSCRIBE,
+    MESSAGE_DELETED
 }
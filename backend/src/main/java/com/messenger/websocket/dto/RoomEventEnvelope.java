@@ -0,0 +1,20 @@
+package com.messenger.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 노드 간 Redis Pub/Sub 으로 전달되는 방 이벤트.
+ * origin 은 발행 노드 ID 로, 자신이 발행한 이벤트를 다시 전달하지 않기 위해 사용한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomEventEnvelope {
+
+    private String origin;
+    private WebSocketMessage message;
+}
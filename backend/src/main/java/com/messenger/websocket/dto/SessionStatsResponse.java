@@ -0,0 +1,27 @@
+package com.messenger.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionStatsResponse {
+
+    private String sessionId;
+    private UUID userId;
+    private int queueDepth;
+    private long droppedFrames;
+    private long coalescedFrames;
+    // 마지막 ping 왕복 시간 (측정 전이면 -1)
+    private long rttMillis;
+    // permessage-deflate 압축 후 / 압축 전 크기 (압축한 프레임이 없으면 -1)
+    private double compressionRatio;
+    // 누적 압축 시간
+    private long compressionMicros;
+}
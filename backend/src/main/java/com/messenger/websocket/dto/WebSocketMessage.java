@@ -23,15 +23,33 @@ public class WebSocketMessage {
     private String content;
     private SenderInfo sender;
     private OffsetDateTime createdAt;
+    // CHAT: TEXT, IMAGE 등 (생략하면 TEXT)
+    private String messageType;
 
-    // 타이핑 관련
+    // 방별 순번 (CHAT). 클라이언트는 JOIN 시 마지막으로 받은 순번을 lastSeq 로 보낸다
+    private Long seq;
+    private Long lastSeq;
+
+    // 클라이언트가 CHAT 에 붙여 보내면 ACK 에 그대로 돌려준다
+    private String clientMessageId;
+
+    // 타이핑 관련. typingUsers 는 다이제스트의 입력 중인 사용자 (id, displayName)
     private Boolean isTyping;
-    private List<String> typingUsers;
+    private List<SenderInfo> typingUsers;
 
     // 에러 관련
     private String errorCode;
     private String errorMessage;
 
+    // AUTH_REFRESH: 재연결 없이 세션 인증을 연장할 새 access 토큰
+    private String token;
+
+    // BATCH: 순서대로 묶인 이벤트
+    private List<WebSocketMessage> messages;
+
+    // SUBSCRIBE: 한 번에 JOIN 할 방 목록 (비어 있으면 사용자가 속한 모든 방). ACK 에는 구독된 방 목록
+    private List<UUID> roomIds;
+
     @Data
     @Builder
     @NoArgsConstructor
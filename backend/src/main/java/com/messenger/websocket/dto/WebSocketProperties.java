@@ -0,0 +1,115 @@
+package com.messenger.websocket.dto;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketProperties {
+
+    private Outbound outbound = new Outbound();
+    private Replay replay = new Replay();
+    private Heartbeat heartbeat = new Heartbeat();
+    private Inbound inbound = new Inbound();
+    private Typing typing = new Typing();
+    private Compression compression = new Compression();
+
+    @Data
+    public static class Outbound {
+        // 세션별 송신 대기열 최대 프레임 수
+        private int queueCapacity = 256;
+        private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DROP_EPHEMERAL;
+        // DISCONNECT 정책: 대기열이 가득 찬 채로 소비가 없으면 연결 종료
+        private Duration stallTimeout = Duration.ofSeconds(10);
+        private Shedding shedding = new Shedding();
+        private Batching batching = new Batching();
+    }
+
+    // 핸드셰이크에서 batch=true 로 요청한 세션만 적용
+    @Data
+    public static class Batching {
+        // 직전 전송 후 이 시간 안에 쌓인 이벤트는 창이 끝날 때 BATCH 프레임 하나로 보낸다
+        private Duration linger = Duration.ofMillis(10);
+        // BATCH 프레임 하나에 담는 최대 이벤트 수
+        private int maxFrames = 64;
+    }
+
+    // 임계치를 넘으면 타이핑, 그다음 입/퇴장 이벤트를 대기열에 넣지 않고 버린다
+    @Data
+    public static class Shedding {
+        // 대기열 길이 / queueCapacity
+        private double typingQueueRatio = 0.5;
+        private double presenceQueueRatio = 0.75;
+        // 이벤트 루프 지연
+        private Duration typingEventLoopLag = Duration.ofMillis(50);
+        private Duration presenceEventLoopLag = Duration.ofMillis(200);
+        // 이벤트 루프 지연 측정 주기
+        private Duration lagProbeInterval = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Replay {
+        // 방별로 메모리에 보관하는 최근 이벤트 수
+        private int bufferSize = 512;
+        // 버퍼보다 오래된 구간을 DB 에서 재전송할 최대 메시지 수 (초과 시 REPLAY_TRUNCATED)
+        private int maxDatabaseMessages = 500;
+    }
+
+    @Data
+    public static class Heartbeat {
+        // 세션별 ping 주기
+        private Duration pingInterval = Duration.ofSeconds(20);
+        // 이 시간 동안 아무 프레임(pong 포함)도 받지 못하면 세션을 정리한다
+        private Duration idleTimeout = Duration.ofSeconds(60);
+        // 타이머 휠 한 칸의 시간. 세션은 pingInterval / tick 개의 칸에 고르게 나뉜다
+        private Duration tick = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class Inbound {
+        // 방 단위로 수신 프레임을 처리하는 워커 수 (0 이면 CPU 코어 수)
+        private int workers = 0;
+        // 세션 하나가 동시에 처리 중일 수 있는 최대 프레임 수
+        private int maxInFlightPerSession = 64;
+        // BATCH 프레임 하나에 담을 수 있는 최대 작업 수 (초과 시 BATCH_TOO_LARGE)
+        private int maxBatchOperations = 500;
+    }
+
+    @Data
+    public static class Typing {
+        // 마지막 TYPING(true) 이후 이 시간이 지나면 입력 중 상태를 만료시킨다
+        private Duration ttl = Duration.ofSeconds(5);
+        // 방별 다이제스트 최소 간격
+        private Duration digestInterval = Duration.ofMillis(500);
+    }
+
+    // permessage-deflate (RFC 7692). 압축 상태(zlib)는 세션마다 따로 잡힌다
+    @Data
+    public static class Compression {
+        private boolean enabled = true;
+        // 이보다 작은 프레임(타이핑 등)은 압축하지 않는다
+        private DataSize minSize = DataSize.ofBytes(256);
+        // zlib 압축 레벨 (1~9)
+        private int level = 6;
+        // true 면 메시지 간에 압축 사전을 유지: 반복되는 필드 이름까지 압축되지만 세션마다 deflater 를 계속 들고 있는다
+        private boolean serverContextTakeover = true;
+        private boolean clientContextTakeover = true;
+        // LZ77 창 크기 2^n (8~15). 15 미만이면 세션당 메모리가 줄고 jzlib 인코더를 쓴다
+        private int serverMaxWindowBits = 15;
+        private int clientMaxWindowBits = 15;
+    }
+
+    public enum SlowConsumerPolicy {
+        // 가장 오래된 타이핑 → 입/퇴장 이벤트부터 버린다
+        DROP_EPHEMERAL,
+        // 같은 방/발신자의 타이핑·입퇴장 이벤트는 최신 것으로 대체하고, 그래도 가득 차면 DROP_EPHEMERAL
+        COALESCE,
+        // 버리지 않고 stallTimeout 동안 소비가 없으면 연결 종료
+        DISCONNECT
+    }
+}
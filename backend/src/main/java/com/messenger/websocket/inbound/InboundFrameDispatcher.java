@@ -0,0 +1,128 @@
+package com.messenger.websocket.inbound;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 수신 프레임 디스패처.
+ * 같은 (방, 발신자)의 프레임은 도착 순서대로 하나씩 처리하고(키별 concatMap),
+ * 방은 고정된 워커 중 하나에 배정되어 서로 다른 방은 병렬로 처리된다.
+ * 메일박스는 배정된 워커 스레드에서만 접근하므로 잠금이 없고, 비면 바로 제거된다.
+ */
+@Slf4j
+@Component
+public class InboundFrameDispatcher {
+
+    private final Worker[] workers;
+
+    public InboundFrameDispatcher(WebSocketProperties webSocketProperties) {
+        int configured = webSocketProperties.getInbound().getWorkers();
+        int count = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        this.workers = new Worker[count];
+        for (int i = 0; i < count; i++) {
+            workers[i] = new Worker(Schedulers.newSingle("ws-inbound-" + i, true));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Worker worker : workers) {
+            worker.scheduler.dispose();
+        }
+    }
+
+    /**
+     * 작업을 (roomId, senderKey) 메일박스에 넣는다.
+     * 반환된 Mono 는 앞선 같은 키의 작업들이 끝난 뒤 이 작업이 완료될 때 완료된다.
+     */
+    public Mono<Void> dispatch(UUID roomId, Object senderKey, Supplier<Mono<Void>> task) {
+        MailboxKey key = new MailboxKey(roomId, senderKey);
+        Worker worker = workers[workerIndex(roomId != null ? roomId : senderKey)];
+        return Mono.create(sink -> worker.enqueue(key, new Pending(task, sink)));
+    }
+
+    int workerIndex(Object affinityKey) {
+        return Math.floorMod(Objects.hashCode(affinityKey), workers.length);
+    }
+
+    private record MailboxKey(UUID roomId, Object senderKey) {
+    }
+
+    private record Pending(Supplier<Mono<Void>> task, MonoSink<Void> sink) {
+    }
+
+    private static final class Worker {
+
+        private final Scheduler scheduler;
+        // 워커 스레드 전용. 큐의 첫 항목이 실행 중인 작업이다
+        private final Map<MailboxKey, ArrayDeque<Pending>> mailboxes = new HashMap<>();
+
+        private Worker(Scheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        void enqueue(MailboxKey key, Pending pending) {
+            schedule(pending.sink(), () -> {
+                ArrayDeque<Pending> mailbox = mailboxes.computeIfAbsent(key, k -> new ArrayDeque<>());
+                mailbox.add(pending);
+                if (mailbox.size() == 1) {
+                    run(key, mailbox);
+                }
+            });
+        }
+
+        private void run(MailboxKey key, ArrayDeque<Pending> mailbox) {
+            Pending head = mailbox.peek();
+            Mono<Void> task;
+            try {
+                task = head.task().get();
+            } catch (RuntimeException e) {
+                complete(key, mailbox, head, e);
+                return;
+            }
+            task.subscribe(
+                    ignored -> { },
+                    e -> schedule(head.sink(), () -> complete(key, mailbox, head, e)),
+                    () -> schedule(head.sink(), () -> complete(key, mailbox, head, null)));
+        }
+
+        // 워커 스레드에서 호출: 현재 작업을 끝내고 다음 작업을 시작하거나 빈 메일박스를 제거한다
+        private void complete(MailboxKey key, ArrayDeque<Pending> mailbox, Pending head, Throwable error) {
+            mailbox.poll();
+            if (error != null) {
+                head.sink().error(error);
+            } else {
+                head.sink().success();
+            }
+
+            if (mailbox.isEmpty()) {
+                mailboxes.remove(key);
+            } else {
+                run(key, mailbox);
+            }
+        }
+
+        private void schedule(MonoSink<Void> sink, Runnable action) {
+            try {
+                scheduler.schedule(action);
+            } catch (RejectedExecutionException e) {
+                log.debug("Inbound worker is shut down, dropping frame");
+                sink.error(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.messenger.websocket.relay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.dto.RoomEventEnvelope;
+import com.messenger.websocket.dto.WebSocketMessage;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisRoomEventPublisher {
+
+    static final String ROOM_CHANNEL_PREFIX = "chat:room:";
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 인스턴스(JVM) 식별자
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public static String roomChannel(UUID roomId) {
+        return ROOM_CHANNEL_PREFIX + roomId;
+    }
+
+    public void publish(WebSocketMessage message) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(RoomEventEnvelope.builder()
+                    .origin(nodeId)
+                    .message(message)
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize room event for relay: {}", message.getType(), e);
+            return;
+        }
+
+        redisTemplate.convertAndSend(roomChannel(message.getRoomId()), payload)
+                .subscribe(
+                        receivers -> log.debug("Relayed {} to room {} ({} nodes)",
+                                message.getType(), message.getRoomId(), receivers),
+                        e -> log.error("Failed to relay {} to room {}: {}",
+                                message.getType(), message.getRoomId(), e.getMessage()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.messenger.websocket.relay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.message.service.RecentMessageCache;
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.RoomEventEnvelope;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.session.RoomSessionRegistry;
+import com.messenger.websocket.typing.TypingAggregator;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 로컬 세션이 있는 방의 채널만 구독한다.
+ * 방의 첫 로컬 세션이 JOIN 하면 구독하고, 마지막 로컬 세션이 떠나면 구독을 해제한다.
+ * 구독 중인 방만 RecentMessageCache 에 캐시되며, 다른 노드의 저장/삭제 이벤트를 캐시에도 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisRoomEventSubscriber {
+
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final RoomSessionRegistry roomSessionRegistry;
+    private final RoomBroadcaster roomBroadcaster;
+    private final RedisRoomEventPublisher publisher;
+    private final TypingAggregator typingAggregator;
+    private final RecentMessageCache recentMessageCache;
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, Disposable> subscriptions = new ConcurrentHashMap<>();
+    // Redis 가 SUBSCRIBE 를 확인한 방
+    private final Set<UUID> confirmedRooms = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 방의 로컬 세션 유무에 맞춰 채널 구독 상태를 맞춘다. 여러 번 호출해도 안전하다.
+     */
+    public void refresh(UUID roomId) {
+        subscriptions.compute(roomId, (id, current) -> {
+            boolean needed = roomSessionRegistry.hasSessions(id);
+            if (needed && current == null) {
+                return subscribe(id);
+            }
+            if (!needed && current != null) {
+                current.dispose();
+                confirmedRooms.remove(id);
+                recentMessageCache.untrack(id);
+                log.debug("Unsubscribed from room channel {}", id);
+                return null;
+            }
+            return current;
+        });
+    }
+
+    public boolean isSubscribed(UUID roomId) {
+        return confirmedRooms.contains(roomId);
+    }
+
+    private Disposable subscribe(UUID roomId) {
+        String channel = RedisRoomEventPublisher.roomChannel(roomId);
+        return listenerContainer.receiveLater(ChannelTopic.of(channel))
+                .doOnNext(messages -> {
+                    confirmedRooms.add(roomId);
+                    recentMessageCache.track(roomId);
+                    log.debug("Subscribed to room channel {}", channel);
+                })
+                .flatMapMany(Function.identity())
+                .subscribe(
+                        this::onMessage,
+                        e -> {
+                            confirmedRooms.remove(roomId);
+                            recentMessageCache.untrack(roomId);
+                            log.error("Room channel {} subscription failed: {}", channel, e.getMessage());
+                        });
+    }
+
+    private void onMessage(ReactiveSubscription.Message<String, String> message) {
+        RoomEventEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getMessage(), RoomEventEnvelope.class);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse relayed room event on {}: {}", message.getChannel(), e.getMessage());
+            return;
+        }
+
+        // 로컬에서 발행한 이벤트는 이미 전달되었다
+        if (publisher.getNodeId().equals(envelope.getOrigin())) {
+            return;
+        }
+        // 입력 중 전환은 바로 전달하지 않고 이 노드의 다이제스트에 반영한다
+        if (envelope.getMessage().getType() == MessageType.TYPING) {
+            typingAggregator.onRemoteTyping(envelope.getMessage());
+            return;
+        }
+        WebSocketMessage event = envelope.getMessage();
+        if (event.getType() == MessageType.CHAT) {
+            recentMessageCache.onChat(event);
+        } else if (event.getType() == MessageType.MESSAGE_DELETED) {
+            recentMessageCache.onDeleted(event.getRoomId(), event.getMessageId());
+        }
+        roomBroadcaster.deliverLocal(event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.keySet().forEach(recentMessageCache::untrack);
+        subscriptions.values().forEach(Disposable::dispose);
+        subscriptions.clear();
+        confirmedRooms.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package com.messenger.websocket.relay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.chatroom.event.RoomMembershipChangedEvent;
+import com.messenger.chatroom.service.RoomMembershipCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+/**
+ * 방 멤버 변경을 chat:room-membership 채널로 다른 노드에 알려 각 노드의 멤버십 캐시를 무효화한다.
+ * 로컬 캐시는 RoomMembershipCache 가 같은 이벤트를 직접 받아 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomMembershipRelay {
+
+    static final String MEMBERSHIP_CHANNEL = "chat:room-membership";
+
+    private final RoomMembershipCache roomMembershipCache;
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final RedisRoomEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = listenerContainer.receive(ChannelTopic.of(MEMBERSHIP_CHANNEL))
+                .subscribe(this::onMessage,
+                        e -> log.error("Room membership channel subscription failed: {}", e.getMessage()));
+    }
+
+    @EventListener
+    public void onMembershipChanged(RoomMembershipChangedEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new MembershipEnvelope(publisher.getNodeId(), event));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize membership change of room {}", event.getRoomId(), e);
+            return;
+        }
+        redisTemplate.convertAndSend(MEMBERSHIP_CHANNEL, payload)
+                .subscribe(null, e -> log.error("Failed to relay membership change of room {}: {}",
+                        event.getRoomId(), e.getMessage()));
+    }
+
+    private void onMessage(ReactiveSubscription.Message<String, String> message) {
+        MembershipEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getMessage(), MembershipEnvelope.class);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse relayed membership change: {}", e.getMessage());
+            return;
+        }
+        if (!publisher.getNodeId().equals(envelope.getOrigin())) {
+            RoomMembershipChangedEvent change = envelope.getChange();
+            roomMembershipCache.invalidate(change.getRoomId(), change.getChangedAt());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    private static class MembershipEnvelope {
+        private String origin;
+        private RoomMembershipChangedEvent change;
+    }
+}
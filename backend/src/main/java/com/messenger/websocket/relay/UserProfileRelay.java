@@ -0,0 +1,113 @@
+package com.messenger.websocket.relay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.message.service.RecentMessageCache;
+import com.messenger.user.event.UserProfileUpdatedEvent;
+import com.messenger.user.service.UserProfileCache;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.session.ChatSession;
+import com.messenger.websocket.session.RoomSessionRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+/**
+ * 사용자 프로필 변경을 세션 캐시에 반영한다.
+ * 로컬 변경은 즉시 적용하고 chat:user-profile 채널로 다른 노드에도 알린다.
+ * 다른 노드에서 온 변경은 이 노드의 UserProfileCache, RecentMessageCache 에도 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileRelay {
+
+    static final String PROFILE_CHANNEL = "chat:user-profile";
+
+    private final RoomSessionRegistry roomSessionRegistry;
+    private final UserProfileCache userProfileCache;
+    private final RecentMessageCache recentMessageCache;
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final RedisRoomEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = listenerContainer.receive(ChannelTopic.of(PROFILE_CHANNEL))
+                .subscribe(this::onMessage,
+                        e -> log.error("User profile channel subscription failed: {}", e.getMessage()));
+    }
+
+    @EventListener
+    public void onProfileUpdated(UserProfileUpdatedEvent event) {
+        refreshSessions(event);
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new ProfileEnvelope(publisher.getNodeId(), event));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize profile update for user {}", event.getUserId(), e);
+            return;
+        }
+        redisTemplate.convertAndSend(PROFILE_CHANNEL, payload)
+                .subscribe(null, e -> log.error("Failed to relay profile update for user {}: {}",
+                        event.getUserId(), e.getMessage()));
+    }
+
+    private void onMessage(ReactiveSubscription.Message<String, String> message) {
+        ProfileEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getMessage(), ProfileEnvelope.class);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse relayed profile update: {}", e.getMessage());
+            return;
+        }
+        if (!publisher.getNodeId().equals(envelope.getOrigin())) {
+            userProfileCache.invalidate(envelope.getProfile().getUserId());
+            recentMessageCache.onProfileUpdated(envelope.getProfile());
+            refreshSessions(envelope.getProfile());
+        }
+    }
+
+    private void refreshSessions(UserProfileUpdatedEvent event) {
+        WebSocketMessage.SenderInfo sender = WebSocketMessage.SenderInfo.builder()
+                .id(event.getUserId())
+                .displayName(event.getDisplayName())
+                .avatarUrl(event.getAvatarUrl())
+                .build();
+
+        // 사용자 → 세션 색인으로 그 사용자의 세션만 갱신한다
+        int refreshed = 0;
+        for (ChatSession session : roomSessionRegistry.sessionsOfUser(event.getUserId())) {
+            session.updateSender(sender);
+            refreshed++;
+        }
+        log.debug("Refreshed profile of user {} on {} sessions", event.getUserId(), refreshed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    private static class ProfileEnvelope {
+        private String origin;
+        private UserProfileUpdatedEvent profile;
+    }
+}
@@ -0,0 +1,58 @@
+package com.messenger.websocket.replay;
+
+import com.messenger.websocket.broadcast.EncodedFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 방의 최근 이벤트를 순번(seq % capacity) 위치에 보관하는 고정 크기 링 버퍼.
+ * 요청한 구간이 모두 버퍼에 남아 있을 때만 재전송 목록을 돌려준다.
+ */
+class RoomEventRing {
+
+    private final long[] seqs;
+    private final EncodedFrame[] frames;
+    private long highestSeq;
+
+    RoomEventRing(int capacity) {
+        this.seqs = new long[capacity];
+        this.frames = new EncodedFrame[capacity];
+    }
+
+    synchronized void record(long seq, EncodedFrame frame) {
+        int slot = slot(seq);
+        seqs[slot] = seq;
+        frames[slot] = frame;
+        if (seq > highestSeq) {
+            highestSeq = seq;
+        }
+    }
+
+    /**
+     * lastSeq 이후의 프레임을 순번 순서대로 돌려준다.
+     * 구간의 일부라도 버퍼에 없으면(덮어쓰였거나 이 노드가 받지 못한 경우) null.
+     */
+    synchronized List<EncodedFrame> since(long lastSeq) {
+        if (lastSeq >= highestSeq) {
+            return List.of();
+        }
+        if (highestSeq - lastSeq > seqs.length) {
+            return null;
+        }
+
+        List<EncodedFrame> gap = new ArrayList<>((int) (highestSeq - lastSeq));
+        for (long seq = lastSeq + 1; seq <= highestSeq; seq++) {
+            int slot = slot(seq);
+            if (seqs[slot] != seq) {
+                return null;
+            }
+            gap.add(frames[slot]);
+        }
+        return gap;
+    }
+
+    private int slot(long seq) {
+        return (int) Math.floorMod(seq, (long) seqs.length);
+    }
+}
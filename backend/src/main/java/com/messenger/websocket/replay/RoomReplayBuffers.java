@@ -0,0 +1,50 @@
+package com.messenger.websocket.replay;
+
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.session.RoomSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 노드에 구독 세션이 있는 방(활성 방)별 링 버퍼.
+ * 마지막 로컬 세션이 방을 떠나면 버퍼도 버린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomReplayBuffers {
+
+    private final RoomSessionRegistry roomSessionRegistry;
+    private final WebSocketProperties webSocketProperties;
+
+    private final Map<UUID, RoomEventRing> rings = new ConcurrentHashMap<>();
+
+    public void record(UUID roomId, long seq, EncodedFrame frame) {
+        if (!roomSessionRegistry.hasSessions(roomId)) {
+            return;
+        }
+        rings.computeIfAbsent(roomId, id -> new RoomEventRing(webSocketProperties.getReplay().getBufferSize()))
+                .record(seq, frame);
+    }
+
+    /**
+     * lastSeq 이후 구간을 버퍼에서 찾는다. 버퍼로 채울 수 없으면 null.
+     */
+    public List<EncodedFrame> since(UUID roomId, long lastSeq) {
+        RoomEventRing ring = rings.get(roomId);
+        return ring != null ? ring.since(lastSeq) : null;
+    }
+
+    public void evictIfInactive(UUID roomId) {
+        rings.computeIfPresent(roomId, (id, ring) -> roomSessionRegistry.hasSessions(id) ? ring : null);
+    }
+
+    public int activeRooms() {
+        return rings.size();
+    }
+}
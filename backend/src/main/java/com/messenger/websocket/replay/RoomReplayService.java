@@ -0,0 +1,140 @@
+package com.messenger.websocket.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.messenger.message.entity.Message;
+import com.messenger.message.repository.MessageRepository;
+import com.messenger.user.entity.User;
+import com.messenger.user.repository.UserRepository;
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.broadcast.FrameEncoder;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.session.ChatSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 재연결한 세션에 lastSeq 이후 놓친 메시지를 재전송한다.
+ * 방의 링 버퍼로 채울 수 있으면 메모리에서 보내고, 버퍼보다 오래된 구간만 DB 에서 조회한다.
+ */
+@Slf4j
+@Service
+public class RoomReplayService {
+
+    private final RoomReplayBuffers roomReplayBuffers;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final FrameEncoder frameEncoder;
+    private final WebSocketProperties webSocketProperties;
+
+    private final Counter bufferReplays;
+    private final Counter databaseReplays;
+    private final Counter truncatedReplays;
+
+    public RoomReplayService(RoomReplayBuffers roomReplayBuffers,
+                             MessageRepository messageRepository,
+                             UserRepository userRepository,
+                             FrameEncoder frameEncoder,
+                             WebSocketProperties webSocketProperties,
+                             MeterRegistry meterRegistry) {
+        this.roomReplayBuffers = roomReplayBuffers;
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.frameEncoder = frameEncoder;
+        this.webSocketProperties = webSocketProperties;
+        this.bufferReplays = replayCounter(meterRegistry, "buffer");
+        this.databaseReplays = replayCounter(meterRegistry, "database");
+        this.truncatedReplays = replayCounter(meterRegistry, "truncated");
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("websocket.replay")
+                .description("Reconnect replays by the source that served the gap")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    public Mono<Void> replay(ChatSession chatSession, UUID roomId, long lastSeq) {
+        List<EncodedFrame> buffered = roomReplayBuffers.since(roomId, lastSeq);
+        if (buffered != null) {
+            bufferReplays.increment();
+            buffered.forEach(chatSession::send);
+            log.debug("Replayed {} buffered events to session {} in room {}", buffered.size(), chatSession.getId(), roomId);
+            return Mono.empty();
+        }
+        return replayFromDatabase(chatSession, roomId, lastSeq);
+    }
+
+    private Mono<Void> replayFromDatabase(ChatSession chatSession, UUID roomId, long lastSeq) {
+        int limit = webSocketProperties.getReplay().getMaxDatabaseMessages();
+
+        // limit + 1 개를 조회해 구간이 한도를 넘는지 판단한다
+        return messageRepository.findByRoomIdAfterSeq(roomId, lastSeq, limit + 1)
+                .collectList()
+                .flatMap(messages -> {
+                    if (messages.size() > limit) {
+                        truncatedReplays.increment();
+                        sendTruncated(chatSession, roomId);
+                        return Mono.<Void>empty();
+                    }
+                    databaseReplays.increment();
+                    return sendMessages(chatSession, messages);
+                });
+    }
+
+    private Mono<Void> sendMessages(ChatSession chatSession, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return Mono.empty();
+        }
+
+        List<UUID> senderIds = messages.stream().map(Message::getSenderId).distinct().toList();
+        return userRepository.findAllById(senderIds)
+                .collectMap(User::getId, Function.identity())
+                .doOnNext(senders -> messages.forEach(message -> send(chatSession, toChatMessage(message, senders))))
+                .then();
+    }
+
+    // 한도를 넘는 구간은 재전송하지 않고, 클라이언트가 REST 로 최근 메시지를 다시 불러오게 한다
+    private void sendTruncated(ChatSession chatSession, UUID roomId) {
+        send(chatSession, WebSocketMessage.builder()
+                .type(MessageType.ERROR)
+                .roomId(roomId)
+                .errorCode("REPLAY_TRUNCATED")
+                .errorMessage("Too many missed messages, reload the room")
+                .build());
+    }
+
+    private WebSocketMessage toChatMessage(Message message, Map<UUID, User> senders) {
+        User user = senders.get(message.getSenderId());
+        return WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(message.getRoomId())
+                .messageId(message.getId())
+                .seq(message.getRoomSeq())
+                .content(message.getContent())
+                .sender(WebSocketMessage.SenderInfo.builder()
+                        .id(message.getSenderId())
+                        .displayName(user != null ? user.getDisplayName() : null)
+                        .avatarUrl(user != null ? user.getAvatarUrl() : null)
+                        .build())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+
+    private void send(ChatSession chatSession, WebSocketMessage message) {
+        try {
+            chatSession.send(frameEncoder.encode(message));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize replay {} for session {}", message.getType(), chatSession.getId(), e);
+        }
+    }
+}
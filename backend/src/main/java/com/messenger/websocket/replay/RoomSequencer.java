@@ -0,0 +1,60 @@
+package com.messenger.websocket.replay;
+
+import com.messenger.message.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 방별 단조 증가 순번. 모든 노드가 같은 Redis 카운터(INCRBY)를 사용한다.
+ * 카운터가 없으면 DB 의 마지막 순번으로 먼저 SET NX 한 뒤에만 순번을 내준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomSequencer {
+
+    private static final String SEQUENCE_KEY_PREFIX = "chat:room-seq:";
+
+    // 카운터가 있을 때만 INCRBY. 없으면 0 (count >= 1 이므로 정상 결과와 겹치지 않는다)
+    private static final RedisScript<Long> INCRBY_IF_EXISTS = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return redis.call('INCRBY', KEYS[1], ARGV[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final MessageRepository messageRepository;
+
+    public Mono<Long> next(UUID roomId) {
+        return reserve(roomId, 1);
+    }
+
+    /**
+     * 연속된 순번 count 개를 한 번의 INCRBY 로 예약한다.
+     *
+     * @return 예약한 구간의 첫 순번
+     */
+    public Mono<Long> reserve(UUID roomId, long count) {
+        String key = SEQUENCE_KEY_PREFIX + roomId;
+        return redisTemplate.execute(INCRBY_IF_EXISTS, List.of(key), List.of(Long.toString(count)))
+                .next()
+                .flatMap(last -> last == 0L
+                        ? seed(roomId, key).then(redisTemplate.opsForValue().increment(key, count))
+                        : Mono.just(last))
+                .map(last -> last - count + 1);
+    }
+
+    // 카운터가 없던 경우(새 방 또는 Redis 데이터 유실): DB 에 저장된 마지막 순번으로 맞춘다.
+    // 동시에 여러 호출자가 와도 SET NX 는 하나만 성공하고, 모두 그 뒤에 INCRBY 하므로 순번이 겹치지 않는다
+    private Mono<Boolean> seed(UUID roomId, String key) {
+        return messageRepository.findMaxRoomSeq(roomId)
+                .defaultIfEmpty(0L)
+                .flatMap(maxSeq -> redisTemplate.opsForValue().setIfAbsent(key, Long.toString(maxSeq)));
+    }
+}
@@ -0,0 +1,168 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * WebSocket 연결 하나에 대한 서버 측 상태.
+ * 브로드캐스트는 전역 Sink 대신 세션별 송신 대기열로 직접 전달된다.
+ * 발신자 프로필은 핸드셰이크 때 한 번 조회해 두고, 프로필 변경 이벤트로만 갱신한다.
+ * ping 같은 제어 프레임은 송신 대기열을 거치지 않고 별도 Sink 로 나간다.
+ * 인증은 토큰 만료 시각까지만 유효하며, AUTH_REFRESH 로 연장한다.
+ */
+@Slf4j
+@Getter
+public class ChatSession {
+
+    private static final CloseStatus SLOW_CONSUMER = CloseStatus.SERVICE_OVERLOAD.withReason("Slow consumer");
+    private static final CloseStatus IDLE_TIMEOUT = CloseStatus.GOING_AWAY.withReason("Idle timeout");
+    private static final CloseStatus AUTH_EXPIRED = CloseStatus.POLICY_VIOLATION.withReason("Token expired");
+    private static final long UNKNOWN_RTT = -1;
+
+    private final String id;
+    private final WebSocketSession session;
+    private final UUID userId;
+    // 인증되지 않은 세션이면 null. 갱신 시 인스턴스를 통째로 교체한다
+    private volatile WebSocketMessage.SenderInfo sender;
+
+    @Getter(AccessLevel.NONE)
+    private final SessionOutbound outbound;
+    @Getter(AccessLevel.NONE)
+    private final Sinks.Many<org.springframework.web.reactive.socket.WebSocketMessage> control =
+            Sinks.many().unicast().onBackpressureBuffer();
+
+    // 마지막으로 프레임(텍스트, pong 포함)을 받은 시점
+    @Getter(AccessLevel.NONE)
+    private volatile long lastSeenNanos = System.nanoTime();
+    @Getter(AccessLevel.NONE)
+    private volatile long rttNanos = UNKNOWN_RTT;
+    // 핸드셰이크 또는 마지막 AUTH_REFRESH 토큰의 만료 시각 (null 이면 만료 없음)
+    @Getter(AccessLevel.NONE)
+    private volatile Instant authExpiresAt;
+
+    public ChatSession(WebSocketSession session, WebSocketMessage.SenderInfo sender,
+                       WebSocketProperties.Outbound outboundProperties, OutboundMetrics outboundMetrics,
+                       LongSupplier eventLoopLag) {
+        this.id = session.getId();
+        this.session = session;
+        this.userId = sender != null ? sender.getId() : null;
+        this.sender = sender;
+        this.outbound = new SessionOutbound(outboundProperties, outboundMetrics, eventLoopLag, this::closeSlowConsumer);
+    }
+
+    public void updateSender(WebSocketMessage.SenderInfo sender) {
+        this.sender = sender;
+    }
+
+    public void renewAuthentication(Instant expiresAt) {
+        this.authExpiresAt = expiresAt;
+    }
+
+    public boolean isAuthenticationExpired(Instant now) {
+        Instant expiresAt = authExpiresAt;
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    public void enableBatching() {
+        outbound.enableBatching();
+    }
+
+    public void send(EncodedFrame frame) {
+        outbound.offer(frame);
+    }
+
+    public Flux<EncodedFrame> outbound() {
+        return outbound.flux();
+    }
+
+    public Flux<org.springframework.web.reactive.socket.WebSocketMessage> control() {
+        return control.asFlux();
+    }
+
+    public void markSeen() {
+        lastSeenNanos = System.nanoTime();
+    }
+
+    public long idleNanos(long nowNanos) {
+        return nowNanos - lastSeenNanos;
+    }
+
+    /**
+     * 보낸 시각(nanoTime)을 payload 에 담은 protocol-level ping 을 보낸다.
+     */
+    public void ping(long nowNanos) {
+        control.tryEmitNext(session.pingMessage(factory ->
+                factory.wrap(ByteBuffer.allocate(Long.BYTES).putLong(nowNanos).flip())));
+    }
+
+    /**
+     * @return ping payload 로 계산한 왕복 시간(ns). payload 가 ping 형식이 아니면 -1
+     */
+    long recordPong(ByteBuffer payload, long nowNanos) {
+        if (payload.remaining() < Long.BYTES) {
+            return UNKNOWN_RTT;
+        }
+        long rtt = nowNanos - payload.getLong();
+        if (rtt < 0) {
+            return UNKNOWN_RTT;
+        }
+        rttNanos = rtt;
+        return rtt;
+    }
+
+    /**
+     * @return 마지막으로 측정한 왕복 시간(ms). 아직 측정 전이면 -1
+     */
+    public long rttMillis() {
+        long rtt = rttNanos;
+        return rtt == UNKNOWN_RTT ? UNKNOWN_RTT : rtt / 1_000_000;
+    }
+
+    public int queueDepth() {
+        return outbound.depth();
+    }
+
+    public long droppedFrames() {
+        return outbound.dropped();
+    }
+
+    public long coalescedFrames() {
+        return outbound.coalesced();
+    }
+
+    public void close() {
+        outbound.complete();
+        control.tryEmitComplete();
+    }
+
+    void closeIdle() {
+        log.info("Closing idle session {} (user {})", id, userId);
+        session.close(IDLE_TIMEOUT).subscribe(
+                null, e -> log.debug("Failed to close idle session {}: {}", id, e.getMessage()));
+    }
+
+    void closeExpired() {
+        log.info("Closing session {} (user {}) with an expired token", id, userId);
+        session.close(AUTH_EXPIRED).subscribe(
+                null, e -> log.debug("Failed to close expired session {}: {}", id, e.getMessage()));
+    }
+
+    private void closeSlowConsumer() {
+        log.warn("Closing slow consumer session {} (user {})", id, userId);
+        session.close(SLOW_CONSUMER).subscribe(
+                null, e -> log.debug("Failed to close slow consumer session {}: {}", id, e.getMessage()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.concurrent.EventExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 서버 이벤트 루프 지연 측정.
+ * 주기마다 각 이벤트 루프에 빈 작업을 넣고 실행되기까지 걸린 시간을 잰다.
+ * 이전 측정 작업이 아직 실행되지 않은 루프는 그동안 기다린 시간을 지연으로 본다.
+ * 송신 대기열은 가장 느린 루프의 지연을 기준으로 일시적 이벤트를 버린다.
+ */
+@Slf4j
+@Component
+public class EventLoopLagMonitor {
+
+    private final Duration probeInterval;
+    private final Map<EventExecutor, Long> lagByLoop = new ConcurrentHashMap<>();
+    private final Map<EventExecutor, Long> pendingSince = new ConcurrentHashMap<>();
+    private volatile long lagNanos;
+
+    private Scheduler scheduler;
+    private Disposable ticker;
+
+    public EventLoopLagMonitor(WebSocketProperties webSocketProperties, MeterRegistry meterRegistry) {
+        this.probeInterval = webSocketProperties.getOutbound().getShedding().getLagProbeInterval();
+        Gauge.builder("websocket.eventloop.lag", this, monitor -> monitor.lagNanos() / 1_000_000.0)
+                .description("Worst observed task queueing delay across server event loops")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Schedulers.newSingle("ws-eventloop-lag", true);
+        ticker = Flux.interval(probeInterval, scheduler)
+                .subscribe(t -> probe(HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE)),
+                        e -> log.error("Event loop lag monitor terminated", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    public long lagNanos() {
+        return lagNanos;
+    }
+
+    void probe(Iterable<EventExecutor> loops) {
+        long now = System.nanoTime();
+        for (EventExecutor loop : loops) {
+            Long since = pendingSince.putIfAbsent(loop, now);
+            if (since != null) {
+                // 이전 측정 작업이 아직 실행되지 않았다
+                record(loop, now - since);
+                continue;
+            }
+            try {
+                loop.execute(() -> {
+                    pendingSince.remove(loop);
+                    record(loop, System.nanoTime() - now);
+                });
+            } catch (RejectedExecutionException e) {
+                pendingSince.remove(loop);
+                lagByLoop.remove(loop);
+            }
+        }
+    }
+
+    private void record(EventExecutor loop, long lag) {
+        lagByLoop.put(loop, lag);
+        long worst = 0;
+        for (long value : lagByLoop.values()) {
+            worst = Math.max(worst, value);
+        }
+        lagNanos = worst;
+    }
+}
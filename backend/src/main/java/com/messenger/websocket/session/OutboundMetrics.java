@@ -0,0 +1,52 @@
+package com.messenger.websocket.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboundMetrics {
+
+    private final Counter evicted;
+    private final Counter rejected;
+    private final Counter coalesced;
+    private final Counter shed;
+    private final Counter slowConsumerClosed;
+
+    public OutboundMetrics(MeterRegistry meterRegistry) {
+        this.evicted = dropCounter(meterRegistry, "evicted");
+        this.rejected = dropCounter(meterRegistry, "rejected");
+        this.coalesced = dropCounter(meterRegistry, "coalesced");
+        this.shed = dropCounter(meterRegistry, "shed");
+        this.slowConsumerClosed = Counter.builder("websocket.outbound.slow_consumer.closed")
+                .description("Sessions closed because they stopped draining their outbound queue")
+                .register(meterRegistry);
+    }
+
+    private static Counter dropCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("websocket.outbound.dropped")
+                .description("Outbound frames dropped from per-session queues")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    void recordEvicted() {
+        evicted.increment();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    void recordShed() {
+        shed.increment();
+    }
+
+    void recordSlowConsumerClosed() {
+        slowConsumerClosed.increment();
+    }
+}
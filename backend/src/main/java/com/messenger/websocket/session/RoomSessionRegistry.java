@@ -0,0 +1,190 @@
+package com.messenger.websocket.session;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 연결된 세션과 채팅방별 구독 세션 목록.
+ * 방 X 의 이벤트는 방 X 에 JOIN 한 세션만 순회한다.
+ * 세션 → 방 역색인을 함께 유지해 연결 종료 시 그 세션이 JOIN 한 방만 정리하고,
+ * 마지막 세션이 떠난 방의 항목은 바로 제거한다.
+ * 방마다 사용자별 세션 수를 세어, 사용자의 첫 세션이 들어오거나 마지막 세션이 나갈 때만 입/퇴장으로 본다.
+ * 사용자 → 세션 색인도 두어 프로필 변경 시 전체 세션을 훑지 않고 그 사용자의 세션만 찾는다.
+ */
+@Component
+public class RoomSessionRegistry {
+
+    private final Map<String, ChatSession> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, RoomMembers> roomSessions = new ConcurrentHashMap<>();
+    // 세션별 JOIN 한 방. 세션의 방 목록 변경은 이 Set 을 잠그고 수행한다
+    private final Map<String, Set<UUID>> sessionRooms = new ConcurrentHashMap<>();
+    // 사용자별 연결된 세션. 변경은 compute 안에서만 하고 마지막 세션이 끊기면 항목을 제거한다
+    private final Map<UUID, Set<ChatSession>> userSessions = new ConcurrentHashMap<>();
+
+    public void register(ChatSession session) {
+        sessionRooms.put(session.getId(), new HashSet<>());
+        sessions.put(session.getId(), session);
+        if (session.getUserId() != null) {
+            userSessions.compute(session.getUserId(), (userId, owned) -> {
+                Set<ChatSession> updated = owned != null ? owned : ConcurrentHashMap.newKeySet();
+                updated.add(session);
+                return updated;
+            });
+        }
+    }
+
+    public Collection<ChatSession> connectedSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * 여러 방에 한 번에 JOIN 한다. 세션의 방 목록 잠금은 한 번만 잡는다.
+     *
+     * @return 이번에 새로 JOIN 한 방별 결과 (이미 JOIN 한 방과 종료된 세션은 빠진다)
+     */
+    public List<RoomJoin> joinAll(Collection<UUID> roomIds, ChatSession session) {
+        Set<UUID> rooms = sessionRooms.get(session.getId());
+        if (rooms == null) {
+            return List.of();
+        }
+
+        synchronized (rooms) {
+            if (sessionRooms.get(session.getId()) != rooms) {
+                return List.of();
+            }
+            List<RoomJoin> joined = new ArrayList<>(roomIds.size());
+            for (UUID roomId : roomIds) {
+                if (rooms.add(roomId)) {
+                    joined.add(addToRoom(roomId, session));
+                }
+            }
+            return joined;
+        }
+    }
+
+    /**
+     * @return 사용자의 마지막 세션이 방을 떠났으면 true
+     */
+    public boolean leave(UUID roomId, ChatSession session) {
+        Set<UUID> rooms = sessionRooms.get(session.getId());
+        if (rooms == null) {
+            return false;
+        }
+
+        synchronized (rooms) {
+            return rooms.remove(roomId) && removeFromRoom(roomId, session);
+        }
+    }
+
+    /**
+     * 세션이 JOIN 한 방 수에 비례하는 시간에 세션을 제거한다.
+     *
+     * @return 세션이 빠져나간 방 목록
+     */
+    public Set<UUID> removeSession(ChatSession session) {
+        sessions.remove(session.getId());
+        if (session.getUserId() != null) {
+            userSessions.computeIfPresent(session.getUserId(), (userId, owned) -> {
+                owned.remove(session);
+                return owned.isEmpty() ? null : owned;
+            });
+        }
+        Set<UUID> rooms = sessionRooms.remove(session.getId());
+        if (rooms == null) {
+            return Collections.emptySet();
+        }
+
+        synchronized (rooms) {
+            Set<UUID> leftRooms = Set.copyOf(rooms);
+            for (UUID roomId : leftRooms) {
+                removeFromRoom(roomId, session);
+            }
+            rooms.clear();
+            return leftRooms;
+        }
+    }
+
+    private RoomJoin addToRoom(UUID roomId, ChatSession session) {
+        RoomJoin[] joined = new RoomJoin[1];
+        roomSessions.compute(roomId, (id, members) -> {
+            RoomMembers updated = members != null ? members : new RoomMembers();
+            boolean firstUserSession = updated.sessions.add(session) && session.getUserId() != null
+                    && updated.userSessions.merge(session.getUserId(), 1, Integer::sum) == 1;
+            joined[0] = new RoomJoin(id, updated.sessions.size(), firstUserSession);
+            return updated;
+        });
+        return joined[0];
+    }
+
+    // 마지막 세션이 빠지면 방 항목을 제거한다. 사용자의 마지막 세션이었으면 true
+    private boolean removeFromRoom(UUID roomId, ChatSession session) {
+        boolean[] lastUserSession = new boolean[1];
+        roomSessions.computeIfPresent(roomId, (id, members) -> {
+            if (members.sessions.remove(session) && session.getUserId() != null) {
+                lastUserSession[0] = members.userSessions.computeIfPresent(session.getUserId(),
+                        (userId, count) -> count > 1 ? count - 1 : null) == null;
+            }
+            return members.sessions.isEmpty() ? null : members;
+        });
+        return lastUserSession[0];
+    }
+
+    public boolean hasSessions(UUID roomId) {
+        RoomMembers members = roomSessions.get(roomId);
+        return members != null && !members.sessions.isEmpty();
+    }
+
+    public Set<ChatSession> sessionsOf(UUID roomId) {
+        RoomMembers members = roomSessions.get(roomId);
+        return members != null ? members.sessions : Collections.emptySet();
+    }
+
+    /**
+     * 이 노드에 연결된 사용자의 세션. 사용자의 세션 수에 비례하는 시간에 찾는다.
+     */
+    public Set<ChatSession> sessionsOfUser(UUID userId) {
+        Set<ChatSession> owned = userSessions.get(userId);
+        return owned != null ? Collections.unmodifiableSet(owned) : Collections.emptySet();
+    }
+
+    public Set<UUID> roomsOf(ChatSession session) {
+        Set<UUID> rooms = sessionRooms.get(session.getId());
+        if (rooms == null) {
+            return Collections.emptySet();
+        }
+        synchronized (rooms) {
+            return Set.copyOf(rooms);
+        }
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public int roomCount() {
+        return roomSessions.size();
+    }
+
+    /**
+     * @param roomSize         JOIN 이후 해당 방의 로컬 세션 수
+     * @param firstUserSession 이 노드에서 사용자의 첫 세션이 방에 들어왔는지
+     */
+    public record RoomJoin(UUID roomId, int roomSize, boolean firstUserSession) {
+    }
+
+    // 방 하나의 세션 집합과 사용자별 세션 수. 변경은 roomSessions.compute 안에서만 한다
+    private static final class RoomMembers {
+        private final Set<ChatSession> sessions = ConcurrentHashMap.newKeySet();
+        private final Map<UUID, Integer> userSessions = new HashMap<>();
+    }
+}
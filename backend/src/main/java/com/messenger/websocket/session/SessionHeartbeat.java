@@ -0,0 +1,169 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 모든 세션이 공유하는 heartbeat 타이머 휠.
+ * 세션은 등록 시 휠의 한 칸에 배정되고, 단일 스케줄러가 tick 마다 한 칸씩 돌며
+ * 그 칸의 세션에 ping 을 보내거나 idleTimeout 을 넘긴 세션을 정리한다.
+ * 따라서 각 세션은 pingInterval 마다 한 번씩 방문되고, 세션별 예약 작업은 만들지 않는다.
+ * 토큰이 만료된 세션도 같은 방문에서 닫는다 (최대 pingInterval 만큼 늦을 수 있다).
+ */
+@Slf4j
+@Component
+public class SessionHeartbeat {
+
+    private final Duration tick;
+    private final long idleTimeoutNanos;
+    private final List<Set<Entry>> wheel;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private int cursor;
+
+    private final Counter reaped;
+    private final Counter expired;
+    private final Timer rtt;
+
+    private Scheduler scheduler;
+    private Disposable ticker;
+
+    public SessionHeartbeat(WebSocketProperties webSocketProperties, MeterRegistry meterRegistry) {
+        WebSocketProperties.Heartbeat properties = webSocketProperties.getHeartbeat();
+        this.tick = properties.getTick();
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+
+        int slots = (int) Math.max(1, properties.getPingInterval().toMillis() / tick.toMillis());
+        this.wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+
+        this.reaped = Counter.builder("websocket.sessions.reaped")
+                .description("Sessions closed by the heartbeat reaper after the idle timeout")
+                .register(meterRegistry);
+        this.expired = Counter.builder("websocket.sessions.expired")
+                .description("Sessions closed because their access token expired without AUTH_REFRESH")
+                .register(meterRegistry);
+        this.rtt = Timer.builder("websocket.heartbeat.rtt")
+                .description("Round-trip time between server ping and client pong")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Schedulers.newSingle("ws-heartbeat", true);
+        ticker = Flux.interval(tick, scheduler)
+                .subscribe(t -> tick(), e -> log.error("Heartbeat wheel terminated", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * @param onReap 세션이 idleTimeout 또는 토큰 만료로 정리될 때 방 구독 등을 해제하는 콜백
+     */
+    public void register(ChatSession session, Runnable onReap) {
+        int slot = Math.floorMod(nextSlot.getAndIncrement(), wheel.size());
+        Entry entry = new Entry(session, slot, onReap);
+        entries.put(session.getId(), entry);
+        wheel.get(slot).add(entry);
+    }
+
+    public void unregister(ChatSession session) {
+        Entry entry = entries.remove(session.getId());
+        if (entry != null) {
+            wheel.get(entry.slot()).remove(entry);
+        }
+    }
+
+    /**
+     * 수신한 PONG 의 payload 로 RTT 를 기록한다.
+     */
+    public void onPong(ChatSession session, WebSocketMessage message) {
+        DataBuffer payload = message.getPayload();
+        byte[] bytes = new byte[payload.readableByteCount()];
+        payload.read(bytes);
+        long rttNanos = session.recordPong(ByteBuffer.wrap(bytes), System.nanoTime());
+        if (rttNanos >= 0) {
+            rtt.record(rttNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int registeredSessions() {
+        return entries.size();
+    }
+
+    // 휠 스케줄러 스레드에서만 호출된다
+    void tick() {
+        Set<Entry> due = wheel.get(cursor);
+        cursor = (cursor + 1) % wheel.size();
+
+        long now = System.nanoTime();
+        Instant wallClock = Instant.now();
+        for (Entry entry : due) {
+            ChatSession session = entry.session();
+            if (session.idleNanos(now) >= idleTimeoutNanos) {
+                reap(entry);
+            } else if (session.isAuthenticationExpired(wallClock)) {
+                expire(entry);
+            } else {
+                session.ping(now);
+            }
+        }
+    }
+
+    private void reap(Entry entry) {
+        unregister(entry.session());
+        reaped.increment();
+        log.info("Reaping idle session {} (user {})", entry.session().getId(), entry.session().getUserId());
+        try {
+            entry.onReap().run();
+        } finally {
+            entry.session().closeIdle();
+        }
+    }
+
+    private void expire(Entry entry) {
+        unregister(entry.session());
+        expired.increment();
+        try {
+            entry.onReap().run();
+        } finally {
+            entry.session().closeExpired();
+        }
+    }
+
+    private record Entry(ChatSession session, int slot, Runnable onReap) {
+    }
+}
@@ -0,0 +1,340 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.dto.WebSocketProperties.SlowConsumerPolicy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 세션별 크기 제한 송신 대기열.
+ * 느린 클라이언트 하나가 다른 세션의 전달을 막거나 메모리를 무한히 쓰지 않도록
+ * 가득 찼을 때의 동작은 {@link SlowConsumerPolicy} 로 정한다.
+ * 다운스트림 요청량(WebSocket 쓰기 가능 여부)만큼만 꺼내 보낸다.
+ *
+ * 대기열은 우선순위 레인으로 나뉜다: 채팅(및 ACK/ERROR 등) → 입/퇴장 → 타이핑 순으로 꺼내며,
+ * 대기열 길이나 이벤트 루프 지연이 임계치를 넘으면 타이핑, 입/퇴장 순으로 새 이벤트를 버린다(shedding).
+ *
+ * 배치 모드에서는 직전 전송 후 linger 가 지나기 전에 쌓인 이벤트를 창이 끝날 때 BATCH 프레임 하나로 보낸다.
+ * 조용한 방에서는 창이 이미 지나 있으므로 이벤트가 지연 없이 단일 프레임으로 나간다.
+ */
+public class SessionOutbound {
+
+    private static final int NOT_DROPPABLE = 0;
+    private static final int PRESENCE_RANK = 1;
+    private static final int TYPING_RANK = 2;
+    private static final int NO_SHEDDING = Integer.MAX_VALUE;
+
+    private final int capacity;
+    private final SlowConsumerPolicy policy;
+    private final long stallTimeoutNanos;
+    private final int shedTypingDepth;
+    private final int shedPresenceDepth;
+    private final long shedTypingLagNanos;
+    private final long shedPresenceLagNanos;
+    private final LongSupplier eventLoopLag;
+    private final OutboundMetrics metrics;
+    private final Runnable onSlowConsumer;
+    private final long lingerNanos;
+    private final int maxBatchFrames;
+
+    // 인덱스 = dropRank. 0 번 레인이 가장 먼저 나간다
+    private final ArrayDeque<EncodedFrame>[] lanes;
+    private int size;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private volatile FluxSink<EncodedFrame> sink;
+    private volatile boolean terminated;
+    private volatile boolean batching;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // 마지막으로 프레임을 내보낸 시점 (배치 모드의 linger 창 기준)
+    private long lastFlushNanos;
+    // 대기열이 비어 있지 않게 된 시점 또는 마지막으로 프레임을 내보낸 시점
+    private volatile long lastProgressNanos = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    public SessionOutbound(WebSocketProperties.Outbound properties, OutboundMetrics metrics,
+                           LongSupplier eventLoopLag, Runnable onSlowConsumer) {
+        this.capacity = properties.getQueueCapacity();
+        this.policy = properties.getSlowConsumerPolicy();
+        this.stallTimeoutNanos = properties.getStallTimeout().toNanos();
+        WebSocketProperties.Shedding shedding = properties.getShedding();
+        this.shedTypingDepth = depthThreshold(shedding.getTypingQueueRatio());
+        this.shedPresenceDepth = depthThreshold(shedding.getPresenceQueueRatio());
+        this.shedTypingLagNanos = shedding.getTypingEventLoopLag().toNanos();
+        this.shedPresenceLagNanos = shedding.getPresenceEventLoopLag().toNanos();
+        this.eventLoopLag = eventLoopLag;
+        this.metrics = metrics;
+        this.onSlowConsumer = onSlowConsumer;
+        this.lingerNanos = properties.getBatching().getLinger().toNanos();
+        this.maxBatchFrames = properties.getBatching().getMaxFrames();
+        this.lastFlushNanos = System.nanoTime() - lingerNanos;
+        this.lanes = new ArrayDeque[TYPING_RANK + 1];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    public Flux<EncodedFrame> flux() {
+        return Flux.create(emitter -> {
+            sink = emitter;
+            emitter.onRequest(n -> drain());
+            emitter.onDispose(this::terminate);
+            drain();
+        });
+    }
+
+    /**
+     * 핸드셰이크에서 배치 전송을 요청한 세션. 첫 프레임을 보내기 전에 호출한다.
+     */
+    public void enableBatching() {
+        batching = true;
+    }
+
+    public void offer(EncodedFrame frame) {
+        if (terminated) {
+            return;
+        }
+
+        int rank = dropRank(frame);
+        boolean slowConsumer = false;
+        synchronized (lanes) {
+            if (rank != NOT_DROPPABLE && rank >= shedRank()) {
+                shed();
+                slowConsumer = stalled();
+            } else if (policy == SlowConsumerPolicy.COALESCE && coalesce(frame, rank)) {
+                coalesced.incrementAndGet();
+                metrics.recordCoalesced();
+            } else if (size < capacity) {
+                enqueue(frame, rank);
+            } else if (policy == SlowConsumerPolicy.DISCONNECT) {
+                // 일시적 이벤트만 버리며 stallTimeout 을 기다리고, 채팅은 일시적 이벤트를 밀어내거나 바로 끊는다
+                if (rank != NOT_DROPPABLE) {
+                    reject();
+                    slowConsumer = stalled();
+                } else if (evictForIncoming(rank)) {
+                    enqueue(frame, rank);
+                } else {
+                    slowConsumer = true;
+                }
+            } else if (evictForIncoming(rank)) {
+                enqueue(frame, rank);
+            } else if (rank != NOT_DROPPABLE) {
+                reject();
+            } else {
+                // 채팅 메시지를 버릴 수는 없으므로 연결을 끊어 재접속(재동기화)을 유도한다
+                slowConsumer = true;
+            }
+        }
+
+        if (slowConsumer) {
+            metrics.recordSlowConsumerClosed();
+            terminate();
+            onSlowConsumer.run();
+            return;
+        }
+        drain();
+    }
+
+    public void complete() {
+        FluxSink<EncodedFrame> current = sink;
+        if (current != null) {
+            current.complete();
+        }
+        terminate();
+    }
+
+    public int depth() {
+        synchronized (lanes) {
+            return size;
+        }
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public long coalesced() {
+        return coalesced.get();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            FluxSink<EncodedFrame> current = sink;
+            if (current != null && !terminated) {
+                while (current.requestedFromDownstream() > 0) {
+                    EncodedFrame next;
+                    synchronized (lanes) {
+                        next = batching ? pollBatch() : poll();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    lastProgressNanos = System.nanoTime();
+                    current.next(next);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void terminate() {
+        terminated = true;
+        synchronized (lanes) {
+            for (ArrayDeque<EncodedFrame> lane : lanes) {
+                lane.clear();
+            }
+            size = 0;
+        }
+    }
+
+    private void enqueue(EncodedFrame frame, int rank) {
+        if (size == 0) {
+            lastProgressNanos = System.nanoTime();
+        }
+        lanes[rank].offer(frame);
+        size++;
+    }
+
+    // 우선순위가 가장 높은 레인부터 꺼낸다
+    private EncodedFrame poll() {
+        for (ArrayDeque<EncodedFrame> lane : lanes) {
+            EncodedFrame next = lane.poll();
+            if (next != null) {
+                size--;
+                return next;
+            }
+        }
+        return null;
+    }
+
+    // linger 창 안이면 null 을 돌려주고 창이 끝날 때 다시 drain 한다
+    private EncodedFrame pollBatch() {
+        if (size == 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        long wait = lastFlushNanos + lingerNanos - now;
+        if (wait > 0) {
+            scheduleFlush(wait);
+            return null;
+        }
+        lastFlushNanos = now;
+        if (size == 1) {
+            return poll();
+        }
+        List<EncodedFrame> frames = new ArrayList<>(Math.min(size, maxBatchFrames));
+        while (frames.size() < maxBatchFrames) {
+            EncodedFrame next = poll();
+            if (next == null) {
+                break;
+            }
+            frames.add(next);
+        }
+        return EncodedFrame.batch(frames);
+    }
+
+    private void scheduleFlush(long delayNanos) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(() -> {
+                flushScheduled.set(false);
+                drain();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 이 값 이상의 dropRank 를 가진 새 이벤트는 대기열에 넣지 않는다
+    private int shedRank() {
+        long lag = eventLoopLag.getAsLong();
+        if (size >= shedPresenceDepth || lag >= shedPresenceLagNanos) {
+            return PRESENCE_RANK;
+        }
+        if (size >= shedTypingDepth || lag >= shedTypingLagNanos) {
+            return TYPING_RANK;
+        }
+        return NO_SHEDDING;
+    }
+
+    // 같은 방/발신자/종류의 대기 중인 일시적 이벤트를 최신 것으로 대체
+    private boolean coalesce(EncodedFrame frame, int rank) {
+        if (rank == NOT_DROPPABLE) {
+            return false;
+        }
+        Iterator<EncodedFrame> it = lanes[rank].iterator();
+        while (it.hasNext()) {
+            EncodedFrame queued = it.next();
+            if (queued.type() == frame.type()
+                    && Objects.equals(queued.roomId(), frame.roomId())
+                    && Objects.equals(queued.senderId(), frame.senderId())) {
+                it.remove();
+                lanes[rank].offer(frame);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 들어오는 프레임보다 중요도가 같거나 낮은 가장 오래된 일시적 이벤트를 제거
+    private boolean evictForIncoming(int incomingRank) {
+        for (int rank = TYPING_RANK; rank > NOT_DROPPABLE; rank--) {
+            if (incomingRank != NOT_DROPPABLE && rank < incomingRank) {
+                return false;
+            }
+            if (lanes[rank].pollFirst() != null) {
+                size--;
+                dropped.incrementAndGet();
+                metrics.recordEvicted();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // DISCONNECT: 가득 찬 대기열이 stallTimeout 동안 줄지 않았는지
+    private boolean stalled() {
+        return policy == SlowConsumerPolicy.DISCONNECT
+                && size >= capacity
+                && System.nanoTime() - lastProgressNanos >= stallTimeoutNanos;
+    }
+
+    private void reject() {
+        dropped.incrementAndGet();
+        metrics.recordRejected();
+    }
+
+    private void shed() {
+        dropped.incrementAndGet();
+        metrics.recordShed();
+    }
+
+    private int depthThreshold(double ratio) {
+        return Math.max(1, (int) Math.ceil(capacity * ratio));
+    }
+
+    // 값이 클수록 먼저 버린다: 타이핑 > 입/퇴장 > 그 외(버리지 않음)
+    private static int dropRank(EncodedFrame frame) {
+        return switch (frame.type()) {
+            case TYPING -> TYPING_RANK;
+            case USER_JOINED, USER_LEFT -> PRESENCE_RANK;
+            default -> NOT_DROPPABLE;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.compression.DeflateStats;
+import com.messenger.websocket.dto.SessionStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 세션별 송신 대기열 상태, RTT, 압축 통계: GET /actuator/websocketsessions
+ */
+@Component
+@Endpoint(id = "websocketsessions")
+@RequiredArgsConstructor
+public class WebSocketSessionsEndpoint {
+
+    private final RoomSessionRegistry roomSessionRegistry;
+
+    @ReadOperation
+    public List<SessionStatsResponse> sessions() {
+        return roomSessionRegistry.connectedSessions().stream()
+                .map(this::toStats)
+                .toList();
+    }
+
+    private SessionStatsResponse toStats(ChatSession session) {
+        Optional<DeflateStats> deflate = DeflateStats.of(session.getSession());
+        return SessionStatsResponse.builder()
+                .sessionId(session.getId())
+                .userId(session.getUserId())
+                .queueDepth(session.queueDepth())
+                .droppedFrames(session.droppedFrames())
+                .coalescedFrames(session.coalescedFrames())
+                .rttMillis(session.rttMillis())
+                .compressionRatio(deflate.map(DeflateStats::ratio).orElse(-1.0))
+                .compressionMicros(deflate.map(DeflateStats::compressionMicros).orElse(0L))
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.messenger.websocket.typing;
+
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.relay.RedisRoomEventPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방별 입력 중 상태 테이블.
+ * TYPING 프레임은 곧바로 브로드캐스트하지 않고 테이블만 갱신한다.
+ * 항목은 ttl 이 지나면 만료되고, 상태가 바뀐 방에만 digestInterval 마다
+ * 현재 입력 중인 사용자 목록(typingUsers: id 와 표시 이름)을 담은 TYPING 다이제스트 하나를 로컬 세션에 보낸다.
+ * 다른 노드에는 시작/종료 전환과 ttl 갱신만 전파하고, 각 노드가 자신의 다이제스트를 만든다.
+ */
+@Slf4j
+@Component
+public class TypingAggregator {
+
+    private final RoomBroadcaster roomBroadcaster;
+    private final RedisRoomEventPublisher redisRoomEventPublisher;
+    private final long ttlNanos;
+    private final WebSocketProperties.Typing properties;
+
+    private final Map<UUID, RoomTyping> rooms = new ConcurrentHashMap<>();
+
+    private Scheduler scheduler;
+    private Disposable ticker;
+
+    public TypingAggregator(RoomBroadcaster roomBroadcaster,
+                            RedisRoomEventPublisher redisRoomEventPublisher,
+                            WebSocketProperties webSocketProperties) {
+        this.roomBroadcaster = roomBroadcaster;
+        this.redisRoomEventPublisher = redisRoomEventPublisher;
+        this.properties = webSocketProperties.getTyping();
+        this.ttlNanos = properties.getTtl().toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Schedulers.newSingle("ws-typing", true);
+        ticker = Flux.interval(properties.getDigestInterval(), scheduler)
+                .subscribe(t -> flush(System.nanoTime()), e -> log.error("Typing digest ticker terminated", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * 이 노드에 연결된 세션의 TYPING 프레임.
+     */
+    public void onLocalTyping(UUID roomId, WebSocketMessage.SenderInfo sender, boolean typing) {
+        long now = System.nanoTime();
+        if (update(roomId, sender, typing, now, true)) {
+            redisRoomEventPublisher.publish(transition(roomId, sender, typing));
+        }
+    }
+
+    /**
+     * 다른 노드에서 전파된 전환.
+     */
+    public void onRemoteTyping(WebSocketMessage message) {
+        if (message.getRoomId() == null || message.getSender() == null) {
+            return;
+        }
+        update(message.getRoomId(), message.getSender(), Boolean.TRUE.equals(message.getIsTyping()),
+                System.nanoTime(), false);
+    }
+
+    /**
+     * @return 다른 노드에 전파해야 하면 true (전환, 또는 ttl 의 절반이 지난 뒤의 갱신)
+     */
+    boolean update(UUID roomId, WebSocketMessage.SenderInfo sender, boolean typing, long now, boolean local) {
+        boolean[] relay = new boolean[1];
+        // 방 항목의 변경과 제거는 모두 compute 안에서 수행해 flush 와 경합하지 않는다
+        rooms.compute(roomId, (id, room) -> {
+            RoomTyping current = room != null ? room : new RoomTyping();
+            Typer typer = current.typers.get(sender.getId());
+            if (!typing) {
+                if (typer != null) {
+                    current.typers.remove(sender.getId());
+                    current.dirty = true;
+                    relay[0] = local;
+                }
+            } else if (typer == null) {
+                current.typers.put(sender.getId(), new Typer(sender.getId(), sender.getDisplayName(), now + ttlNanos, now));
+                current.dirty = true;
+                relay[0] = local;
+            } else {
+                // 중복 시작 신호: ttl 만 연장하고 다이제스트는 보내지 않는다
+                typer.expiresAtNanos = now + ttlNanos;
+                if (local && now - typer.relayedAtNanos >= ttlNanos / 2) {
+                    typer.relayedAtNanos = now;
+                    relay[0] = true;
+                }
+            }
+            return current.typers.isEmpty() && !current.dirty ? null : current;
+        });
+        return relay[0];
+    }
+
+    /**
+     * 만료 항목을 정리하고, 상태가 바뀐 방마다 다이제스트를 하나씩 보낸다.
+     */
+    void flush(long now) {
+        for (UUID roomId : rooms.keySet()) {
+            List<WebSocketMessage.SenderInfo> typingUsers = new ArrayList<>();
+            boolean[] changed = new boolean[1];
+            rooms.computeIfPresent(roomId, (id, room) -> {
+                boolean expired = room.typers.values().removeIf(typer -> typer.expiresAtNanos - now <= 0);
+                if (expired || room.dirty) {
+                    room.dirty = false;
+                    changed[0] = true;
+                    room.typers.values().forEach(typer -> typingUsers.add(typer.toSender()));
+                }
+                return room.typers.isEmpty() ? null : room;
+            });
+            if (changed[0]) {
+                roomBroadcaster.deliverLocal(digest(roomId, typingUsers));
+            }
+        }
+    }
+
+    int activeRooms() {
+        return rooms.size();
+    }
+
+    private WebSocketMessage digest(UUID roomId, List<WebSocketMessage.SenderInfo> typingUsers) {
+        return WebSocketMessage.builder()
+                .type(MessageType.TYPING)
+                .roomId(roomId)
+                .typingUsers(typingUsers)
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+
+    private WebSocketMessage transition(UUID roomId, WebSocketMessage.SenderInfo sender, boolean typing) {
+        return WebSocketMessage.builder()
+                .type(MessageType.TYPING)
+                .roomId(roomId)
+                .sender(sender)
+                .isTyping(typing)
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+
+    private static final class RoomTyping {
+        // 입력을 시작한 순서를 유지한다
+        private final Map<UUID, Typer> typers = new LinkedHashMap<>();
+        private boolean dirty;
+    }
+
+    private static final class Typer {
+        private final UUID userId;
+        private final String displayName;
+        private long expiresAtNanos;
+        private long relayedAtNanos;
+
+        private Typer(UUID userId, String displayName, long expiresAtNanos, long relayedAtNanos) {
+            this.userId = userId;
+            this.displayName = displayName;
+            this.expiresAtNanos = expiresAtNanos;
+            this.relayedAtNanos = relayedAtNanos;
+        }
+
+        // 클라이언트는 id 로 자신을 걸러 낸다 (표시 이름은 겹칠 수 있다). 아바타는 보내지 않는다
+        private WebSocketMessage.SenderInfo toSender() {
+            return WebSocketMessage.SenderInfo.builder()
+                    .id(userId)
+                    .displayName(displayName)
+                    .build();
+        }
+    }
+}
@@ -47,19 +47,33 @@ CREATE INDEX IF NOT EXISTS idx_room_members_user_id ON room_members(user_id);
 -- 인덱스: 채팅방의 멤버 목록 조회
 CREATE INDEX IF NOT EXISTS idx_room_members_room_id ON room_members(room_id);
 
--- 메시지 테이블
+-- 메시지 테이블 (created_at 기준 월 단위 range 파티션)
+-- 파티션(messages_pYYYY_MM)은 MessagePartitionManager 가 미리 만들고, 보존 기간이 지난 것은 떼어내 삭제한다
+-- 기본 파티션은 두지 않는다: 있으면 최신순 조회가 파티션 순서대로 읽고 멈추는(ordered Append) 계획을 쓰지 못한다
+-- 파티션 키가 기본 키에 포함되어야 하므로 기본 키는 (id, created_at)
+-- 애플리케이션은 id 를 시간순 UUIDv7 로 발급해 넣는다 (기본값 v4 는 직접 INSERT 한 행에만 쓰인다)
 CREATE TABLE IF NOT EXISTS messages (
-    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    id              UUID NOT NULL DEFAULT gen_random_uuid(),
     room_id         UUID NOT NULL REFERENCES chat_rooms(id) ON DELETE CASCADE,
     sender_id       UUID NOT NULL REFERENCES users(id),
     content         TEXT NOT NULL,
     message_type    VARCHAR(20) DEFAULT 'TEXT',
-    created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
     updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
-    deleted_at      TIMESTAMP WITH TIME ZONE
-);
+    deleted_at      TIMESTAMP WITH TIME ZONE,
+    -- 방별 메시지 순번 (WebSocket 재연결 시 누락 구간 재전송)
+    room_seq        BIGINT,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
 
--- 인덱스: 채팅방별 메시지 조회 (최신순)
-CREATE INDEX IF NOT EXISTS idx_messages_room_id_created_at ON messages(room_id, created_at DESC);
+-- 인덱스: 채팅방별 메시지 조회 (최신순, (created_at, id) keyset 페이지네이션)
+-- 역방향 스캔으로 최신순을 읽고, id 까지 포함해 같은 시각의 메시지도 순서가 정해진다
+-- 모든 목록 조회가 deleted_at IS NULL 이므로 삭제되지 않은 행만 담는다
+CREATE INDEX IF NOT EXISTS idx_messages_room_id_created_at_id ON messages(room_id, created_at, id)
+    WHERE deleted_at IS NULL;
 -- 인덱스: 발신자별 메시지 조회
 CREATE INDEX IF NOT EXISTS idx_messages_sender_id ON messages(sender_id);
+-- 인덱스: 채팅방별 순번 이후 메시지 조회 + 방 안의 순번 중복 방지 (UNIQUE)
+-- 파티션 테이블의 UNIQUE 인덱스는 파티션 키(created_at)를 포함해야 하므로 부모가 아닌 파티션마다
+-- MessagePartitionManager 가 만든다 (messages_pYYYY_MM_room_id_room_seq_key)
+DROP INDEX IF EXISTS idx_messages_room_id_room_seq;
@@ -3,6 +3,7 @@ package com.messenger.chatroom.service;
 import com.messenger.chatroom.dto.ChatRoomRequest;
 import com.messenger.chatroom.entity.ChatRoom;
 import com.messenger.chatroom.entity.RoomMember;
+import com.messenger.chatroom.event.RoomMembershipChangedEvent;
 import com.messenger.chatroom.repository.ChatRoomRepository;
 import com.messenger.chatroom.repository.RoomMemberRepository;
 import com.messenger.common.exception.BusinessException;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -26,6 +28,8 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +44,12 @@ class ChatRoomServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ChatRoomService chatRoomService;
 
@@ -238,6 +248,8 @@ class ChatRoomServiceTest {
                         assertThat(response.getRole()).isEqualTo("MEMBER");
                     })
                     .verifyComplete();
+            verify(eventPublisher).publishEvent(argThat((RoomMembershipChangedEvent event) ->
+                    event.getRoomId().equals(roomId) && event.getUserId().equals(newUserId)));
         }
 
         @Test
@@ -254,6 +266,24 @@ class ChatRoomServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("removeMember")
+    class RemoveMember {
+
+        @Test
+        @DisplayName("should invalidate the membership cache after removing a member")
+        void shouldPublishMembershipChange() {
+            UUID memberId = UUID.randomUUID();
+            when(roomMemberRepository.deleteByRoomIdAndUserId(roomId, memberId)).thenReturn(Mono.empty());
+
+            StepVerifier.create(chatRoomService.removeMember(roomId, memberId))
+                    .verifyComplete();
+
+            verify(eventPublisher).publishEvent(argThat((RoomMembershipChangedEvent event) ->
+                    event.getRoomId().equals(roomId) && event.getUserId().equals(memberId)));
+        }
+    }
+
     @Nested
     @DisplayName("deleteRoom")
     class DeleteRoom {
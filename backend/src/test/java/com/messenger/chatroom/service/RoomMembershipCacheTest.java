@@ -0,0 +1,128 @@
+package com.messenger.chatroom.service;
+
+import com.messenger.chatroom.dto.RoomMembershipCacheProperties;
+import com.messenger.chatroom.entity.RoomMember;
+import com.messenger.chatroom.event.RoomMembershipChangedEvent;
+import com.messenger.chatroom.repository.RoomMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomMembershipCacheTest {
+
+    @Mock
+    private RoomMemberRepository roomMemberRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomMembershipCache cache;
+
+    private UUID roomId;
+    private UUID memberId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RoomMembershipCache(roomMemberRepository, new RoomMembershipCacheProperties(), meterRegistry);
+        roomId = UUID.randomUUID();
+        memberId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("방을 처음 조회할 때만 DB 에서 멤버 목록을 읽는다")
+    void isMember_LoadsRoomOnce() {
+        when(roomMemberRepository.findByRoomId(roomId)).thenReturn(Flux.just(member(memberId)));
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.isMember(roomId, memberId))
+                    .expectNext(true)
+                    .verifyComplete();
+        }
+
+        verify(roomMemberRepository, times(1)).findByRoomId(roomId);
+        assertThat(meterRegistry.get("chatroom.membership.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    @DisplayName("멤버 변경 이벤트를 받으면 방 항목을 버리고 다시 읽는다")
+    void onMembershipChanged_ReloadsRoom() {
+        when(roomMemberRepository.findByRoomId(roomId)).thenReturn(Flux.just(member(memberId)));
+        cache.isMember(roomId, memberId).block();
+
+        cache.onMembershipChanged(RoomMembershipChangedEvent.builder()
+                .roomId(roomId)
+                .userId(memberId)
+                .changedAt(Instant.now())
+                .build());
+        when(roomMemberRepository.findByRoomId(roomId)).thenReturn(Flux.empty());
+
+        StepVerifier.create(cache.isMember(roomId, memberId))
+                .expectNext(false)
+                .verifyComplete();
+        verify(roomMemberRepository, times(2)).findByRoomId(roomId);
+        assertThat(meterRegistry.get("chatroom.membership.cache.invalidation.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 사용자는 DB 로 다시 확인하고, 멤버면 방 항목을 갱신한다")
+    void isMember_RechecksNegativeHit() {
+        UUID newMemberId = UUID.randomUUID();
+        when(roomMemberRepository.findByRoomId(roomId)).thenReturn(Flux.just(member(memberId)));
+        cache.isMember(roomId, memberId).block();
+        when(roomMemberRepository.existsByRoomIdAndUserId(roomId, newMemberId)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(cache.isMember(roomId, newMemberId))
+                .expectNext(true)
+                .verifyComplete();
+
+        when(roomMemberRepository.findByRoomId(roomId))
+                .thenReturn(Flux.just(member(memberId), member(newMemberId)));
+        StepVerifier.create(cache.isMember(roomId, newMemberId))
+                .expectNext(true)
+                .verifyComplete();
+        verify(roomMemberRepository, times(2)).findByRoomId(roomId);
+    }
+
+    @Test
+    @DisplayName("정렬된 ID 배열에서 멤버를 찾는다")
+    void memberIds_ContainsOnlyMembers() {
+        List<UUID> members = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            members.add(UUID.randomUUID());
+        }
+        // 부호 비트가 켜진 UUID 도 정렬 순서대로 찾아야 한다
+        members.add(new UUID(Long.MIN_VALUE, -1L));
+        members.add(new UUID(-1L, Long.MIN_VALUE));
+
+        RoomMembershipCache.MemberIds ids = RoomMembershipCache.MemberIds.of(members);
+
+        assertThat(members).allMatch(ids::contains);
+        assertThat(ids.contains(UUID.randomUUID())).isFalse();
+    }
+
+    private RoomMember member(UUID userId) {
+        return RoomMember.builder()
+                .id(UUID.randomUUID())
+                .roomId(roomId)
+                .userId(userId)
+                .role("MEMBER")
+                .build();
+    }
+}
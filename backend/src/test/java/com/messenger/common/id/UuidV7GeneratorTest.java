@@ -0,0 +1,85 @@
+package com.messenger.common.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_717_000_000_000L;
+
+    @Test
+    @DisplayName("버전 7, RFC 변형 비트를 갖고 상위 48비트에 밀리초 시각을 담는다")
+    void next_EncodesVersionAndTimestamp() {
+        UUID id = new UuidV7Generator(() -> NOW).next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.isVersion7(id)).isTrue();
+        assertThat(UuidV7Generator.timestamp(id)).isEqualTo(Instant.ofEpochMilli(NOW));
+        assertThat(UuidV7Generator.isVersion7(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 밀리초 안에서도 순번으로 커지고, 순번이 넘치거나 시계가 뒤로 가면 시각을 앞당긴다")
+    void next_IsMonotonicWithinMillisecond() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ids.add(generator.next());
+        }
+        clock.set(NOW - 10);
+        ids.add(generator.next());
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(UuidV7Generator.timestamp(ids.get(4095))).isEqualTo(Instant.ofEpochMilli(NOW));
+        // 4096 번째부터는 다음 밀리초로 넘어간다
+        assertThat(UuidV7Generator.timestamp(ids.get(4096))).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+        assertThat(UuidV7Generator.timestamp(ids.get(ids.size() - 1))).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 발급해도 중복이 없고 스레드마다 발급 순서대로 커진다")
+    void next_IsUniqueUnderContention() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        int threads = 8;
+        int perThread = 20_000;
+        Set<UUID> all = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.next());
+                    }
+                    return ids;
+                }));
+            }
+            for (Future<List<UUID>> future : futures) {
+                List<UUID> ids = future.get();
+                assertThat(ids).isSorted();
+                all.addAll(ids);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(all).hasSize(threads * perThread);
+    }
+}
@@ -0,0 +1,158 @@
+package com.messenger.message.repository;
+
+import com.messenger.message.dto.MessagePartitionProperties;
+import com.messenger.message.service.MessagePartitionManager;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * keyset 페이지 쿼리의 실행 계획 검증.
+ * 커서보다 새로운 월 파티션은 제외되고, 커서가 속한 파티션의 (room_id, created_at, id) 부분 인덱스 범위 스캔으로
+ * 끝나 커서 행을 다시 읽거나 이전 파티션까지 내려가지 않는지 확인한다.
+ */
+@Testcontainers
+class MessageRepositoryExplainTest {
+
+    private static final int MESSAGES_PER_ROOM = 20_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("messenger_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withInitScript("schema.sql");
+
+    private static DatabaseClient databaseClient;
+    private static final UUID userId = UUID.randomUUID();
+    private static final UUID roomId = UUID.randomUUID();
+    private static final UUID otherRoomId = UUID.randomUUID();
+
+    @BeforeAll
+    static void seed() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(String.format(
+                "r2dbc:postgresql://%s:%s@%s:%d/%s",
+                POSTGRES.getUsername(), POSTGRES.getPassword(), POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName()));
+        databaseClient = DatabaseClient.create(connectionFactory);
+        new MessagePartitionManager(databaseClient, new MessagePartitionProperties())
+                .createPartitions(YearMonth.of(2023, 12), YearMonth.of(2024, 3))
+                .block();
+
+        databaseClient.sql("INSERT INTO users (id, username, display_name) VALUES (:id, 'explain', 'Explain User')")
+                .bind("id", userId)
+                .then()
+                .block();
+        for (UUID room : List.of(roomId, otherRoomId)) {
+            databaseClient.sql("INSERT INTO chat_rooms (id, name, created_by) VALUES (:id, 'explain room', :createdBy)")
+                    .bind("id", room)
+                    .bind("createdBy", userId)
+                    .then()
+                    .block();
+            // 10 개씩 같은 created_at 을 갖게 해 id 로만 순서가 갈리는 경우를 만든다
+            // 앞의 6,000 개는 2023-12 파티션, 나머지는 2024-01 파티션에 들어간다
+            databaseClient.sql("""
+                        INSERT INTO messages (room_id, sender_id, content, room_seq, created_at)
+                        SELECT :roomId, :senderId, 'message ' || g, g,
+                               TIMESTAMPTZ '2023-12-31 23:50:00+00' + (g / 10) * INTERVAL '1 second'
+                        FROM generate_series(1, :count) AS g
+                    """)
+                    .bind("roomId", room)
+                    .bind("senderId", userId)
+                    .bind("count", MESSAGES_PER_ROOM)
+                    .then()
+                    .block();
+        }
+        databaseClient.sql("ANALYZE messages").then().block();
+    }
+
+    @Test
+    @DisplayName("커서 이전 페이지는 커서가 속한 파티션의 인덱스 역방향 범위 스캔으로 읽고 커서 행을 조회하지 않는다")
+    void pageBeforeKey_UsesSingleIndexRangeScan() {
+        Key cursor = keyAt(MESSAGES_PER_ROOM / 2);
+
+        String plan = String.join("\n", databaseClient
+                .sql("EXPLAIN (ANALYZE, FORMAT TEXT) " + MessageRepository.PAGE_BEFORE_KEY)
+                .bind("roomId", roomId)
+                .bind("createdAt", cursor.createdAt())
+                .bind("id", cursor.id())
+                .bind("limit", PAGE_SIZE + 1)
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collectList()
+                .block());
+
+        assertThat(plan)
+                .contains("Index Scan Backward using messages_p2024_01_room_id_created_at_id_idx on messages_p2024_01")
+                .containsPattern("Index Cond: \\(\\(room_id = .+ROW\\(created_at, id\\) < ROW\\(")
+                .doesNotContain("SubPlan", "InitPlan", "_pkey", "Seq Scan", "Sort", "Bitmap")
+                // 커서보다 새로운 파티션은 계획에서 빠진다
+                .doesNotContain("messages_p2024_02", "messages_p2024_03");
+        // LIMIT 만큼만 커서 파티션 인덱스에서 읽고, 이전 파티션(2023-12)은 실행되지 않는다
+        assertThat(plan).containsPattern("Index Scan Backward using messages_p2024_01.*rows=" + (PAGE_SIZE + 1) + " loops=1");
+        assertThat(plan).containsPattern("messages_p2023_12.*never executed");
+    }
+
+    @Test
+    @DisplayName("같은 created_at 을 가진 메시지도 빠짐없이 한 번씩 페이지에 나온다")
+    void pageBeforeKey_VisitsEveryMessageOnce() {
+        Set<UUID> seen = new HashSet<>();
+        List<Key> page = databaseClient.sql(MessageRepository.LATEST_PAGE)
+                .bind("roomId", roomId)
+                .bind("limit", PAGE_SIZE)
+                .map(row -> new Key(row.get("created_at", OffsetDateTime.class), row.get("id", UUID.class)))
+                .all()
+                .collectList()
+                .block();
+
+        while (!page.isEmpty()) {
+            page.forEach(key -> assertThat(seen.add(key.id())).isTrue());
+            Key last = page.get(page.size() - 1);
+            page = databaseClient.sql(MessageRepository.PAGE_BEFORE_KEY)
+                    .bind("roomId", roomId)
+                    .bind("createdAt", last.createdAt())
+                    .bind("id", last.id())
+                    .bind("limit", PAGE_SIZE)
+                    .map(row -> new Key(row.get("created_at", OffsetDateTime.class), row.get("id", UUID.class)))
+                    .all()
+                    .collectList()
+                    .block();
+        }
+
+        assertThat(seen).hasSize(MESSAGES_PER_ROOM);
+    }
+
+    private static Key keyAt(int offset) {
+        return databaseClient.sql("""
+                    SELECT created_at, id FROM messages
+                    WHERE room_id = :roomId
+                    ORDER BY created_at DESC, id DESC
+                    OFFSET :offset LIMIT 1
+                """)
+                .bind("roomId", roomId)
+                .bind("offset", offset)
+                .map(row -> new Key(row.get("created_at", OffsetDateTime.class), row.get("id", UUID.class)))
+                .one()
+                .block();
+    }
+
+    private record Key(OffsetDateTime createdAt, UUID id) {
+    }
+}
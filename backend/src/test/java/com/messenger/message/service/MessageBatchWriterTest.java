@@ -0,0 +1,150 @@
+package com.messenger.message.service;
+
+import com.messenger.common.id.UuidV7Generator;
+import com.messenger.message.dto.MessageBatchProperties;
+import com.messenger.message.entity.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageBatchWriterTest {
+
+    private RecordingWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 메시지를 maxSize 단위 배치로 묶어 저장한다")
+    void write_GroupsConcurrentMessages() {
+        writer = start(10, Duration.ofMillis(50), null);
+
+        StepVerifier.create(Flux.range(0, 25).flatMap(i -> writer.write(newMessage(i)), 25).collectList())
+                .assertNext(saved -> {
+                    assertThat(saved).hasSize(25);
+                    assertThat(saved).allMatch(m -> m.getId() != null);
+                })
+                .verifyComplete();
+
+        assertThat(writer.batchSizes).containsExactly(10, 10, 5);
+    }
+
+    @Test
+    @DisplayName("배치가 차지 않아도 linger 시간이 지나면 저장한다")
+    void write_FlushesAfterLinger() {
+        writer = start(100, Duration.ofMillis(20), null);
+
+        StepVerifier.create(writer.write(newMessage(0)))
+                .assertNext(saved -> assertThat(saved.getMessageType()).isEqualTo("TEXT"))
+                .verifyComplete();
+
+        assertThat(writer.batchSizes).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("배치 저장에 실패하면 배치의 모든 호출자에게 오류를 전달하고 이후 배치는 계속 처리한다")
+    void write_PropagatesBatchFailure() {
+        writer = start(2, Duration.ofMillis(20), new IllegalStateException("db down"));
+
+        StepVerifier.create(Flux.range(0, 2).flatMap(i -> writer.write(newMessage(i)).materialize()).collectList())
+                .assertNext(signals -> assertThat(signals).allMatch(s -> s.isOnError()))
+                .verifyComplete();
+
+        writer.failure = null;
+        StepVerifier.create(writer.write(newMessage(2)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("묶여 온 메시지는 대기열을 거치지 않고 한 번에 저장한다")
+    void writeAll_InsertsInOneStatement() {
+        writer = start(10, Duration.ofSeconds(10), null);
+
+        StepVerifier.create(writer.writeAll(List.of(newMessage(0), newMessage(1), newMessage(2))))
+                .assertNext(saved -> assertThat(saved).hasSize(3).allMatch(m -> m.getId() != null))
+                .verifyComplete();
+
+        assertThat(writer.batchSizes).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("종료할 때 아직 모이는 중인 배치도 커밋하고 호출자를 완료시킨다")
+    void stop_CommitsBufferedWrites() {
+        writer = start(100, Duration.ofSeconds(10), null);
+        CompletableFuture<Message> saved = writer.write(newMessage(0)).toFuture();
+
+        writer.stop();
+
+        assertThat(saved).isCompleted();
+        assertThat(writer.batchSizes).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("종료 뒤의 write 는 기다리지 않고 실패한다")
+    void write_AfterStop_Fails() {
+        writer = start(10, Duration.ofMillis(20), null);
+        writer.stop();
+
+        StepVerifier.create(writer.write(newMessage(0)))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThat(writer.batchSizes).isEmpty();
+    }
+
+    private RecordingWriter start(int maxSize, Duration linger, RuntimeException failure) {
+        MessageBatchProperties properties = new MessageBatchProperties();
+        properties.setMaxSize(maxSize);
+        properties.setLinger(linger);
+        RecordingWriter recordingWriter = new RecordingWriter(properties);
+        recordingWriter.failure = failure;
+        recordingWriter.start();
+        return recordingWriter;
+    }
+
+    private Message newMessage(int i) {
+        return Message.builder()
+                .roomId(UUID.randomUUID())
+                .senderId(UUID.randomUUID())
+                .content("message " + i)
+                .messageType(null)
+                .build();
+    }
+
+    /**
+     * DB 대신 배치 크기만 기록하는 writer
+     */
+    private static class RecordingWriter extends MessageBatchWriter {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile RuntimeException failure;
+
+        RecordingWriter(MessageBatchProperties properties) {
+            super(null, properties, new UuidV7Generator());
+        }
+
+        @Override
+        Mono<Void> insert(List<Message> messages) {
+            if (failure != null) {
+                return Mono.error(failure);
+            }
+            batchSizes.add(messages.size());
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.messenger.message.service;
+
+import com.messenger.common.exception.BusinessException;
+import com.messenger.common.id.UuidV7Generator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageCursorCodecTest {
+
+    private final MessageCursorCodec codec = new MessageCursorCodec("test-cursor-secret");
+    private final UUID roomId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("인코딩한 (created_at, id) 를 마이크로초 정밀도로 되돌린다")
+    void decode_RoundTrips() {
+        OffsetDateTime createdAt = OffsetDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000, ZoneOffset.ofHours(9));
+        UUID id = UUID.randomUUID();
+
+        MessageCursorCodec.Position position = codec.decode(roomId, codec.encode(roomId, createdAt, id));
+
+        assertThat(position.createdAt().toInstant()).isEqualTo(createdAt.toInstant());
+        assertThat(position.id()).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("created_at 이 ID 시각과 같은 UUIDv7 메시지는 id 만 담은 짧은 토큰으로 되돌린다")
+    void decode_RoundTripsIdOnlyToken() {
+        UUID id = new UuidV7Generator().next();
+        OffsetDateTime createdAt = OffsetDateTime.ofInstant(UuidV7Generator.timestamp(id), ZoneOffset.UTC);
+
+        String token = codec.encode(roomId, createdAt, id);
+        MessageCursorCodec.Position position = codec.decode(roomId, token);
+
+        assertThat(Base64.getUrlDecoder().decode(token)).hasSize(32);
+        assertThat(position.createdAt().toInstant()).isEqualTo(createdAt.toInstant());
+        assertThat(position.id()).isEqualTo(id);
+        // 시각이 다르면 created_at 을 함께 담는다
+        assertThat(Base64.getUrlDecoder().decode(codec.encode(roomId, createdAt.plusNanos(1_000), id))).hasSize(40);
+    }
+
+    @Test
+    @DisplayName("값을 바꾼 토큰은 INVALID_CURSOR 로 거부한다")
+    void decode_RejectsTamperedToken() {
+        String token = codec.encode(roomId, OffsetDateTime.now(), UUID.randomUUID());
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        bytes[3] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertThatThrownBy(() -> codec.decode(roomId, tampered))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getCode())
+                .isEqualTo("INVALID_CURSOR");
+        assertThatThrownBy(() -> codec.decode(roomId, "not a cursor"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("다른 방에서 발급된 토큰은 거부한다")
+    void decode_RejectsOtherRoom() {
+        String token = codec.encode(UUID.randomUUID(), OffsetDateTime.now(), UUID.randomUUID());
+
+        assertThatThrownBy(() -> codec.decode(roomId, token))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.messenger.message.service;
+
+import com.messenger.chatroom.service.RoomMembershipCache;
+import com.messenger.common.id.UuidV7Generator;
+import com.messenger.common.exception.BusinessException;
+import com.messenger.message.entity.Message;
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.replay.RoomSequencer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageIngestServiceTest {
+
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+
+    @Mock
+    private RoomSequencer roomSequencer;
+
+    @Mock
+    private MessageBatchWriter messageBatchWriter;
+
+    @Mock
+    private RoomBroadcaster roomBroadcaster;
+
+    @Mock
+    private RecentMessageCache recentMessageCache;
+
+    @Spy
+    private UuidV7Generator idGenerator = new UuidV7Generator();
+
+    @InjectMocks
+    private MessageIngestService messageIngestService;
+
+    private UUID roomId;
+    private WebSocketMessage.SenderInfo sender;
+
+    @BeforeEach
+    void setUp() {
+        roomId = UUID.randomUUID();
+        sender = WebSocketMessage.SenderInfo.builder()
+                .id(UUID.randomUUID())
+                .displayName("Sender")
+                .build();
+    }
+
+    @Test
+    @DisplayName("UUIDv7 ID 와 순번을 붙여 저장한 뒤 onPersisted 를 호출하고 방에 한 번 브로드캐스트한다")
+    @SuppressWarnings("unchecked")
+    void ingest_PersistsThenBroadcasts() {
+        when(roomMembershipCache.isMember(roomId, sender.getId())).thenReturn(Mono.just(true));
+        when(roomSequencer.next(roomId)).thenReturn(Mono.just(7L));
+        when(messageBatchWriter.write(any(Message.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        Consumer<Message> onPersisted = mock(Consumer.class);
+
+        StepVerifier.create(messageIngestService.ingest(sender,
+                        new MessageIngestService.Draft(roomId, "hello", null), onPersisted))
+                .assertNext(saved -> {
+                    assertThat(saved.getRoomSeq()).isEqualTo(7L);
+                    assertThat(saved.getMessageType()).isEqualTo("TEXT");
+                    assertThat(UuidV7Generator.isVersion7(saved.getId())).isTrue();
+                    assertThat(saved.getCreatedAt().toInstant()).isEqualTo(UuidV7Generator.timestamp(saved.getId()));
+                })
+                .verifyComplete();
+
+        InOrder order = inOrder(onPersisted, recentMessageCache, roomBroadcaster);
+        order.verify(onPersisted).accept(any(Message.class));
+        order.verify(recentMessageCache).onChat(argThat(event -> event.getSeq() == 7L));
+        order.verify(roomBroadcaster, times(1)).broadcast(argThat(event ->
+                event.getType() == MessageType.CHAT && event.getSeq() == 7L && event.getSender() == sender));
+    }
+
+    @Test
+    @DisplayName("멤버가 아니면 순번을 받거나 저장하지 않고 NOT_MEMBER 로 실패한다")
+    void ingest_RejectsNonMember() {
+        when(roomMembershipCache.isMember(roomId, sender.getId())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(messageIngestService.ingest(sender, new MessageIngestService.Draft(roomId, "hello", null)))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                                ((BusinessException) throwable).getCode().equals("NOT_MEMBER"))
+                .verify();
+
+        verify(roomSequencer, never()).next(any());
+        verify(messageBatchWriter, never()).write(any());
+        verifyNoInteractions(recentMessageCache, roomBroadcaster);
+    }
+
+    @Test
+    @DisplayName("묶음 저장은 방별 순번 구간을 한 번에 예약해 목록 순서대로 배정한다")
+    void ingestAll_ReservesSequenceRangePerRoom() {
+        UUID otherRoomId = UUID.randomUUID();
+        when(roomMembershipCache.isMember(any(), any())).thenReturn(Mono.just(true));
+        when(roomSequencer.reserve(roomId, 2)).thenReturn(Mono.just(10L));
+        when(roomSequencer.reserve(otherRoomId, 1)).thenReturn(Mono.just(3L));
+        when(messageBatchWriter.writeAll(anyList())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        List<MessageIngestService.Draft> drafts = List.of(
+                new MessageIngestService.Draft(roomId, "a", null),
+                new MessageIngestService.Draft(otherRoomId, "b", null),
+                new MessageIngestService.Draft(roomId, "c", null));
+
+        StepVerifier.create(messageIngestService.ingestAll(sender, drafts, saved -> { }))
+                .assertNext(saved -> {
+                    assertThat(saved).extracting(Message::getRoomSeq).containsExactly(10L, 3L, 11L);
+                    // 같은 묶음 안에서도 ID 는 목록 순서대로 커진다
+                    assertThat(saved).extracting(Message::getId).isSorted();
+                })
+                .verifyComplete();
+        verify(roomBroadcaster, times(3)).broadcast(any());
+    }
+}
@@ -0,0 +1,27 @@
+package com.messenger.message.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessagePartitionManagerTest {
+
+    @Test
+    @DisplayName("파티션 이름은 messages_pYYYY_MM 이고 이름에서 다시 월을 읽을 수 있다")
+    void partitionName_RoundTrips() {
+        YearMonth month = YearMonth.of(2024, 3);
+
+        assertThat(MessagePartitionManager.partitionName(month)).isEqualTo("messages_p2024_03");
+        assertThat(MessagePartitionManager.monthOf("messages_p2024_03")).isEqualTo(month);
+    }
+
+    @Test
+    @DisplayName("월 파티션 이름 형식이 아니면 보존 기간 정리 대상에서 빠진다")
+    void monthOf_IgnoresOtherTables() {
+        assertThat(MessagePartitionManager.monthOf("messages_unpartitioned")).isNull();
+        assertThat(MessagePartitionManager.monthOf("messages_p2024_03_old")).isNull();
+    }
+}
@@ -0,0 +1,136 @@
+package com.messenger.message.service;
+
+import com.messenger.message.dto.MessagePartitionProperties;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.CompositeDatabasePopulator;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파티션 도입 전(room_seq 도 없던 0.3.0) 스키마에서 시작했을 때
+ * DatabaseConfig 와 같은 순서(옮기기 → schema.sql → bootstrap)로 기존 메시지가 월 파티션에 옮겨지는지 확인한다.
+ */
+@Testcontainers
+class MessagePartitionMigrationTest {
+
+    // 0.3.0 의 schema.sql 중 messages 와 그 참조 테이블
+    private static final String BASELINE_SCHEMA = """
+            CREATE TABLE users (
+                id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                email           VARCHAR(255),
+                username        VARCHAR(50) UNIQUE,
+                display_name    VARCHAR(100) NOT NULL,
+                avatar_url      VARCHAR(500),
+                status          VARCHAR(20) DEFAULT 'OFFLINE',
+                oauth_provider  VARCHAR(20),
+                oauth_id        VARCHAR(255),
+                created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+                updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+            );
+            CREATE TABLE chat_rooms (
+                id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                name            VARCHAR(100) NOT NULL,
+                description     VARCHAR(500),
+                type            VARCHAR(20) DEFAULT 'GROUP',
+                created_by      UUID NOT NULL REFERENCES users(id),
+                created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+                updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+            );
+            CREATE TABLE messages (
+                id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                room_id         UUID NOT NULL REFERENCES chat_rooms(id) ON DELETE CASCADE,
+                sender_id       UUID NOT NULL REFERENCES users(id),
+                content         TEXT NOT NULL,
+                message_type    VARCHAR(20) DEFAULT 'TEXT',
+                created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+                updated_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+                deleted_at      TIMESTAMP WITH TIME ZONE
+            );
+            CREATE INDEX idx_messages_room_id_created_at ON messages(room_id, created_at DESC);
+            CREATE INDEX idx_messages_sender_id ON messages(sender_id);
+            """;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("messenger_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Test
+    @DisplayName("room_seq 가 없는 단일 messages 테이블도 시작 시 월 파티션으로 복사한 뒤 지운다")
+    void bootstrap_MigratesBaselineTable() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(String.format(
+                "r2dbc:postgresql://%s:%s@%s:%d/%s",
+                POSTGRES.getUsername(), POSTGRES.getPassword(), POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName()));
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        UUID userId = UUID.randomUUID();
+        UUID roomId = UUID.randomUUID();
+        for (String sql : BASELINE_SCHEMA.split(";")) {
+            if (!sql.isBlank()) {
+                databaseClient.sql(sql).then().block();
+            }
+        }
+        databaseClient.sql("INSERT INTO users (id, username, display_name) VALUES (:id, 'legacy', 'Legacy User')")
+                .bind("id", userId)
+                .then()
+                .block();
+        databaseClient.sql("INSERT INTO chat_rooms (id, name, created_by) VALUES (:id, 'legacy room', :createdBy)")
+                .bind("id", roomId)
+                .bind("createdBy", userId)
+                .then()
+                .block();
+        databaseClient.sql("""
+                        INSERT INTO messages (room_id, sender_id, content, created_at, deleted_at)
+                        VALUES (:roomId, :senderId, 'january', TIMESTAMPTZ '2024-01-15 12:00:00+00', NULL),
+                               (:roomId, :senderId, 'february', TIMESTAMPTZ '2024-02-15 12:00:00+00', NULL),
+                               (:roomId, :senderId, 'deleted', TIMESTAMPTZ '2024-02-20 12:00:00+00', NOW())
+                        """)
+                .bind("roomId", roomId)
+                .bind("senderId", userId)
+                .then()
+                .block();
+
+        MessagePartitionManager manager = new MessagePartitionManager(databaseClient, new MessagePartitionProperties());
+        CompositeDatabasePopulator populator = new CompositeDatabasePopulator();
+        populator.addPopulators(
+                MessagePartitionManager.moveUnpartitionedAside(),
+                new ResourceDatabasePopulator(new ClassPathResource("schema.sql")),
+                connection -> manager.bootstrap());
+        populator.populate(connectionFactory).block();
+
+        List<Map.Entry<String, String>> rows = databaseClient.sql("""
+                        SELECT tableoid::regclass::text AS partition, content, room_seq
+                        FROM messages ORDER BY created_at
+                        """)
+                .map(row -> {
+                    assertThat(row.get("room_seq", Long.class)).isNull();
+                    return Map.entry(row.get("partition", String.class), row.get("content", String.class));
+                })
+                .all()
+                .collectList()
+                .block();
+        assertThat(rows).containsExactly(
+                Map.entry("messages_p2024_01", "january"),
+                Map.entry("messages_p2024_02", "february"),
+                Map.entry("messages_p2024_02", "deleted"));
+        assertThat(databaseClient.sql("SELECT to_regclass('" + MessagePartitionManager.LEGACY_TABLE + "') IS NULL AS dropped")
+                .map(row -> row.get("dropped", Boolean.class))
+                .one()
+                .block()).isTrue();
+    }
+}
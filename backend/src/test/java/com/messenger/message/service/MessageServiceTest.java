@@ -1,12 +1,14 @@
 package com.messenger.message.service;
 
-import com.messenger.chatroom.service.ChatRoomService;
 import com.messenger.common.exception.BusinessException;
 import com.messenger.message.dto.MessageRequest;
+import com.messenger.message.dto.MessageResponse;
 import com.messenger.message.entity.Message;
 import com.messenger.message.repository.MessageRepository;
 import com.messenger.user.entity.User;
-import com.messenger.user.repository.UserRepository;
+import com.messenger.user.service.UserProfileCache;
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,10 +22,18 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,10 +43,19 @@ class MessageServiceTest {
     private MessageRepository messageRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private MessageIngestService messageIngestService;
 
     @Mock
-    private ChatRoomService chatRoomService;
+    private MessageCursorCodec messageCursorCodec;
+
+    @Mock
+    private UserProfileCache userProfileCache;
+
+    @Mock
+    private RecentMessageCache recentMessageCache;
+
+    @Mock
+    private RoomBroadcaster roomBroadcaster;
 
     @InjectMocks
     private MessageService messageService;
@@ -81,9 +100,8 @@ class MessageServiceTest {
                     .messageType("TEXT")
                     .build();
 
-            when(chatRoomService.isMember(roomId, senderId)).thenReturn(Mono.just(true));
-            when(messageRepository.save(any(Message.class))).thenReturn(Mono.just(testMessage));
-            when(userRepository.findById(senderId)).thenReturn(Mono.just(testUser));
+            when(userProfileCache.find(senderId)).thenReturn(Mono.just(UserProfileCache.Profile.from(testUser)));
+            when(messageIngestService.ingest(any(), any())).thenReturn(Mono.just(testMessage));
 
             StepVerifier.create(messageService.sendMessage(roomId, senderId, request))
                     .assertNext(response -> {
@@ -100,7 +118,9 @@ class MessageServiceTest {
                     .content("Hello!")
                     .build();
 
-            when(chatRoomService.isMember(roomId, senderId)).thenReturn(Mono.just(false));
+            when(userProfileCache.find(senderId)).thenReturn(Mono.just(UserProfileCache.Profile.from(testUser)));
+            when(messageIngestService.ingest(any(), any()))
+                    .thenReturn(Mono.error(new BusinessException("NOT_MEMBER", "You are not a member of this room")));
 
             StepVerifier.create(messageService.sendMessage(roomId, senderId, request))
                     .expectErrorMatches(throwable ->
@@ -108,6 +128,23 @@ class MessageServiceTest {
                                     ((BusinessException) throwable).getCode().equals("NOT_MEMBER"))
                     .verify();
         }
+
+        @Test
+        @DisplayName("should fail without ingesting when the sender does not exist")
+        void shouldThrowErrorWhenSenderNotFound() {
+            MessageRequest request = MessageRequest.builder()
+                    .content("Hello!")
+                    .build();
+
+            when(userProfileCache.find(senderId)).thenReturn(Mono.empty());
+
+            StepVerifier.create(messageService.sendMessage(roomId, senderId, request))
+                    .expectErrorMatches(throwable ->
+                            throwable instanceof BusinessException &&
+                                    ((BusinessException) throwable).getCode().equals("USER_NOT_FOUND"))
+                    .verify();
+            verifyNoInteractions(messageIngestService);
+        }
     }
 
     @Nested
@@ -134,21 +171,130 @@ class MessageServiceTest {
                     .createdAt(OffsetDateTime.now().minusMinutes(1))
                     .build();
 
+            when(recentMessageCache.latest(eq(roomId), eq(50), any())).thenReturn(Mono.empty());
             when(messageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, 51))
                     .thenReturn(Flux.just(message2, message1));
-            when(userRepository.findById(senderId)).thenReturn(Mono.just(testUser));
+            when(userProfileCache.findAll(Set.of(senderId)))
+                    .thenReturn(Mono.just(Map.of(senderId, UserProfileCache.Profile.from(testUser))));
 
             StepVerifier.create(messageService.getMessages(roomId, null, 50))
                     .assertNext(response -> {
                         assertThat(response.getMessages()).hasSize(2);
+                        assertThat(response.getMessages()).extracting(m -> m.getSender().getDisplayName())
+                                .containsOnly("Test User");
                         assertThat(response.isHasMore()).isFalse();
                     })
                     .verifyComplete();
         }
 
+        @Test
+        @DisplayName("should page by the (created_at, id) key carried in the cursor")
+        void shouldPageByCursorKey() {
+            OffsetDateTime cursorCreatedAt = OffsetDateTime.now().minusMinutes(5);
+            UUID cursorId = UUID.randomUUID();
+            Message older = Message.builder()
+                    .id(UUID.randomUUID())
+                    .roomId(roomId)
+                    .senderId(senderId)
+                    .content("Older")
+                    .messageType("TEXT")
+                    .createdAt(cursorCreatedAt.minusSeconds(1))
+                    .build();
+            Message oldest = Message.builder()
+                    .id(UUID.randomUUID())
+                    .roomId(roomId)
+                    .senderId(senderId)
+                    .content("Oldest")
+                    .messageType("TEXT")
+                    .createdAt(cursorCreatedAt.minusSeconds(2))
+                    .build();
+
+            when(messageCursorCodec.decode(roomId, "token"))
+                    .thenReturn(new MessageCursorCodec.Position(cursorCreatedAt, cursorId));
+            when(messageRepository.findByRoomIdBeforeKey(roomId, cursorCreatedAt, cursorId, 2))
+                    .thenReturn(Flux.just(older, oldest));
+            when(userProfileCache.findAll(Set.of(senderId)))
+                    .thenReturn(Mono.just(Map.of(senderId, UserProfileCache.Profile.from(testUser))));
+            when(messageCursorCodec.encode(roomId, older.getCreatedAt(), older.getId())).thenReturn("next-token");
+
+            StepVerifier.create(messageService.getMessages(roomId, "token", 1))
+                    .assertNext(response -> {
+                        assertThat(response.getMessages()).extracting(MessageResponse::getContent)
+                                .containsExactly("Older");
+                        assertThat(response.isHasMore()).isTrue();
+                        assertThat(response.getNextCursor()).isEqualTo("next-token");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should resolve each distinct sender once for the whole page")
+        void shouldResolveDistinctSendersOnce() {
+            User otherUser = User.builder()
+                    .id(UUID.randomUUID())
+                    .displayName("Other User")
+                    .build();
+            Flux<Message> page = Flux.range(0, 10)
+                    .map(i -> Message.builder()
+                            .id(UUID.randomUUID())
+                            .roomId(roomId)
+                            .senderId(i % 2 == 0 ? senderId : otherUser.getId())
+                            .content("Message " + i)
+                            .messageType("TEXT")
+                            .createdAt(OffsetDateTime.now().minusSeconds(i))
+                            .build());
+
+            when(recentMessageCache.latest(eq(roomId), eq(50), any())).thenReturn(Mono.empty());
+            when(messageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, 51)).thenReturn(page);
+            when(userProfileCache.findAll(Set.of(senderId, otherUser.getId())))
+                    .thenReturn(Mono.just(Map.of(
+                            senderId, UserProfileCache.Profile.from(testUser),
+                            otherUser.getId(), UserProfileCache.Profile.from(otherUser))));
+
+            StepVerifier.create(messageService.getMessages(roomId, null, 50))
+                    .assertNext(response -> assertThat(response.getMessages())
+                            .extracting(m -> m.getSender().getDisplayName())
+                            .containsOnly("Test User", "Other User"))
+                    .verifyComplete();
+
+            verify(userProfileCache, times(1)).findAll(any());
+        }
+
+        @Test
+        @DisplayName("should reject an invalid cursor")
+        void shouldRejectInvalidCursor() {
+            when(messageCursorCodec.decode(roomId, "bogus"))
+                    .thenThrow(new BusinessException("INVALID_CURSOR", "Invalid or tampered cursor"));
+
+            StepVerifier.create(messageService.getMessages(roomId, "bogus", 50))
+                    .expectErrorMatches(throwable ->
+                            throwable instanceof BusinessException &&
+                                    ((BusinessException) throwable).getCode().equals("INVALID_CURSOR"))
+                    .verify();
+        }
+
+        @Test
+        @DisplayName("should serve the first page from the recent message cache without querying")
+        void shouldServeFirstPageFromCache() {
+            MessageResponse cached = MessageResponse.from(testMessage);
+            when(recentMessageCache.latest(eq(roomId), eq(50), any()))
+                    .thenReturn(Mono.just(new RecentMessageCache.Page(List.of(cached), true)));
+            when(messageCursorCodec.encode(roomId, cached.getCreatedAt(), cached.getId())).thenReturn("next-token");
+
+            StepVerifier.create(messageService.getMessages(roomId, null, 50))
+                    .assertNext(response -> {
+                        assertThat(response.getMessages()).containsExactly(cached);
+                        assertThat(response.getNextCursor()).isEqualTo("next-token");
+                    })
+                    .verifyComplete();
+
+            verifyNoInteractions(messageRepository, userProfileCache);
+        }
+
         @Test
         @DisplayName("should return empty list when no messages")
         void shouldReturnEmptyListWhenNoMessages() {
+            when(recentMessageCache.latest(eq(roomId), eq(50), any())).thenReturn(Mono.empty());
             when(messageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, 51))
                     .thenReturn(Flux.empty());
 
@@ -173,6 +319,10 @@ class MessageServiceTest {
 
             StepVerifier.create(messageService.deleteMessage(testMessage.getId(), senderId))
                     .verifyComplete();
+
+            verify(recentMessageCache).onDeleted(roomId, testMessage.getId());
+            verify(roomBroadcaster).broadcast(argThat(event ->
+                    event.getType() == MessageType.MESSAGE_DELETED && testMessage.getId().equals(event.getMessageId())));
         }
 
         @Test
@@ -0,0 +1,192 @@
+package com.messenger.message.service;
+
+import com.messenger.message.dto.MessageResponse;
+import com.messenger.message.dto.RecentMessageCacheProperties;
+import com.messenger.user.event.UserProfileUpdatedEvent;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentMessageCacheTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+    private RecentMessageCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RecentMessageCache cache;
+    private UUID roomId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RecentMessageCacheProperties();
+        properties.setMessagesPerRoom(3);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RecentMessageCache(properties, meterRegistry);
+        roomId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("구독하지 않은 방은 캐시하지 않고 DB 를 읽게 한다")
+    void latest_SkipsUntrackedRoom() {
+        StepVerifier.create(cache.latest(roomId, 2, loader(roomId, 5)))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("처음 한 번만 DB 에서 읽고 이후 첫 페이지는 메모리에서 응답한다")
+    void latest_LoadsOnceThenHits() {
+        cache.track(roomId);
+
+        StepVerifier.create(cache.latest(roomId, 2, loader(roomId, 5)))
+                .assertNext(page -> {
+                    assertThat(page.messages()).extracting(MessageResponse::getContent).containsExactly("m3", "m4");
+                    assertThat(page.hasMore()).isTrue();
+                })
+                .verifyComplete();
+        StepVerifier.create(cache.latest(roomId, 3, loader(roomId, 5)))
+                .assertNext(page -> assertThat(page.messages()).extracting(MessageResponse::getContent)
+                        .containsExactly("m2", "m3", "m4"))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("message.recent.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("message.recent.cache.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("새 메시지는 덧붙이고 오래된 것은 밀어내며, 삭제된 메시지는 뺀다")
+    void onChatAndOnDeleted_UpdateWindow() {
+        cache.track(roomId);
+        cache.latest(roomId, 3, loader(roomId, 2)).block();
+
+        MessageResponse deleted = message(roomId, 2);
+        cache.onChat(chat(deleted));
+        cache.onChat(chat(message(roomId, 3)));
+        cache.onDeleted(roomId, deleted.getId());
+
+        StepVerifier.create(cache.latest(roomId, 2, loader(roomId, 0)))
+                .assertNext(page -> {
+                    assertThat(page.messages()).extracting(MessageResponse::getContent).containsExactly("m1", "m3");
+                    // m0 은 창 밖으로 밀려났다
+                    assertThat(page.hasMore()).isTrue();
+                })
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("DB 에서 읽는 동안 저장된 메시지도 캐시에 반영한다")
+    void onChat_DuringLoadIsReplayed() {
+        cache.track(roomId);
+        Sinks.One<List<MessageResponse>> dbResult = Sinks.one();
+        Mono<RecentMessageCache.Page> first = cache.latest(roomId, 3, limit -> dbResult.asMono());
+
+        StepVerifier.create(first)
+                .then(() -> {
+                    cache.onChat(chat(message(roomId, 1)));
+                    dbResult.tryEmitValue(List.of(message(roomId, 0)));
+                })
+                .assertNext(page -> assertThat(page.messages()).extracting(MessageResponse::getContent)
+                        .containsExactly("m0", "m1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("프로필 변경은 이미 돌려준 페이지를 고치지 않고 이후 페이지에만 반영한다")
+    void onProfileUpdated_DoesNotMutateReturnedPage() {
+        cache.track(roomId);
+        RecentMessageCache.Page before = cache.latest(roomId, 2, loader(roomId, 2)).block();
+        MessageResponse.SenderInfo original = before.messages().get(0).getSender();
+
+        cache.onProfileUpdated(UserProfileUpdatedEvent.builder()
+                .userId(original.getId())
+                .displayName("Renamed")
+                .build());
+
+        assertThat(before.messages().get(0).getSender().getDisplayName()).isEqualTo("Sender");
+        StepVerifier.create(cache.latest(roomId, 2, loader(roomId, 0)))
+                .assertNext(page -> {
+                    assertThat(page.messages().get(0).getSender().getDisplayName()).isEqualTo("Renamed");
+                    assertThat(page.messages().get(1).getSender().getDisplayName()).isEqualTo("Sender");
+                })
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("메모리 예산을 넘으면 가장 오래 조회되지 않은 방을 버린다")
+    void store_EvictsLeastRecentlyUsedRoom() {
+        properties.setMaxMemory(DataSize.ofBytes(2_000));
+        cache = new RecentMessageCache(properties, meterRegistry);
+        UUID coldRoom = UUID.randomUUID();
+        cache.track(coldRoom);
+        cache.track(roomId);
+
+        cache.latest(coldRoom, 3, loader(coldRoom, 3)).block();
+        cache.latest(roomId, 3, loader(roomId, 3)).block();
+        cache.latest(roomId, 3, loader(roomId, 3)).block();
+        cache.latest(coldRoom, 3, loader(coldRoom, 3)).block();
+
+        assertThat(loads).hasValue(3);
+        assertThat(meterRegistry.get("message.recent.cache.evictions").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("message.recent.cache.memory").gauge().value()).isLessThanOrEqualTo(2_000);
+    }
+
+    // 최신순으로 count 개를 돌려주는 DB 조회 대역
+    private Function<Integer, Mono<List<MessageResponse>>> loader(UUID room, int count) {
+        return limit -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            List<MessageResponse> newestFirst = new ArrayList<>();
+            for (int i = count - 1; i >= 0 && newestFirst.size() < limit; i--) {
+                newestFirst.add(message(room, i));
+            }
+            return newestFirst;
+        });
+    }
+
+    private static MessageResponse message(UUID room, int i) {
+        return MessageResponse.builder()
+                .id(new UUID(0, i))
+                .roomId(room)
+                .seq((long) i)
+                .content("m" + i)
+                .messageType("TEXT")
+                .createdAt(BASE.plusSeconds(i))
+                .sender(MessageResponse.SenderInfo.builder()
+                        .id(UUID.randomUUID())
+                        .displayName("Sender")
+                        .build())
+                .build();
+    }
+
+    private static WebSocketMessage chat(MessageResponse message) {
+        return WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(message.getRoomId())
+                .messageId(message.getId())
+                .seq(message.getSeq())
+                .content(message.getContent())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+}
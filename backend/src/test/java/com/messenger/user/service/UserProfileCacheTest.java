@@ -0,0 +1,120 @@
+package com.messenger.user.service;
+
+import com.messenger.user.dto.UserProfileCacheProperties;
+import com.messenger.user.entity.User;
+import com.messenger.user.event.UserProfileUpdatedEvent;
+import com.messenger.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserProfileCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserProfileCacheProperties properties;
+    private UserProfileCache cache;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserProfileCacheProperties();
+        cache = new UserProfileCache(userRepository, properties, new SimpleMeterRegistry());
+        alice = user("Alice");
+        bob = user("Bob");
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 사용자만 한 번의 IN 조회로 읽고, 이후에는 메모리에서 답한다")
+    void findAll_LoadsMissesInOneQuery() {
+        when(userRepository.findAllById(List.of(alice.getId(), bob.getId()))).thenReturn(Flux.just(alice, bob));
+
+        StepVerifier.create(cache.findAll(List.of(alice.getId(), bob.getId(), alice.getId())))
+                .assertNext(profiles -> assertThat(profiles).containsOnlyKeys(alice.getId(), bob.getId()))
+                .verifyComplete();
+        StepVerifier.create(cache.findAll(List.of(bob.getId(), alice.getId())))
+                .assertNext(profiles -> assertThat(profiles.get(bob.getId()).displayName()).isEqualTo("Bob"))
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findAllById(any(Iterable.class));
+    }
+
+    @Test
+    @DisplayName("프로필 변경 이벤트를 받으면 항목을 버리고 다시 읽는다")
+    void onProfileUpdated_ReloadsProfile() {
+        when(userRepository.findAllById(List.of(alice.getId()))).thenReturn(Flux.just(alice));
+        cache.findAll(List.of(alice.getId())).block();
+
+        cache.onProfileUpdated(UserProfileUpdatedEvent.builder()
+                .userId(alice.getId())
+                .displayName("Alice Kim")
+                .build());
+        alice.setDisplayName("Alice Kim");
+
+        StepVerifier.create(cache.findAll(List.of(alice.getId())))
+                .assertNext(profiles -> assertThat(profiles.get(alice.getId()).displayName()).isEqualTo("Alice Kim"))
+                .verifyComplete();
+        verify(userRepository, times(2)).findAllById(any(Iterable.class));
+    }
+
+    @Test
+    @DisplayName("한 사용자 조회도 캐시를 거치고, 없는 사용자는 비어 있다")
+    void find_UsesCache() {
+        UUID unknown = UUID.randomUUID();
+        when(userRepository.findAllById(List.of(alice.getId()))).thenReturn(Flux.just(alice));
+        when(userRepository.findAllById(List.of(unknown))).thenReturn(Flux.empty());
+
+        StepVerifier.create(cache.find(alice.getId()))
+                .assertNext(profile -> assertThat(profile.displayName()).isEqualTo("Alice"))
+                .verifyComplete();
+        StepVerifier.create(cache.find(alice.getId()))
+                .assertNext(profile -> assertThat(profile.displayName()).isEqualTo("Alice"))
+                .verifyComplete();
+        StepVerifier.create(cache.find(unknown))
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findAllById(List.of(alice.getId()));
+    }
+
+    @Test
+    @DisplayName("상한을 넘으면 가장 오래 안 쓰인 프로필을 버린다")
+    void findAll_EvictsLeastRecentlyUsed() {
+        properties.setMaxEntries(1);
+        cache = new UserProfileCache(userRepository, properties, new SimpleMeterRegistry());
+        when(userRepository.findAllById(List.of(alice.getId()))).thenReturn(Flux.just(alice));
+        when(userRepository.findAllById(List.of(bob.getId()))).thenReturn(Flux.just(bob));
+
+        cache.findAll(List.of(alice.getId())).block();
+        cache.findAll(List.of(bob.getId())).block();
+        cache.findAll(List.of(alice.getId())).block();
+
+        verify(userRepository, times(2)).findAllById(List.of(alice.getId()));
+    }
+
+    private static User user(String displayName) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username(displayName.toLowerCase())
+                .displayName(displayName)
+                .build();
+    }
+}
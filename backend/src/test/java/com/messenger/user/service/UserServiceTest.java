@@ -4,6 +4,7 @@ import com.messenger.common.exception.BusinessException;
 import com.messenger.user.dto.UserRequest;
 import com.messenger.user.dto.UserResponse;
 import com.messenger.user.entity.User;
+import com.messenger.user.event.UserProfileUpdatedEvent;
 import com.messenger.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -23,6 +25,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +34,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -172,6 +178,12 @@ class UserServiceTest {
                         assertThat(response.getDisplayName()).isEqualTo("Updated Name");
                     })
                     .verifyComplete();
+
+            verify(eventPublisher).publishEvent(UserProfileUpdatedEvent.builder()
+                    .userId(testUser.getId())
+                    .displayName("Updated Name")
+                    .avatarUrl("https://example.com/new-avatar.png")
+                    .build());
         }
     }
 
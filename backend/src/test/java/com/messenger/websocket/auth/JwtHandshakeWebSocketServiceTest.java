@@ -0,0 +1,96 @@
+package com.messenger.websocket.auth;
+
+import com.messenger.auth.service.JwtService;
+import com.messenger.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtHandshakeWebSocketServiceTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final WebSocketHandler handler = mock(WebSocketHandler.class);
+
+    @Test
+    @DisplayName("토큰 없는 업그레이드는 세션을 만들지 않고 401 로 거절한다")
+    void shouldRejectUpgradeWithoutToken() {
+        MockServerWebExchange exchange = upgrade("/ws/chat");
+
+        StepVerifier.create(service().handleRequest(exchange, handler)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(userRepository, handler);
+    }
+
+    @Test
+    @DisplayName("refresh 토큰으로는 연결할 수 없다")
+    void shouldRejectRefreshToken() {
+        when(jwtService.validateToken("refresh")).thenReturn(true);
+        when(jwtService.isAccessToken("refresh")).thenReturn(false);
+        MockServerWebExchange exchange = upgrade("/ws/chat?token=refresh");
+
+        StepVerifier.create(service().handleRequest(exchange, handler)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(userRepository, handler);
+    }
+
+    @Test
+    @DisplayName("legacy userId 파라미터는 더 이상 인증으로 인정하지 않는다")
+    void shouldIgnoreLegacyUserIdParameter() {
+        MockServerWebExchange exchange = upgrade("/ws/chat?userId=" + UUID.randomUUID());
+
+        StepVerifier.create(service().handleRequest(exchange, handler)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 사용자의 토큰은 401 로 거절한다")
+    void shouldRejectUnknownUser() {
+        UUID userId = UUID.randomUUID();
+        when(jwtService.validateToken("access")).thenReturn(true);
+        when(jwtService.isAccessToken("access")).thenReturn(true);
+        when(jwtService.extractUserId("access")).thenReturn(userId);
+        when(userRepository.findById(userId)).thenReturn(Mono.empty());
+        MockServerWebExchange exchange = upgrade("/ws/chat?token=access");
+
+        StepVerifier.create(service().handleRequest(exchange, handler)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange.getAttributes()).doesNotContainKey(WebSocketAuthentication.ATTRIBUTE);
+    }
+
+    private JwtHandshakeWebSocketService service() {
+        return new JwtHandshakeWebSocketService(jwtService, userRepository);
+    }
+
+    private static MockServerWebExchange upgrade(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri)
+                .header("Upgrade", "websocket")
+                .header("Connection", "Upgrade")
+                .header("Sec-WebSocket-Key", "dGhlIHNhbXBsZSBub25jZQ==")
+                .header("Sec-WebSocket-Version", "13"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.messenger.websocket.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.relay.RedisRoomEventPublisher;
+import com.messenger.websocket.replay.RoomReplayBuffers;
+import com.messenger.websocket.session.ChatSession;
+import com.messenger.websocket.session.RoomSessionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomBroadcasterTest {
+
+    @Mock
+    private RedisRoomEventPublisher redisRoomEventPublisher;
+
+    @Mock
+    private RoomReplayBuffers roomReplayBuffers;
+
+    private RoomSessionRegistry registry;
+    private RoomBroadcaster broadcaster;
+    private UUID roomId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RoomSessionRegistry();
+        broadcaster = new RoomBroadcaster(registry, new FrameEncoder(new ObjectMapper()),
+                redisRoomEventPublisher, roomReplayBuffers);
+        roomId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("대상 방에 JOIN 한 세션에게만 전달하고 다른 노드에도 발행한다")
+    void broadcast_ReachesOnlyTargetRoom() {
+        ChatSession member = join("member", roomId);
+        ChatSession outsider = join("outsider", UUID.randomUUID());
+        WebSocketMessage message = chat(roomId);
+
+        broadcaster.broadcast(message);
+
+        verify(member).send(any(EncodedFrame.class));
+        verify(outsider, never()).send(any());
+        verify(redisRoomEventPublisher).publish(message);
+    }
+
+    @Test
+    @DisplayName("제외한 세션에는 보내지 않고 같은 방의 나머지 세션과 다른 노드에는 보낸다")
+    void broadcast_SkipsExcludedSession() {
+        ChatSession sender = join("sender", roomId);
+        ChatSession other = join("other", roomId);
+        WebSocketMessage message = chat(roomId);
+
+        broadcaster.broadcast(message, sender);
+
+        verify(sender, never()).send(any());
+        verify(other).send(any(EncodedFrame.class));
+        verify(redisRoomEventPublisher).publish(message);
+    }
+
+    @Test
+    @DisplayName("방을 떠난 세션에는 더 이상 전달하지 않는다")
+    void broadcast_StopsAfterLeave() {
+        ChatSession leaving = join("leaving", roomId);
+        ChatSession staying = join("staying", roomId);
+        registry.leave(roomId, leaving);
+
+        broadcaster.broadcast(chat(roomId));
+
+        verify(leaving, never()).send(any());
+        verify(staying).send(any(EncodedFrame.class));
+    }
+
+    private ChatSession join(String id, UUID room) {
+        ChatSession session = mock(ChatSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getUserId()).thenReturn(UUID.randomUUID());
+        registry.register(session);
+        registry.joinAll(List.of(room), session);
+        return session;
+    }
+
+    private static WebSocketMessage chat(UUID room) {
+        return WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(room)
+                .content("hello")
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.messenger.websocket.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CborFrameCodecTest {
+
+    private final CborFrameCodec cborCodec = new CborFrameCodec();
+    private final JsonFrameCodec jsonCodec = new JsonFrameCodec(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    @DisplayName("모든 필드를 그대로 복원한다 (시각은 millis 단위 UTC)")
+    void roundTrip_PreservesFields() throws Exception {
+        WebSocketMessage message = chatMessage();
+        message.setTypingUsers(List.of(
+                WebSocketMessage.SenderInfo.builder().id(UUID.randomUUID()).displayName("Alice").build(),
+                WebSocketMessage.SenderInfo.builder().id(UUID.randomUUID()).displayName("Bob").build()));
+        message.setIsTyping(true);
+        message.setErrorCode("E");
+        message.setErrorMessage("error");
+        message.setLastSeq(41L);
+        message.setRoomIds(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        message.setMessageType("IMAGE");
+
+        WebSocketMessage decoded = cborCodec.decode(DefaultDataBufferFactory.sharedInstance.wrap(cborCodec.encode(message)));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("null 필드는 쓰지 않는다")
+    void roundTrip_OmitsNulls() throws Exception {
+        WebSocketMessage message = WebSocketMessage.builder()
+                .type(MessageType.JOIN)
+                .roomId(UUID.randomUUID())
+                .build();
+
+        WebSocketMessage decoded = cborCodec.decode(DefaultDataBufferFactory.sharedInstance.wrap(cborCodec.encode(message)));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(message);
+        assertThat(cborCodec.encode(message)).hasSizeLessThan(25);
+    }
+
+    @Test
+    @DisplayName("같은 CHAT 메시지를 JSON 보다 작게 인코딩한다")
+    void encode_IsSmallerThanJson() throws Exception {
+        WebSocketMessage message = chatMessage();
+
+        assertThat(cborCodec.encode(message).length).isLessThan(jsonCodec.encode(message).length / 2);
+    }
+
+    @Test
+    @DisplayName("미리 인코딩된 메시지를 이어 붙인 BATCH 를 두 형식 모두 디코딩할 수 있다")
+    void encodeBatch_DecodesAsBatchMessage() throws Exception {
+        WebSocketMessage first = chatMessage();
+        WebSocketMessage second = chatMessage();
+
+        for (FrameCodec codec : List.of(cborCodec, jsonCodec)) {
+            byte[] batch = codec.encodeBatch(List.of(codec.encode(first), codec.encode(second)));
+            WebSocketMessage decoded = codec.decode(DefaultDataBufferFactory.sharedInstance.wrap(batch));
+
+            assertThat(decoded.getType()).isEqualTo(MessageType.BATCH);
+            assertThat(decoded.getMessages()).extracting(WebSocketMessage::getMessageId)
+                    .containsExactly(first.getMessageId(), second.getMessageId());
+        }
+    }
+
+    @Test
+    @DisplayName("정수가 아닌 필드 키는 IOException 으로 거부한다")
+    void decode_RejectsNonIntegerFieldKey() throws Exception {
+        byte[] frame = cbor(generator -> {
+            generator.writeFieldName("type");
+            generator.writeNumber(MessageType.CHAT.ordinal());
+        });
+
+        assertThatThrownBy(() -> decode(frame)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 메시지 타입 번호는 IOException 으로 거부한다")
+    void decode_RejectsUnknownTypeOrdinal() throws Exception {
+        for (int ordinal : new int[]{-1, MessageType.values().length}) {
+            byte[] frame = cbor(generator -> {
+                generator.writeFieldId(1);
+                generator.writeNumber(ordinal);
+            });
+
+            assertThatThrownBy(() -> decode(frame)).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("16바이트가 아닌 UUID 는 IOException 으로 거부한다 (roomId, sender.id, roomIds)")
+    void decode_RejectsShortUuid() throws Exception {
+        byte[] roomId = cbor(generator -> {
+            generator.writeFieldId(2);
+            generator.writeBinary(new byte[8]);
+        });
+        byte[] senderId = cbor(generator -> {
+            generator.writeFieldId(5);
+            generator.writeStartObject();
+            generator.writeFieldId(1);
+            generator.writeBinary(new byte[15]);
+            generator.writeEndObject();
+        });
+        byte[] roomIds = cbor(generator -> {
+            generator.writeFieldId(16);
+            generator.writeStartArray();
+            generator.writeBinary(new byte[0]);
+            generator.writeEndArray();
+        });
+
+        for (byte[] frame : List.of(roomId, senderId, roomIds)) {
+            assertThatThrownBy(() -> decode(frame)).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("배열 자리에 다른 값이 오거나 배열이 중간에 끊기면 IOException 으로 거부한다")
+    void decode_RejectsMalformedArray() throws Exception {
+        byte[] notArray = cbor(generator -> {
+            generator.writeFieldId(16);
+            generator.writeString("room");
+        });
+        // 원소 2 개짜리 배열 헤더 뒤에 원소 하나만 두고 끝낸다
+        byte[] truncated = {(byte) 0xA1, 0x0B, (byte) 0x82, 0x61, 'a'};
+
+        for (byte[] frame : List.of(notArray, truncated)) {
+            assertThatThrownBy(() -> decode(frame)).isInstanceOf(IOException.class);
+        }
+    }
+
+    private WebSocketMessage decode(byte[] frame) throws IOException {
+        return cborCodec.decode(DefaultDataBufferFactory.sharedInstance.wrap(frame));
+    }
+
+    private static byte[] cbor(FieldWriter fields) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CBORGenerator generator = new CBORFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            fields.write(generator);
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private interface FieldWriter {
+        void write(CBORGenerator generator) throws IOException;
+    }
+
+    private static WebSocketMessage chatMessage() {
+        return WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(UUID.randomUUID())
+                .messageId(UUID.randomUUID())
+                .seq(42L)
+                .content("hello")
+                .clientMessageId("c-1")
+                .sender(WebSocketMessage.SenderInfo.builder()
+                        .id(UUID.randomUUID())
+                        .displayName("Alice")
+                        .avatarUrl("https://example.com/a.png")
+                        .build())
+                .createdAt(OffsetDateTime.of(2026, 1, 17, 12, 30, 15, 123_000_000, ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.messenger.websocket.compression;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeflateHandshakerTest {
+
+    private final WebSocketProperties.Compression properties = new WebSocketProperties.Compression();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("설정한 server_no_context_takeover 와 창 크기를 응답에 싣는다")
+    void handshake_AddsServerParameters() {
+        properties.setServerContextTakeover(false);
+        properties.setServerMaxWindowBits(10);
+
+        WebSocketServerExtension extension = new DeflateHandshaker(properties)
+                .handshakeExtension(offer(Map.of()));
+
+        assertThat(extension.newReponseData().parameters())
+                .containsKey(DeflateHandshaker.SERVER_NO_CONTEXT_TAKEOVER)
+                .containsEntry(DeflateHandshaker.SERVER_MAX_WINDOW_BITS, "10");
+    }
+
+    @Test
+    @DisplayName("클라이언트가 더 작은 창을 요청하면 그 값을 따른다")
+    void handshake_KeepsSmallerRequestedWindow() {
+        properties.setServerMaxWindowBits(12);
+
+        WebSocketServerExtension extension = new DeflateHandshaker(properties)
+                .handshakeExtension(offer(Map.of(DeflateHandshaker.SERVER_MAX_WINDOW_BITS, "9")));
+
+        assertThat(extension.newReponseData().parameters())
+                .containsEntry(DeflateHandshaker.SERVER_MAX_WINDOW_BITS, "9");
+    }
+
+    @Test
+    @DisplayName("다른 확장은 협상하지 않는다")
+    void handshake_IgnoresOtherExtensions() {
+        assertThat(new DeflateHandshaker(properties)
+                .handshakeExtension(new WebSocketExtensionData("x-webkit-deflate-frame", Map.of())))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("임계치 이상 프레임만 압축하고 압축률을 기록한다")
+    void encoder_CompressesOnlyFramesAboveThreshold() {
+        DeflateStats stats = new DeflateStats(new CompressionMetrics(meterRegistry));
+        WebSocketServerExtension extension = new DeflateHandshaker(properties).handshakeExtension(offer(Map.of()));
+        EmbeddedChannel channel = new EmbeddedChannel(
+                stats.compressedSide(), extension.newExtensionEncoder(), stats.uncompressedSide());
+
+        channel.writeOutbound(new TextWebSocketFrame("{\"type\":\"TYPING\"}"));
+        WebSocketFrame small = channel.readOutbound();
+        assertThat(small.rsv() & WebSocketExtension.RSV1).isZero();
+        small.release();
+
+        channel.writeOutbound(new TextWebSocketFrame("{\"type\":\"CHAT\"}".repeat(100)));
+        WebSocketFrame large = channel.readOutbound();
+        assertThat(large.rsv() & WebSocketExtension.RSV1).isNotZero();
+        large.release();
+
+        assertThat(stats.uncompressedBytes()).isEqualTo(1500);
+        assertThat(stats.ratio()).isBetween(0.0, 0.2);
+        assertThat(meterRegistry.get("websocket.compression.skipped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("websocket.compression.time").timer().count()).isEqualTo(1);
+        channel.finishAndReleaseAll();
+    }
+
+    private static WebSocketExtensionData offer(Map<String, String> parameters) {
+        return new WebSocketExtensionData(DeflateHandshaker.EXTENSION, parameters);
+    }
+}
@@ -0,0 +1,100 @@
+package com.messenger.websocket.inbound;
+
+import com.messenger.websocket.dto.WebSocketProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InboundFrameDispatcherTest {
+
+    private InboundFrameDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.getInbound().setWorkers(4);
+        dispatcher = new InboundFrameDispatcher(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("한 방에 여러 세션이 몰려도 발신자별 처리 순서는 도착 순서와 같다")
+    void dispatch_FloodOneRoom_PreservesPerSenderOrder() {
+        UUID roomId = UUID.randomUUID();
+        int senders = 50;
+        int framesPerSender = 200;
+        Map<Integer, List<Integer>> processed = new ConcurrentHashMap<>();
+
+        // 발신자마다 프레임을 순서대로 넣되, 각 작업은 무작위 지연 후 완료된다 (세션별 flatMap 과 같은 조건)
+        Flux<Void> flood = Flux.range(0, senders)
+                .flatMap(sender -> Flux.range(0, framesPerSender)
+                        .flatMap(seq -> dispatcher.dispatch(roomId, sender, () -> Mono.delay(randomDelay())
+                                .doOnNext(t -> processed.computeIfAbsent(sender, k -> new CopyOnWriteArrayList<>()).add(seq))
+                                .then()), 64));
+
+        StepVerifier.create(flood)
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+
+        assertThat(processed).hasSize(senders);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < framesPerSender; i++) {
+            expected.add(i);
+        }
+        processed.values().forEach(order -> assertThat(order).containsExactlyElementsOf(expected));
+    }
+
+    @Test
+    @DisplayName("완료되지 않는 작업은 같은 키의 다음 작업만 막고 다른 발신자는 막지 않는다")
+    void dispatch_PendingTask_BlocksOnlyItsKey() {
+        UUID roomId = UUID.randomUUID();
+
+        dispatcher.dispatch(roomId, "stuck", Mono::never).subscribe();
+        Mono<Void> sameKey = dispatcher.dispatch(roomId, "stuck", Mono::empty);
+
+        StepVerifier.create(dispatcher.dispatch(roomId, "other", Mono::empty))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(sameKey)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("작업이 실패해도 같은 키의 다음 작업은 처리된다")
+    void dispatch_FailedTask_ContinuesWithNext() {
+        UUID roomId = UUID.randomUUID();
+
+        StepVerifier.create(dispatcher.dispatch(roomId, "sender", () -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(dispatcher.dispatch(roomId, "sender", Mono::empty))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private static Duration randomDelay() {
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(0, 200_000));
+    }
+}
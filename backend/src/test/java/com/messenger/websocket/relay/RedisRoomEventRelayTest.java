@@ -0,0 +1,188 @@
+package com.messenger.websocket.relay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.config.RedisConfig;
+import com.messenger.message.dto.RecentMessageCacheProperties;
+import com.messenger.message.service.RecentMessageCache;
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.broadcast.FrameEncoder;
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.replay.RoomReplayBuffers;
+import com.messenger.websocket.session.ChatSession;
+import com.messenger.websocket.session.OutboundMetrics;
+import com.messenger.websocket.session.RoomSessionRegistry;
+import com.messenger.websocket.typing.TypingAggregator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 같은 Valkey 를 바라보는 두 개의 애플리케이션 컨텍스트(노드)로 교차 노드 브로드캐스트를 검증한다.
+ */
+@Testcontainers
+class RedisRoomEventRelayTest {
+
+    @Container
+    static GenericContainer<?> valkey = new GenericContainer<>(DockerImageName.parse("valkey/valkey:8-alpine"))
+            .withExposedPorts(6379);
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+    private UUID roomId;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = startNode();
+        nodeB = startNode();
+        roomId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("should deliver an event to sessions on another node exactly once on the origin node")
+    void shouldRelayEventAcrossNodes() {
+        ChatSession sessionOnA = join(nodeA, "a-1");
+        ChatSession sessionOnB = join(nodeB, "b-1");
+
+        nodeA.getBean(RoomBroadcaster.class).broadcast(chatMessage("hello from A"));
+
+        StepVerifier.create(sessionOnB.outbound().map(this::payload))
+                .expectNextMatches(json -> json.contains("hello from A"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        // 로컬 세션은 Redis 를 거치지 않고 한 번만 받는다
+        StepVerifier.create(sessionOnA.outbound().map(this::payload))
+                .expectNextMatches(json -> json.contains("hello from A"))
+                .expectNoEvent(Duration.ofMillis(500))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("should unsubscribe from the room channel when the last local session leaves")
+    void shouldUnsubscribeWhenLastLocalSessionLeaves() {
+        join(nodeA, "a-1");
+        ChatSession sessionOnB = join(nodeB, "b-1");
+        assertThat(channelSubscribers()).isEqualTo(2L);
+
+        nodeB.getBean(RoomSessionRegistry.class).leave(roomId, sessionOnB);
+        RedisRoomEventSubscriber subscriberB = nodeB.getBean(RedisRoomEventSubscriber.class);
+        subscriberB.refresh(roomId);
+
+        assertThat(subscriberB.isSubscribed(roomId)).isFalse();
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(channelSubscribers()).isEqualTo(1L));
+    }
+
+    private ChatSession join(AnnotationConfigApplicationContext node, String sessionId) {
+        WebSocketSession webSocketSession = mock(WebSocketSession.class);
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        WebSocketMessage.SenderInfo sender = WebSocketMessage.SenderInfo.builder()
+                .id(UUID.randomUUID())
+                .displayName(sessionId)
+                .build();
+        ChatSession session = new ChatSession(webSocketSession, sender,
+                new WebSocketProperties.Outbound(), new OutboundMetrics(new SimpleMeterRegistry()), () -> 0L);
+
+        RoomSessionRegistry registry = node.getBean(RoomSessionRegistry.class);
+        registry.register(session);
+        registry.joinAll(List.of(roomId), session);
+        RedisRoomEventSubscriber subscriber = node.getBean(RedisRoomEventSubscriber.class);
+        subscriber.refresh(roomId);
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscriber.isSubscribed(roomId));
+        return session;
+    }
+
+    // PUBLISH 의 반환값은 채널 구독자 수
+    @SuppressWarnings("unchecked")
+    private Long channelSubscribers() {
+        ReactiveRedisTemplate<String, String> template = nodeA.getBean(ReactiveRedisTemplate.class);
+        return template.convertAndSend(RedisRoomEventPublisher.roomChannel(roomId), "probe")
+                .block(Duration.ofSeconds(5));
+    }
+
+    private WebSocketMessage chatMessage(String content) {
+        return WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(roomId)
+                .messageId(UUID.randomUUID())
+                .content(content)
+                .build();
+    }
+
+    private String payload(EncodedFrame frame) {
+        return frame.toDataBuffer(DefaultDataBufferFactory.sharedInstance).toString(StandardCharsets.UTF_8);
+    }
+
+    private static AnnotationConfigApplicationContext startNode() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(LettuceConnectionFactory.class,
+                () -> new LettuceConnectionFactory(valkey.getHost(), valkey.getMappedPort(6379)));
+        context.register(RelayNodeConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @Import({
+            RedisConfig.class,
+            RoomSessionRegistry.class,
+            FrameEncoder.class,
+            RoomBroadcaster.class,
+            RedisRoomEventPublisher.class,
+            RedisRoomEventSubscriber.class,
+            RecentMessageCache.class,
+            RecentMessageCacheProperties.class,
+            RoomReplayBuffers.class,
+            TypingAggregator.class,
+            WebSocketProperties.class
+    })
+    static class RelayNodeConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.json().build();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
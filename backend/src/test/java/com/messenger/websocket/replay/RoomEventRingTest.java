@@ -0,0 +1,95 @@
+package com.messenger.websocket.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.broadcast.FrameEncoder;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomEventRingTest {
+
+    private final FrameEncoder frameEncoder = new FrameEncoder(new ObjectMapper().findAndRegisterModules());
+    private final UUID roomId = UUID.randomUUID();
+
+    private RoomEventRing ring;
+
+    @BeforeEach
+    void setUp() {
+        ring = new RoomEventRing(4);
+    }
+
+    @Test
+    @DisplayName("lastSeq 이후 구간만 순번 순서대로 돌려준다")
+    void since_ReturnsOnlyGap() throws JsonProcessingException {
+        List<EncodedFrame> frames = recordRange(1, 3);
+
+        assertThat(ring.since(1)).containsExactly(frames.get(1), frames.get(2));
+    }
+
+    @Test
+    @DisplayName("이미 최신이면 빈 목록을 돌려준다")
+    void since_UpToDate_ReturnsEmpty() throws JsonProcessingException {
+        recordRange(1, 3);
+
+        assertThat(ring.since(3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("구간이 버퍼 크기보다 오래되면 null (DB 조회 필요)")
+    void since_GapOlderThanBuffer_ReturnsNull() throws JsonProcessingException {
+        recordRange(1, 6);
+
+        assertThat(ring.since(1)).isNull();
+        assertThat(ring.since(2)).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("구간 중간의 순번을 받지 못했으면 null")
+    void since_MissingSeq_ReturnsNull() throws JsonProcessingException {
+        ring.record(1, frame(1));
+        ring.record(3, frame(3));
+
+        assertThat(ring.since(0)).isNull();
+        assertThat(ring.since(2)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("순서가 뒤바뀌어 도착해도 순번 순서로 돌려준다")
+    void since_OutOfOrderArrival_ReturnsInSeqOrder() throws JsonProcessingException {
+        EncodedFrame second = frame(2);
+        EncodedFrame first = frame(1);
+        ring.record(2, second);
+        ring.record(1, first);
+
+        assertThat(ring.since(0)).containsExactly(first, second);
+    }
+
+    private List<EncodedFrame> recordRange(long from, long to) throws JsonProcessingException {
+        List<EncodedFrame> frames = new ArrayList<>();
+        for (long seq = from; seq <= to; seq++) {
+            EncodedFrame frame = frame(seq);
+            ring.record(seq, frame);
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private EncodedFrame frame(long seq) throws JsonProcessingException {
+        return frameEncoder.encode(WebSocketMessage.builder()
+                .type(MessageType.CHAT)
+                .roomId(roomId)
+                .seq(seq)
+                .content("message " + seq)
+                .build());
+    }
+}
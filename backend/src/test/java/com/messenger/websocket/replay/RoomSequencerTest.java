@@ -0,0 +1,85 @@
+package com.messenger.websocket.replay;
+
+import com.messenger.config.RedisConfig;
+import com.messenger.message.repository.MessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실제 Valkey 카운터로 순번 예약을 검증한다.
+ */
+@Testcontainers
+class RoomSequencerTest {
+
+    @Container
+    static GenericContainer<?> valkey = new GenericContainer<>(DockerImageName.parse("valkey/valkey:8-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private MessageRepository messageRepository;
+    private RoomSequencer roomSequencer;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(valkey.getHost(), valkey.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        messageRepository = mock(MessageRepository.class);
+        roomSequencer = new RoomSequencer(new RedisConfig().reactiveRedisTemplate(connectionFactory), messageRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("카운터가 없는 방에 동시에 예약해도 DB 의 마지막 순번 뒤로 겹치지 않는 구간을 받는다")
+    void reserve_SeedsAtomicallyUnderConcurrency() {
+        UUID roomId = UUID.randomUUID();
+        // DB 조회가 오래 걸리는 동안 다른 호출자들이 카운터에 접근하게 한다
+        when(messageRepository.findMaxRoomSeq(roomId)).thenReturn(Mono.just(5L).delayElement(Duration.ofMillis(50)));
+
+        StepVerifier.create(Flux.range(0, 50)
+                        .flatMap(i -> roomSequencer.reserve(roomId, 2), 50)
+                        .flatMapIterable(first -> LongStream.of(first, first + 1).boxed().toList())
+                        .collectList())
+                .assertNext(seqs -> assertThat(seqs)
+                        .doesNotHaveDuplicates()
+                        .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(6, 105).boxed().toList()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("카운터가 있으면 DB 를 조회하지 않고 이어서 순번을 준다")
+    void next_ContinuesExistingCounter() {
+        UUID roomId = UUID.randomUUID();
+        when(messageRepository.findMaxRoomSeq(roomId)).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(roomSequencer.next(roomId).concatWith(roomSequencer.reserve(roomId, 3))
+                        .concatWith(roomSequencer.next(roomId)))
+                .expectNext(1L, 2L, 5L)
+                .verifyComplete();
+        verify(messageRepository, times(1)).findMaxRoomSeq(roomId);
+    }
+}
@@ -0,0 +1,213 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomSessionRegistryTest {
+
+    private final AtomicLong sessionIds = new AtomicLong();
+    private final WebSocketProperties.Outbound outboundProperties = new WebSocketProperties.Outbound();
+    private final OutboundMetrics outboundMetrics = new OutboundMetrics(new SimpleMeterRegistry());
+    private WebSocketSession webSocketSession;
+
+    private RoomSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RoomSessionRegistry();
+        // ChatSession 은 생성 시 한 번만 ID 를 읽으므로 mock 하나를 재사용한다
+        webSocketSession = mock(WebSocketSession.class);
+        when(webSocketSession.getId()).thenAnswer(invocation -> "session-" + sessionIds.incrementAndGet());
+    }
+
+    @Nested
+    @DisplayName("removeSession")
+    class RemoveSession {
+
+        @Test
+        @DisplayName("세션이 JOIN 한 방만 돌려주고 다른 세션의 방은 유지한다")
+        void removeSession_ReturnsOwnRooms() {
+            UUID roomA = UUID.randomUUID();
+            UUID roomB = UUID.randomUUID();
+            ChatSession leaving = connect();
+            ChatSession staying = connect();
+            registry.joinAll(List.of(roomA), leaving);
+            registry.joinAll(List.of(roomB), leaving);
+            registry.joinAll(List.of(roomB), staying);
+
+            Set<UUID> leftRooms = registry.removeSession(leaving);
+
+            assertThat(leftRooms).containsExactlyInAnyOrder(roomA, roomB);
+            assertThat(registry.sessionsOf(roomB)).containsExactly(staying);
+            assertThat(registry.hasSessions(roomA)).isFalse();
+        }
+
+        @Test
+        @DisplayName("마지막 세션이 떠난 방 항목을 제거한다")
+        void removeSession_EvictsEmptyRooms() {
+            ChatSession session = connect();
+            registry.joinAll(List.of(UUID.randomUUID()), session);
+            registry.joinAll(List.of(UUID.randomUUID()), session);
+
+            registry.removeSession(session);
+
+            assertThat(registry.roomCount()).isZero();
+            assertThat(registry.sessionCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("종료된 세션은 다시 방에 JOIN 할 수 없다")
+        void join_AfterRemove_IsIgnored() {
+            ChatSession session = connect();
+            registry.removeSession(session);
+
+            assertThat(registry.joinAll(List.of(UUID.randomUUID()), session)).isEmpty();
+            assertThat(registry.roomCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("joinAll")
+    class JoinAll {
+
+        @Test
+        @DisplayName("여러 방에 한 번에 JOIN 하고 이미 JOIN 한 방은 결과에서 뺀다")
+        void joinAll_RegistersEveryRoomOnce() {
+            UUID roomA = UUID.randomUUID();
+            UUID roomB = UUID.randomUUID();
+            ChatSession session = connect();
+            registry.joinAll(List.of(roomA), session);
+
+            List<RoomSessionRegistry.RoomJoin> joined = registry.joinAll(List.of(roomA, roomB), session);
+
+            assertThat(joined).extracting(RoomSessionRegistry.RoomJoin::roomId).containsExactly(roomB);
+            assertThat(registry.roomsOf(session)).containsExactlyInAnyOrder(roomA, roomB);
+        }
+
+        @Test
+        @DisplayName("같은 사용자의 두 번째 세션은 첫 세션으로 보지 않는다")
+        void joinAll_FlagsOnlyFirstSessionOfUser() {
+            UUID roomId = UUID.randomUUID();
+            UUID userId = UUID.randomUUID();
+            ChatSession first = connect(userId);
+            ChatSession second = connect(userId);
+            ChatSession other = connect();
+
+            assertThat(registry.joinAll(List.of(roomId), first)).singleElement()
+                    .isEqualTo(new RoomSessionRegistry.RoomJoin(roomId, 1, true));
+            assertThat(registry.joinAll(List.of(roomId), second)).singleElement()
+                    .isEqualTo(new RoomSessionRegistry.RoomJoin(roomId, 2, false));
+            assertThat(registry.joinAll(List.of(roomId), other)).singleElement()
+                    .isEqualTo(new RoomSessionRegistry.RoomJoin(roomId, 3, true));
+
+            assertThat(registry.leave(roomId, first)).isFalse();
+            assertThat(registry.leave(roomId, second)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("사용자별 세션 색인은 그 사용자의 세션만 돌려주고, 마지막 세션이 끊기면 비운다")
+    void sessionsOfUser_TracksConnectedSessions() {
+        UUID userId = UUID.randomUUID();
+        ChatSession first = connect(userId);
+        ChatSession second = connect(userId);
+        connect();
+
+        assertThat(registry.sessionsOfUser(userId)).containsExactlyInAnyOrder(first, second);
+
+        registry.removeSession(first);
+        assertThat(registry.sessionsOfUser(userId)).containsExactly(second);
+
+        registry.removeSession(second);
+        assertThat(registry.sessionsOfUser(userId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("leave 로 마지막 세션이 빠지면 방 항목을 제거한다")
+    void leave_EvictsEmptyRoom() {
+        UUID roomId = UUID.randomUUID();
+        ChatSession session = connect();
+        registry.joinAll(List.of(roomId), session);
+
+        registry.leave(roomId, session);
+
+        assertThat(registry.roomCount()).isZero();
+        assertThat(registry.roomsOf(session)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("soak: 100k 세션 연결/종료 후 방/세션 항목이 남지 않고 힙이 일정 범위 안에 머문다")
+    void soak_ConnectDisconnect100kSessions_HeapStaysBounded() {
+        int totalSessions = 100_000;
+        int wave = 10_000;
+        int roomsPerSession = 3;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        churn(wave, roomsPerSession); // 워밍업
+        long baseline = usedHeapAfterGc(memory);
+
+        for (int connected = 0; connected < totalSessions; connected += wave) {
+            churn(wave, roomsPerSession);
+        }
+
+        assertThat(registry.sessionCount()).isZero();
+        assertThat(registry.roomCount()).isZero();
+        assertThat(usedHeapAfterGc(memory) - baseline).isLessThan(32L * 1024 * 1024);
+    }
+
+    // wave 개 세션이 각자 새 방과 공용 방에 JOIN 한 뒤 모두 종료한다
+    private void churn(int wave, int roomsPerSession) {
+        UUID lobby = UUID.randomUUID();
+        List<ChatSession> sessions = new ArrayList<>(wave);
+        for (int i = 0; i < wave; i++) {
+            ChatSession session = connect();
+            registry.joinAll(List.of(lobby), session);
+            for (int r = 1; r < roomsPerSession; r++) {
+                registry.joinAll(List.of(UUID.randomUUID()), session);
+            }
+            sessions.add(session);
+        }
+        for (ChatSession session : sessions) {
+            assertThat(registry.removeSession(session)).hasSize(roomsPerSession);
+        }
+    }
+
+    private ChatSession connect() {
+        return connect(UUID.randomUUID());
+    }
+
+    private ChatSession connect(UUID userId) {
+        WebSocketMessage.SenderInfo sender = WebSocketMessage.SenderInfo.builder()
+                .id(userId)
+                .displayName("user")
+                .build();
+        ChatSession session = new ChatSession(webSocketSession, sender, outboundProperties, outboundMetrics, () -> 0L);
+        registry.register(session);
+        return session;
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,150 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionHeartbeatTest {
+
+    private static final int SLOTS = 4;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new WebSocketProperties();
+        properties.getHeartbeat().setTick(Duration.ofMillis(100));
+        properties.getHeartbeat().setPingInterval(Duration.ofMillis(100L * SLOTS));
+    }
+
+    @Test
+    @DisplayName("휠을 한 바퀴 돌면 모든 세션에 ping 을 한 번씩 보낸다")
+    void tick_PingsEachSessionOncePerRevolution() {
+        SessionHeartbeat heartbeat = new SessionHeartbeat(properties, meterRegistry);
+        WebSocketSession webSocketSession = webSocketSession("s-1");
+        ChatSession session = chatSession(webSocketSession);
+        heartbeat.register(session, () -> { });
+
+        for (int i = 0; i < SLOTS; i++) {
+            heartbeat.tick();
+        }
+        session.close();
+
+        StepVerifier.create(session.control())
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("idleTimeout 을 넘긴 세션은 정리 콜백을 호출하고 연결을 닫는다")
+    void tick_ReapsIdleSession() {
+        properties.getHeartbeat().setIdleTimeout(Duration.ZERO);
+        SessionHeartbeat heartbeat = new SessionHeartbeat(properties, meterRegistry);
+        WebSocketSession webSocketSession = webSocketSession("s-1");
+        ChatSession session = chatSession(webSocketSession);
+        AtomicInteger released = new AtomicInteger();
+        heartbeat.register(session, released::incrementAndGet);
+
+        for (int i = 0; i < SLOTS; i++) {
+            heartbeat.tick();
+        }
+
+        assertThat(released).hasValue(1);
+        assertThat(heartbeat.registeredSessions()).isZero();
+        assertThat(meterRegistry.counter("websocket.sessions.reaped").count()).isEqualTo(1.0);
+        verify(webSocketSession).close(any(CloseStatus.class));
+    }
+
+    @Test
+    @DisplayName("토큰이 만료된 세션은 정리 콜백을 호출하고 1008 로 닫는다")
+    void tick_ClosesSessionWithExpiredToken() {
+        SessionHeartbeat heartbeat = new SessionHeartbeat(properties, meterRegistry);
+        WebSocketSession webSocketSession = webSocketSession("s-1");
+        ChatSession session = chatSession(webSocketSession);
+        session.renewAuthentication(Instant.now().minusSeconds(1));
+        AtomicInteger released = new AtomicInteger();
+        heartbeat.register(session, released::incrementAndGet);
+
+        for (int i = 0; i < SLOTS; i++) {
+            heartbeat.tick();
+        }
+
+        assertThat(released).hasValue(1);
+        assertThat(meterRegistry.counter("websocket.sessions.expired").count()).isEqualTo(1.0);
+        verify(webSocketSession).close(argThat(status -> status.getCode() == CloseStatus.POLICY_VIOLATION.getCode()));
+    }
+
+    @Test
+    @DisplayName("AUTH_REFRESH 로 연장된 세션은 닫지 않는다")
+    void tick_KeepsRenewedSession() {
+        SessionHeartbeat heartbeat = new SessionHeartbeat(properties, meterRegistry);
+        ChatSession session = chatSession(webSocketSession("s-1"));
+        session.renewAuthentication(Instant.now().minusSeconds(1));
+        session.renewAuthentication(Instant.now().plusSeconds(60));
+        heartbeat.register(session, () -> { });
+
+        for (int i = 0; i < SLOTS; i++) {
+            heartbeat.tick();
+        }
+
+        assertThat(heartbeat.registeredSessions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PONG payload 로 세션 RTT 를 기록한다")
+    void onPong_RecordsRtt() {
+        SessionHeartbeat heartbeat = new SessionHeartbeat(properties, meterRegistry);
+        ChatSession session = chatSession(webSocketSession("s-1"));
+        long sentAt = System.nanoTime() - Duration.ofMillis(42).toNanos();
+        org.springframework.web.reactive.socket.WebSocketMessage pong =
+                new org.springframework.web.reactive.socket.WebSocketMessage(
+                        org.springframework.web.reactive.socket.WebSocketMessage.Type.PONG,
+                        DefaultDataBufferFactory.sharedInstance.wrap(
+                                ByteBuffer.allocate(Long.BYTES).putLong(sentAt).flip()));
+
+        heartbeat.onPong(session, pong);
+
+        assertThat(session.rttMillis()).isGreaterThanOrEqualTo(42);
+        assertThat(meterRegistry.timer("websocket.heartbeat.rtt").count()).isEqualTo(1);
+    }
+
+    private WebSocketSession webSocketSession(String id) {
+        WebSocketSession webSocketSession = mock(WebSocketSession.class);
+        when(webSocketSession.getId()).thenReturn(id);
+        when(webSocketSession.pingMessage(any())).thenReturn(mock(org.springframework.web.reactive.socket.WebSocketMessage.class));
+        when(webSocketSession.close(any(CloseStatus.class))).thenReturn(Mono.empty());
+        return webSocketSession;
+    }
+
+    private ChatSession chatSession(WebSocketSession webSocketSession) {
+        WebSocketMessage.SenderInfo sender = WebSocketMessage.SenderInfo.builder()
+                .id(UUID.randomUUID())
+                .displayName("user")
+                .build();
+        return new ChatSession(webSocketSession, sender, properties.getOutbound(),
+                new OutboundMetrics(meterRegistry), () -> 0L);
+    }
+}
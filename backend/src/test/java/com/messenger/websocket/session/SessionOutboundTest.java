@@ -0,0 +1,275 @@
+package com.messenger.websocket.session;
+
+import com.messenger.websocket.broadcast.EncodedFrame;
+import com.messenger.websocket.broadcast.FrameEncoder;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.dto.WebSocketProperties.SlowConsumerPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionOutboundTest {
+
+    private final FrameEncoder frameEncoder = new FrameEncoder(Jackson2ObjectMapperBuilder.json().build());
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private UUID roomId;
+    private UUID senderId;
+
+    @BeforeEach
+    void setUp() {
+        roomId = UUID.randomUUID();
+        senderId = UUID.randomUUID();
+        closed.set(false);
+    }
+
+    @Test
+    @DisplayName("DROP_EPHEMERAL should evict the oldest typing event to make room for a chat message")
+    void shouldEvictOldestTypingEvent() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 3, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.TYPING));
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.CHAT));
+
+        assertThat(outbound.depth()).isEqualTo(3);
+        assertThat(outbound.dropped()).isEqualTo(1);
+        StepVerifier.create(outbound.flux().map(EncodedFrame::type), 0)
+                .thenRequest(3)
+                .expectNext(MessageType.CHAT, MessageType.CHAT, MessageType.CHAT)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        assertThat(closed).isFalse();
+    }
+
+    @Test
+    @DisplayName("DROP_EPHEMERAL should reject typing rather than evict presence events")
+    void shouldRejectTypingWhenOnlyPresenceIsQueued() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 2, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.USER_JOINED));
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.TYPING));
+
+        assertThat(outbound.depth()).isEqualTo(2);
+        assertThat(outbound.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("COALESCE should replace a queued typing event from the same sender")
+    void shouldCoalesceTypingEvents() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.COALESCE, 10, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.TYPING));
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.TYPING));
+
+        assertThat(outbound.depth()).isEqualTo(2);
+        assertThat(outbound.coalesced()).isEqualTo(1);
+        StepVerifier.create(outbound.flux().map(EncodedFrame::type), 0)
+                .thenRequest(2)
+                .expectNext(MessageType.CHAT, MessageType.TYPING)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("DISCONNECT should close the session once the full queue has stalled")
+    void shouldDisconnectStalledConsumer() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DISCONNECT, 1, Duration.ZERO);
+
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.TYPING));
+
+        assertThat(closed).isTrue();
+        assertThat(outbound.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT should drop only ephemeral frames while the stall timer runs")
+    void shouldRejectEphemeralBeforeStallTimeout() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DISCONNECT, 1, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.TYPING));
+
+        assertThat(closed).isFalse();
+        assertThat(outbound.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT should close immediately instead of dropping a chat frame")
+    void shouldDisconnectRatherThanDropChat() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DISCONNECT, 1, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.CHAT));
+
+        assertThat(closed).isTrue();
+        assertThat(outbound.dropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("DISCONNECT should evict a queued ephemeral frame to make room for chat")
+    void shouldEvictEphemeralForChatUnderDisconnect() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DISCONNECT, 2, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.USER_JOINED));
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.CHAT));
+
+        assertThat(closed).isFalse();
+        assertThat(outbound.depth()).isEqualTo(2);
+        assertThat(outbound.dropped()).isEqualTo(1);
+        StepVerifier.create(outbound.flux().map(EncodedFrame::type), 0)
+                .thenRequest(2)
+                .expectNext(MessageType.CHAT, MessageType.CHAT)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("should deliver only as many frames as the connection requests")
+    void shouldRespectDownstreamDemand() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 10, Duration.ofSeconds(10));
+        for (int i = 0; i < 5; i++) {
+            outbound.offer(frame(MessageType.CHAT));
+        }
+
+        StepVerifier.create(outbound.flux(), 0)
+                .thenRequest(2)
+                .expectNextCount(2)
+                .then(() -> assertThat(outbound.depth()).isEqualTo(3))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("should deliver chat ahead of presence, and presence ahead of typing")
+    void shouldDrainByPriorityLane() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 10, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.TYPING));
+        outbound.offer(frame(MessageType.USER_JOINED));
+        outbound.offer(frame(MessageType.CHAT));
+
+        StepVerifier.create(outbound.flux().map(EncodedFrame::type), 0)
+                .thenRequest(3)
+                .expectNext(MessageType.CHAT, MessageType.USER_JOINED, MessageType.TYPING)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("should shed typing, then presence, as the queue fills past the thresholds")
+    void shouldShedByQueueDepth() throws Exception {
+        // 용량 4: 2개 이상이면 타이핑, 3개 이상이면 입/퇴장도 버린다
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 4, Duration.ofSeconds(10));
+
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.CHAT));
+        outbound.offer(frame(MessageType.TYPING));
+        outbound.offer(frame(MessageType.USER_JOINED));
+        outbound.offer(frame(MessageType.USER_LEFT));
+        outbound.offer(frame(MessageType.CHAT));
+
+        assertThat(outbound.depth()).isEqualTo(4);
+        assertThat(outbound.dropped()).isEqualTo(2);
+        StepVerifier.create(outbound.flux().map(EncodedFrame::type), 0)
+                .thenRequest(4)
+                .expectNext(MessageType.CHAT, MessageType.CHAT, MessageType.CHAT, MessageType.USER_JOINED)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("should shed ephemeral events but keep chat while the event loop lags")
+    void shouldShedOnEventLoopLag() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 100, Duration.ofSeconds(10),
+                () -> Duration.ofSeconds(1).toNanos());
+
+        outbound.offer(frame(MessageType.TYPING));
+        outbound.offer(frame(MessageType.USER_JOINED));
+        outbound.offer(frame(MessageType.CHAT));
+
+        assertThat(outbound.depth()).isEqualTo(1);
+        assertThat(outbound.dropped()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("batching should send a lone event immediately as a plain frame")
+    void shouldSendLoneEventWithoutLinger() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 10, Duration.ofSeconds(10));
+        outbound.enableBatching();
+
+        StepVerifier.create(outbound.flux())
+                .then(() -> offer(outbound, MessageType.CHAT))
+                .expectNextMatches(frame -> frame.type() == MessageType.CHAT)
+                .thenCancel()
+                .verify(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("batching should collect events within the linger window into one BATCH frame")
+    void shouldBatchEventsWithinLingerWindow() throws Exception {
+        SessionOutbound outbound = outbound(SlowConsumerPolicy.DROP_EPHEMERAL, 10, Duration.ofSeconds(10));
+        outbound.enableBatching();
+
+        StepVerifier.create(outbound.flux())
+                .then(() -> offer(outbound, MessageType.CHAT))
+                .expectNextMatches(frame -> frame.type() == MessageType.CHAT)
+                .then(() -> {
+                    offer(outbound, MessageType.CHAT);
+                    offer(outbound, MessageType.CHAT);
+                    offer(outbound, MessageType.USER_JOINED);
+                })
+                .expectNextMatches(frame -> frame.type() == MessageType.BATCH && frame.count() == 3)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    private void offer(SessionOutbound outbound, MessageType type) {
+        try {
+            outbound.offer(frame(type));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SessionOutbound outbound(SlowConsumerPolicy policy, int capacity, Duration stallTimeout) {
+        return outbound(policy, capacity, stallTimeout, () -> 0L);
+    }
+
+    private SessionOutbound outbound(SlowConsumerPolicy policy, int capacity, Duration stallTimeout,
+                                     LongSupplier eventLoopLag) {
+        WebSocketProperties.Outbound properties = new WebSocketProperties.Outbound();
+        properties.setSlowConsumerPolicy(policy);
+        properties.setQueueCapacity(capacity);
+        properties.setStallTimeout(stallTimeout);
+        properties.getBatching().setLinger(Duration.ofMillis(100));
+        return new SessionOutbound(properties, new OutboundMetrics(new SimpleMeterRegistry()), eventLoopLag,
+                () -> closed.set(true));
+    }
+
+    private EncodedFrame frame(MessageType type) throws Exception {
+        return frameEncoder.encode(WebSocketMessage.builder()
+                .type(type)
+                .roomId(roomId)
+                .sender(WebSocketMessage.SenderInfo.builder().id(senderId).build())
+                .isTyping(type == MessageType.TYPING ? true : null)
+                .build());
+    }
+}
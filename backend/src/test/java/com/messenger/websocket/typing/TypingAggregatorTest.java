@@ -0,0 +1,137 @@
+package com.messenger.websocket.typing;
+
+import com.messenger.websocket.broadcast.RoomBroadcaster;
+import com.messenger.websocket.dto.MessageType;
+import com.messenger.websocket.dto.WebSocketMessage;
+import com.messenger.websocket.dto.WebSocketProperties;
+import com.messenger.websocket.relay.RedisRoomEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TypingAggregatorTest {
+
+    private static final long TTL = Duration.ofSeconds(5).toNanos();
+
+    @Mock
+    private RoomBroadcaster roomBroadcaster;
+
+    @Mock
+    private RedisRoomEventPublisher redisRoomEventPublisher;
+
+    private TypingAggregator aggregator;
+    private UUID roomId;
+    private WebSocketMessage.SenderInfo alice;
+    private WebSocketMessage.SenderInfo bob;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new TypingAggregator(roomBroadcaster, redisRoomEventPublisher, new WebSocketProperties());
+        roomId = UUID.randomUUID();
+        alice = sender("Alice");
+        bob = sender("Bob");
+    }
+
+    @Test
+    @DisplayName("한 주기 안의 여러 TYPING 은 현재 입력 중인 사용자 목록을 담은 다이제스트 하나로 합친다")
+    void flush_CoalescesIntoSingleDigest() {
+        aggregator.update(roomId, alice, true, 0, true);
+        aggregator.update(roomId, bob, true, 10, true);
+        aggregator.update(roomId, alice, true, 20, true);
+
+        aggregator.flush(100);
+
+        WebSocketMessage digest = capturedDigest();
+        assertThat(digest.getType()).isEqualTo(MessageType.TYPING);
+        assertThat(digest.getTypingUsers()).extracting(WebSocketMessage.SenderInfo::getDisplayName)
+                .containsExactly("Alice", "Bob");
+    }
+
+    @Test
+    @DisplayName("다이제스트는 표시 이름이 같아도 구분할 수 있도록 사용자 id 를 함께 담는다")
+    void flush_DigestCarriesUserIds() {
+        WebSocketMessage.SenderInfo otherAlice = sender("Alice");
+        aggregator.update(roomId, alice, true, 0, true);
+        aggregator.update(roomId, otherAlice, true, 10, true);
+
+        aggregator.flush(100);
+
+        assertThat(capturedDigest().getTypingUsers())
+                .extracting(WebSocketMessage.SenderInfo::getId, WebSocketMessage.SenderInfo::getDisplayName)
+                .containsExactly(tuple(alice.getId(), "Alice"), tuple(otherAlice.getId(), "Alice"));
+    }
+
+    @Test
+    @DisplayName("상태가 바뀌지 않은 주기에는 다이제스트를 보내지 않는다")
+    void flush_NoChange_SendsNothing() {
+        aggregator.update(roomId, alice, true, 0, true);
+        aggregator.flush(100);
+
+        aggregator.update(roomId, alice, true, 200, true); // 중복 시작 신호
+        aggregator.flush(300);
+
+        verify(roomBroadcaster, times(1)).deliverLocal(any());
+    }
+
+    @Test
+    @DisplayName("입력 중이 아닌 사용자의 종료 신호는 무시한다")
+    void update_RedundantStop_IsSuppressed() {
+        assertThat(aggregator.update(roomId, alice, false, 0, true)).isFalse();
+
+        aggregator.flush(100);
+
+        verify(roomBroadcaster, never()).deliverLocal(any());
+        assertThat(aggregator.activeRooms()).isZero();
+    }
+
+    @Test
+    @DisplayName("ttl 이 지나면 만료시키고 빈 목록 다이제스트를 보낸 뒤 방 항목을 제거한다")
+    void flush_ExpiresAfterTtl() {
+        aggregator.update(roomId, alice, true, 0, true);
+        aggregator.flush(100);
+
+        aggregator.flush(TTL + 1);
+
+        ArgumentCaptor<WebSocketMessage> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(roomBroadcaster, times(2)).deliverLocal(captor.capture());
+        assertThat(captor.getAllValues().get(1).getTypingUsers()).isEmpty();
+        assertThat(aggregator.activeRooms()).isZero();
+    }
+
+    @Test
+    @DisplayName("시작/종료 전환만 다른 노드에 전파하고, 이어지는 시작 신호는 ttl 절반마다 한 번만 전파한다")
+    void update_RelaysOnlyTransitions() {
+        assertThat(aggregator.update(roomId, alice, true, 0, true)).isTrue();
+        assertThat(aggregator.update(roomId, alice, true, TTL / 4, true)).isFalse();
+        assertThat(aggregator.update(roomId, alice, true, TTL / 2, true)).isTrue();
+        assertThat(aggregator.update(roomId, alice, false, TTL, true)).isTrue();
+    }
+
+    private WebSocketMessage capturedDigest() {
+        ArgumentCaptor<WebSocketMessage> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(roomBroadcaster).deliverLocal(captor.capture());
+        return captor.getValue();
+    }
+
+    private static WebSocketMessage.SenderInfo sender(String displayName) {
+        return WebSocketMessage.SenderInfo.builder()
+                .id(UUID.randomUUID())
+                .displayName(displayName)
+                .build();
+    }
+}
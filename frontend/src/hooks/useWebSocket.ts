@@ -1,4 +1,4 @@
-import { useCallback, useEffect } from 'react';
+import { useCallback, useEffect, useRef } from 'react';
 import useWebSocket, { ReadyState } from 'react-use-websocket';
 import { useChatStore } from '@/stores/useChatStore';
 import { useAuthStore } from '@/stores/useAuthStore';
@@ -10,6 +10,7 @@ export function useChatWebSocket() {
   const {
     currentRoomId,
     addMessage,
+    removeMessage,
     setTypingUsers,
     setConnectionStatus,
     shouldConnect,
@@ -17,9 +18,19 @@ export function useChatWebSocket() {
 
   const { accessToken } = useAuthStore();
 
+  // 연결할 때 사용한 토큰. 이후 토큰이 갱신되면 재연결하지 않고 AUTH_REFRESH 로 전달한다
+  const handshakeToken = useRef<string | null>(null);
+  const refreshedToken = useRef<string | null>(null);
+  if (!shouldConnect || !accessToken) {
+    handshakeToken.current = null;
+  } else if (!handshakeToken.current) {
+    handshakeToken.current = accessToken;
+    refreshedToken.current = accessToken;
+  }
+
   // shouldConnect가 true이고 accessToken이 있을 때만 연결
-  const socketUrl = shouldConnect && accessToken
-    ? `${WS_URL}?token=${accessToken}`
+  const socketUrl = handshakeToken.current
+    ? `${WS_URL}?token=${handshakeToken.current}`
     : null;
 
   const { sendJsonMessage, lastJsonMessage, readyState } = useWebSocket(
@@ -43,6 +54,13 @@ export function useChatWebSocket() {
     setConnectionStatus(status);
   }, [readyState, setConnectionStatus]);
 
+  // 토큰 갱신: 서버는 세션 토큰이 만료되면 연결을 닫는다
+  useEffect(() => {
+    if (readyState !== ReadyState.OPEN || !accessToken || accessToken === refreshedToken.current) return;
+    refreshedToken.current = accessToken;
+    sendJsonMessage({ type: 'AUTH_REFRESH', token: accessToken });
+  }, [accessToken, readyState, sendJsonMessage]);
+
   // 메시지 수신 처리
   useEffect(() => {
     if (!lastJsonMessage) return;
@@ -57,16 +75,31 @@ export function useChatWebSocket() {
             roomId: wsMessage.roomId,
             sender: wsMessage.sender,
             content: wsMessage.content || '',
-            messageType: 'TEXT',
+            messageType: wsMessage.messageType || 'TEXT',
             createdAt: wsMessage.createdAt || new Date().toISOString(),
+            seq: wsMessage.seq,
           };
           addMessage(wsMessage.roomId, message);
         }
         break;
 
+      case 'MESSAGE_DELETED':
+        if (wsMessage.roomId && wsMessage.messageId) {
+          removeMessage(wsMessage.roomId, wsMessage.messageId);
+        }
+        break;
+
       case 'TYPING':
+        // 서버가 방별로 모아 보내는 다이제스트: 현재 입력 중인 사용자 전체 목록
         if (wsMessage.roomId && wsMessage.typingUsers) {
-          setTypingUsers(wsMessage.roomId, wsMessage.typingUsers);
+          // 표시 이름은 다른 사용자와 겹칠 수 있으므로 id 로 나를 걸러 낸다
+          const myId = useChatStore.getState().currentUser?.id;
+          setTypingUsers(
+            wsMessage.roomId,
+            wsMessage.typingUsers
+              .filter((user) => user.id !== myId)
+              .map((user) => user.displayName)
+          );
         }
         break;
 
@@ -80,7 +113,7 @@ export function useChatWebSocket() {
         console.error('WebSocket error:', wsMessage.errorMessage);
         break;
     }
-  }, [lastJsonMessage, addMessage, setTypingUsers]);
+  }, [lastJsonMessage, addMessage, removeMessage, setTypingUsers]);
 
   // 채팅 메시지 전송
   const sendChatMessage = useCallback(
@@ -97,14 +130,31 @@ export function useChatWebSocket() {
     [currentRoomId, readyState, sendJsonMessage]
   );
 
-  // 채팅방 입장
+  // 채팅방 입장 (재연결 시 마지막으로 받은 순번 이후만 재전송 받음)
   const joinRoom = useCallback(
     (roomId: string) => {
       if (readyState !== ReadyState.OPEN) return;
 
+      const roomMessages = useChatStore.getState().messagesByRoom[roomId] || [];
+      const seqs = roomMessages.map((m) => m.seq).filter((seq): seq is number => seq !== undefined);
       const message: WebSocketMessage = {
         type: 'JOIN',
         roomId,
+        lastSeq: seqs.length > 0 ? Math.max(...seqs) : undefined,
+      };
+      sendJsonMessage(message);
+    },
+    [readyState, sendJsonMessage]
+  );
+
+  // 여러 채팅방 한 번에 입장 (roomIds 를 생략하면 내가 속한 모든 방)
+  const subscribeRooms = useCallback(
+    (roomIds?: string[]) => {
+      if (readyState !== ReadyState.OPEN) return;
+
+      const message: WebSocketMessage = {
+        type: 'SUBSCRIBE',
+        roomIds,
       };
       sendJsonMessage(message);
     },
@@ -143,6 +193,7 @@ export function useChatWebSocket() {
   return {
     sendChatMessage,
     joinRoom,
+    subscribeRooms,
     leaveRoom,
     sendTypingStatus,
     isConnected: readyState === ReadyState.OPEN,
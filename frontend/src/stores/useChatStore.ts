@@ -20,6 +20,7 @@ interface ChatState {
   // 메시지 (roomId별로 관리)
   messagesByRoom: Record<string, Message[]>;
   addMessage: (roomId: string, message: Message) => void;
+  removeMessage: (roomId: string, messageId: string) => void;
   setMessages: (roomId: string, messages: Message[]) => void;
 
   // 타이핑 상태
@@ -73,6 +74,13 @@ export const useChatStore = create<ChatState>((set) => ({
         },
       };
     }),
+  removeMessage: (roomId, messageId) =>
+    set((state) => ({
+      messagesByRoom: {
+        ...state.messagesByRoom,
+        [roomId]: (state.messagesByRoom[roomId] || []).filter((m) => m.id !== messageId),
+      },
+    })),
   setMessages: (roomId, messages) =>
     set((state) => ({
       messagesByRoom: {
@@ -39,6 +39,7 @@ export interface Message {
   content: string;
   messageType: 'TEXT' | 'IMAGE' | 'FILE' | 'SYSTEM';
   createdAt: string;
+  seq?: number;
 }
 
 // RoomInvite 타입
@@ -51,12 +52,15 @@ export interface RoomInviteResponse {
 }
 
 // WebSocket 메시지 타입
-export type MessageType = 'CHAT' | 'JOIN' | 'LEAVE' | 'TYPING' | 'USER_JOINED' | 'USER_LEFT' | 'ERROR';
+export type MessageType = 'CHAT' | 'JOIN' | 'LEAVE' | 'TYPING' | 'USER_JOINED' | 'USER_LEFT' | 'ACK' | 'ERROR' | 'BATCH' | 'AUTH_REFRESH' | 'SUBSCRIBE' | 'MESSAGE_DELETED';
 
 export interface WebSocketMessage {
   type: MessageType;
   roomId?: string;
   messageId?: string;
+  clientMessageId?: string;
+  seq?: number;
+  lastSeq?: number;
   content?: string;
   sender?: {
     id: string;
@@ -64,8 +68,17 @@ export interface WebSocketMessage {
     avatarUrl?: string;
   };
   createdAt?: string;
+  // CHAT: 생략하면 TEXT
+  messageType?: Message['messageType'];
   isTyping?: boolean;
-  typingUsers?: string[];
+  // TYPING 다이제스트: 현재 입력 중인 사용자 (id, displayName)
+  typingUsers?: Message['sender'][];
   errorCode?: string;
   errorMessage?: string;
+  // AUTH_REFRESH: 재연결 없이 세션 인증을 연장할 새 access 토큰
+  token?: string;
+  // BATCH: 핸드셰이크에서 batch=true 로 요청한 경우 여러 이벤트가 한 프레임으로 온다
+  messages?: WebSocketMessage[];
+  // SUBSCRIBE: 한 번에 JOIN 할 방 목록 (생략하면 내가 속한 모든 방). ACK 에는 구독된 방 목록
+  roomIds?: string[];
 }